@@ -0,0 +1,45 @@
+package ordertracker.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual JMH command line and records the results as JSON, so two runs
+ * can be compared side by side (e.g. with jmh.morethan.io). Unless {@code -rf} or {@code -rff} is
+ * given, the results go to {@code results/<timestamp>.json}.
+ */
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        if (commandLine.getResultFormat().hasValue() || commandLine.getResult().hasValue()) {
+            new Runner(commandLine).run();
+            return;
+        }
+        Path results = Path.of("results");
+        Files.createDirectories(results);
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.resolve(LocalDateTime.now().format(TIMESTAMP) + ".json").toString())
+                .build();
+        new Runner(options).run();
+    }
+}
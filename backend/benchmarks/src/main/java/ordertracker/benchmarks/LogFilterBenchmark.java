@@ -0,0 +1,146 @@
+package ordertracker.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import ordertracker.core.models.LogQuery;
+import ordertracker.core.models.LogQueryResult;
+import ordertracker.core.models.LogSlice;
+import ordertracker.core.services.impls.LogFileServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The paths behind the {@code LogController} endpoints over a generated log of three days: the
+ * day view, the streamed day download and the structured query filtering by level, logger and
+ * message. {@code cacheSizeMb} of 0 parses every segment again on each query; the default keeps the
+ * parsed segments, as in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogFilterBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+    private static final String[] LEVELS = {" INFO", " INFO", " INFO", "DEBUG", " WARN", "ERROR"};
+    private static final String[] LOGGERS = {
+        "o.a.LoggingAspect", "o.c.s.i.OrderServiceImpl", "o.c.s.i.CustomerServiceImpl", "o.h.e.j.s.SqlExceptionHelper"
+    };
+
+    @Param({"100000"})
+    private int entries;
+
+    @Param({"0", "64"})
+    private int cacheSizeMb;
+
+    private Path directory;
+    private LogFileServiceImpl logFileService;
+    private LogQuery levelQuery;
+    private LogQuery messageQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("log-filter-benchmark");
+        Path logFile = directory.resolve("OrderTracker.log");
+        writeLog(logFile);
+        logFileService = new LogFileServiceImpl(logFile.toString(), DataSize.ofMegabytes(cacheSizeMb));
+        LocalDateTime from = FIRST_DAY.plusDays(1).atTime(6, 0);
+        levelQuery = new LogQuery(from, from.plusHours(12), "WARN", "OrderServiceImpl", null, null, 100, 0, 0);
+        messageQuery = new LogQuery(null, null, null, null, Pattern.compile("order_id=4\\d{2}\\b"), null, 100, 2, 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<String> viewDay() {
+        return logFileService.getLogsByDate(FIRST_DAY.plusDays(1));
+    }
+
+    @Benchmark
+    public long downloadDay() throws IOException {
+        LogSlice slice = logFileService.getLogSliceByDate(FIRST_DAY.plusDays(1)).orElseThrow();
+        CountingOutputStream out = new CountingOutputStream();
+        slice.writeTo(out);
+        return out.count;
+    }
+
+    @Benchmark
+    public LogQueryResult queryByLevelAndLogger() {
+        return logFileService.query(levelQuery);
+    }
+
+    @Benchmark
+    public LogQueryResult queryByMessage() {
+        return logFileService.query(messageQuery);
+    }
+
+    private void writeLog(Path logFile) throws IOException {
+        LocalDateTime start = FIRST_DAY.atStartOfDay();
+        long stepMillis = 3 * 24 * 3600_000L / entries;
+        try (BufferedWriter writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < entries; i++) {
+                String level = LEVELS[i % LEVELS.length];
+                writer.write(start.plusNanos(i * stepMillis * 1_000_000).format(TIMESTAMP));
+                writer.write("Z " + level + " 5114 --- [OrderTracker] [nio-8080-exec-" + (i % 10) + "] ");
+                writer.write(LOGGERS[i % LOGGERS.length]);
+                writer.write(" : controller_call endpoint=OrderController.getOrderById duration_us=" + (i % 900));
+                writer.write(" args=[" + i + "] result=HTTP 200 Order{order_id=" + (i % 1000) + ", status=COOKING}");
+                writer.newLine();
+                if (level.equals("ERROR")) {
+                    writer.write("java.lang.IllegalStateException: order " + i + " not found");
+                    writer.newLine();
+                    writer.write("\tat ordertracker.core.services.impls.OrderServiceImpl.getOrderById(OrderServiceImpl.java:42)");
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ordertracker.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import ordertracker.api.controllers.MealController;
+import ordertracker.apllication.aspects.LoggingAspect;
+import ordertracker.apllication.config.ControllerLoggingProperties;
+import ordertracker.core.models.Meal;
+import ordertracker.core.services.MealService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Overhead of {@link LoggingAspect} per controller call: the same {@link MealController} call made
+ * directly and through an AspectJ proxy, as Spring wires it, with the aspect in each mode. Logged
+ * lines go to a no-op appender (see logback.xml), so the numbers include rendering the arguments
+ * and result but not I/O.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingAspectBenchmark {
+
+    @Param({"OFF", "SLOW_ONLY", "ALL"})
+    private ControllerLoggingProperties.Mode mode;
+
+    @Param({"1.0", "0.01"})
+    private double sampleRate;
+
+    private MealController controller;
+    private MealController advised;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Meal meal = new Meal(1, "Meal 1", BigDecimal.valueOf(101, 2), 11);
+        MealService mealService = (MealService) Proxy.newProxyInstance(MealService.class.getClassLoader(),
+                new Class<?>[]{MealService.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getMealById")) {
+                        return Optional.of(meal);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        controller = new MealController(mealService);
+
+        ControllerLoggingProperties properties = new ControllerLoggingProperties();
+        properties.setMode(mode);
+        properties.setSampleRate(sampleRate);
+        AspectJProxyFactory factory = new AspectJProxyFactory(controller);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(properties));
+        advised = factory.getProxy();
+    }
+
+    @Benchmark
+    public ResponseEntity<Meal> direct() {
+        return controller.getMealById(1);
+    }
+
+    @Benchmark
+    public ResponseEntity<Meal> advised() {
+        return advised.getMealById(1);
+    }
+}
@@ -0,0 +1,116 @@
+package ordertracker.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.models.Customer;
+import ordertracker.core.models.Meal;
+import ordertracker.core.models.Order;
+import ordertracker.core.models.OrderLine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * JSON serialization of order graphs as the controllers return them, entities with their
+ * references, against flat DTOs built from the same entities. The DTO benchmarks include the
+ * mapping, since a controller would pay for both.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final int MENU_SIZE = 40;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Param({"10", "200"})
+    private int orders;
+
+    @Param({"5"})
+    private int mealsPerOrder;
+
+    private ObjectMapper objectMapper;
+    private Customer customer;
+    private List<Order> orderList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Meal> menu = new ArrayList<>();
+        for (int i = 1; i <= MENU_SIZE; i++) {
+            menu.add(new Meal(i, "Meal number " + i, BigDecimal.valueOf(250 + i * 37L, 2), 5 + i % 30));
+        }
+        customer = new Customer(1, "+375291234567", "Ivan Petrov");
+        orderList = new ArrayList<>();
+        for (int i = 1; i <= orders; i++) {
+            Order order = new Order(i, customer, new ArrayList<>(), STATUSES[i % STATUSES.length]);
+            for (int j = 0; j < mealsPerOrder; j++) {
+                order.addMeal(menu.get((i * 7 + j * 3) % MENU_SIZE), 1);
+            }
+            orderList.add(order);
+        }
+        customer.setOrders(orderList);
+    }
+
+    @Benchmark
+    public byte[] customerEntity() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public byte[] customerDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(CustomerDto.of(customer));
+    }
+
+    @Benchmark
+    public byte[] ordersEntity() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderList);
+    }
+
+    @Benchmark
+    public byte[] ordersDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderList.stream().map(OrderDto::of).toList());
+    }
+
+    public record CustomerDto(Integer id, String name, String phoneNumber, List<OrderDto> orders) {
+        static CustomerDto of(Customer customer) {
+            return new CustomerDto(customer.getId(), customer.getName(), customer.getPhoneNumber(),
+                    customer.getOrders().stream().map(OrderDto::of).toList());
+        }
+    }
+
+    public record OrderDto(Integer id, Integer customerId, OrderStatus status, List<OrderLineDto> lines,
+                           BigDecimal total) {
+        static OrderDto of(Order order) {
+            BigDecimal total = BigDecimal.ZERO;
+            List<OrderLineDto> lines = new ArrayList<>(order.getLines().size());
+            for (OrderLine line : order.getLines()) {
+                Meal meal = line.getMeal();
+                lines.add(new OrderLineDto(meal.getId(), meal.getName(), line.getQuantity(), line.getUnitPrice()));
+                total = total.add(line.getUnitPrice().multiply(BigDecimal.valueOf(line.getQuantity())));
+            }
+            return new OrderDto(order.getId(), order.getCustomer().getId(), order.getStatus(), lines, total);
+        }
+    }
+
+    public record OrderLineDto(Integer mealId, String name, int quantity, BigDecimal unitPrice) {
+    }
+}
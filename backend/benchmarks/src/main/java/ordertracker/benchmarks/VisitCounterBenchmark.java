@@ -0,0 +1,107 @@
+package ordertracker.benchmarks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import ordertracker.core.services.impls.VisitCounterServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Increments of {@link VisitCounterServiceImpl} under contention and the cost of
+ * {@link VisitCounterServiceImpl#getAllCounts()} snapshots, alone and while the counters are being
+ * incremented. {@code urls} is the number of distinct URLs; with one URL every thread hits the
+ * same adder.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VisitCounterBenchmark {
+
+    @Param({"1", "16", "1000"})
+    private int urls;
+
+    private VisitCounterServiceImpl visitCounterService;
+    private String[] paths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        visitCounterService = new VisitCounterServiceImpl();
+        paths = new String[urls];
+        for (int i = 0; i < urls; i++) {
+            paths[i] = "/api/orders/" + i;
+            visitCounterService.incrementCount(paths[i]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+        private int next;
+
+        String nextOf(String[] paths) {
+            int index = next;
+            next = index + 1 == paths.length ? 0 : index + 1;
+            return paths[index];
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void increment_1Thread(ThreadCursor cursor) {
+        visitCounterService.incrementCount(cursor.nextOf(paths));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void increment_4Threads(ThreadCursor cursor) {
+        visitCounterService.incrementCount(cursor.nextOf(paths));
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void increment_16Threads(ThreadCursor cursor) {
+        visitCounterService.incrementCount(cursor.nextOf(paths));
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void increment_64Threads(ThreadCursor cursor) {
+        visitCounterService.incrementCount(cursor.nextOf(paths));
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ConcurrentHashMap<String, Integer> getAllCounts() {
+        return visitCounterService.getAllCounts();
+    }
+
+    @Benchmark
+    @Group("snapshotUnderLoad")
+    @GroupThreads(15)
+    public void snapshotUnderLoad_increment(ThreadCursor cursor) {
+        visitCounterService.incrementCount(cursor.nextOf(paths));
+    }
+
+    @Benchmark
+    @Group("snapshotUnderLoad")
+    @GroupThreads(1)
+    public ConcurrentHashMap<String, Integer> snapshotUnderLoad_getAllCounts() {
+        return visitCounterService.getAllCounts();
+    }
+}
@@ -0,0 +1,21 @@
+package ordertracker.loadtest;
+
+/**
+ * Endpoints replayed by the load test.
+ */
+public enum Endpoint {
+    CREATE_ORDER("POST /api/customers/{id}/orders"),
+    UPDATE_STATUS("PUT /api/orders/{id}/status"),
+    ADD_MEAL("PUT /api/orders/{id}/meals"),
+    MENU("GET /api/meals");
+
+    private final String route;
+
+    Endpoint(String route) {
+        this.route = route;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+}
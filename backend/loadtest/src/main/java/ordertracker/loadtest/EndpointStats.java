@@ -0,0 +1,66 @@
+package ordertracker.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and outcomes of the measured requests of one endpoint. Latency runs from the time the
+ * request was due to be sent, not the time it was sent, so a stalled server shows up in the
+ * percentiles instead of silently lowering the request rate.
+ */
+public class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    public void recordResponse(int status, long latencyNanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (status >= 400) {
+            errors.increment();
+        }
+        outcomes.computeIfAbsent(String.valueOf(status), key -> new LongAdder()).increment();
+    }
+
+    public void recordFailure(Throwable error, long latencyNanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        errors.increment();
+        outcomes.computeIfAbsent(error.getClass().getSimpleName(), key -> new LongAdder()).increment();
+    }
+
+    public void recordDropped() {
+        dropped.increment();
+        errors.increment();
+        outcomes.computeIfAbsent("dropped", key -> new LongAdder()).increment();
+    }
+
+    public LoadTestReport.EndpointReport toReport(Endpoint endpoint, double seconds, long queries) {
+        long completed = latencies.getTotalCount();
+        long requests = completed + dropped.sum();
+        Map<String, Long> byOutcome = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> byOutcome.put(outcome, count.sum()));
+        return new LoadTestReport.EndpointReport(
+                endpoint.getRoute(),
+                requests,
+                completed / seconds,
+                requests == 0 ? 0 : (double) errors.sum() / requests,
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()),
+                completed == 0 ? 0 : (double) queries / completed,
+                byOutcome);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
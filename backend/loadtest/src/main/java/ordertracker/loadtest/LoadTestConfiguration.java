@@ -0,0 +1,32 @@
+package ordertracker.loadtest;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Hooks the {@link QueryCounter} into the application booted by the load test.
+ */
+@Configuration
+public class LoadTestConfiguration {
+
+    @Bean
+    public QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterInspector(QueryCounter queryCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCounter> queryCounterFilter(QueryCounter queryCounter) {
+        FilterRegistrationBean<QueryCounter> registration = new FilterRegistrationBean<>(queryCounter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package ordertracker.loadtest;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a load test run. Rates are per second of measured time; latencies are in milliseconds.
+ */
+public record LoadTestReport(String database, double offeredRate, double measuredSeconds,
+                             double throughput, long queries, List<EndpointReport> endpoints) {
+
+    public record EndpointReport(String endpoint, long requests, double throughput, double errorRate,
+                                 double p50, double p99, double p999, double max, double queriesPerRequest,
+                                 Map<String, Long> outcomes) {
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nLoad test against %s: offered %.1f req/s, achieved %.1f req/s over %.0f s, %d SQL statements%n%n",
+                database, offeredRate, throughput, measuredSeconds, queries);
+        out.printf("%-34s %9s %9s %8s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms", "sql/req");
+        for (EndpointReport endpoint : endpoints) {
+            out.printf("%-34s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f %8.1f%n",
+                    endpoint.endpoint(), endpoint.requests(), endpoint.throughput(), endpoint.errorRate() * 100,
+                    endpoint.p50(), endpoint.p99(), endpoint.p999(), endpoint.max(), endpoint.queriesPerRequest());
+        }
+        for (EndpointReport endpoint : endpoints) {
+            out.printf("%-34s %s%n", endpoint.endpoint(), endpoint.outcomes());
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package ordertracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import ordertracker.OrderTrackerApplication;
+import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.models.Customer;
+import ordertracker.core.models.Meal;
+import ordertracker.core.models.Order;
+import ordertracker.core.repositories.CustomerRepository;
+import ordertracker.core.repositories.MealRepository;
+import ordertracker.core.repositories.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Boots the application, seeds customers, meals and orders, replays the configured request mix
+ * over HTTP and reports throughput, latency percentiles, error rates and SQL statements per
+ * endpoint. Application properties can be passed as usual, e.g. {@code --spring.datasource.url}
+ * together with {@code --loadtest.database=external}.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        LoadTestSettings settings = Binder.get(environment).bind("loadtest", LoadTestSettings.class)
+                .orElseGet(LoadTestSettings::new);
+
+        ConfigurableApplicationContext context = SpringApplication.run(OrderTrackerApplication.class,
+                applicationArgs(args, environment, settings));
+        int exitCode = 0;
+        try {
+            LoadTestReport report = run(context, settings);
+            report.print(System.out);
+            Files.createDirectories(settings.getResults());
+            Path file = settings.getResults().resolve(LocalDateTime.now().format(TIMESTAMP) + ".json");
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+            System.out.printf("%nReport written to %s%n", file.toAbsolutePath());
+        } catch (Exception e) {
+            logger.error("Load test failed", e);
+            exitCode = 1;
+        } finally {
+            SpringApplication.exit(context);
+        }
+        System.exit(exitCode);
+    }
+
+    private static LoadTestReport run(ConfigurableApplicationContext context, LoadTestSettings settings)
+            throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Integer> mealIds = seedMeals(context.getBean(MealRepository.class), settings.getMeals());
+        List<Customer> customers = seedCustomers(context.getBean(CustomerRepository.class), settings.getCustomers());
+        // Orders cascade to their meals, so meals and customers are loaded in the transaction saving them
+        List<Integer> orderIds = new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .execute(status -> seedOrders(context.getBean(OrderRepository.class),
+                        context.getBean(CustomerRepository.class).findAllById(customers.stream().map(Customer::getId).toList()),
+                        context.getBean(MealRepository.class).findAllById(mealIds), settings.getOrdersPerCustomer(), random));
+        logger.info("Seeded {} meals, {} customers and {} orders", mealIds.size(), customers.size(), orderIds.size());
+
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port", "8080"));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+        QueryCounter queryCounter = context.getBean(QueryCounter.class);
+        Workload workload = new Workload(client, URI.create("http://localhost:" + port), settings,
+                context.getBean(ObjectMapper.class), customers.stream().map(Customer::getId).toList(), mealIds, orderIds);
+
+        logger.info("Warming up for {} at {} req/s", settings.getWarmup(), settings.getRate());
+        workload.run(() -> {
+            queryCounter.reset();
+            logger.info("Measuring for {}", settings.getDuration());
+        });
+
+        double seconds = settings.getDuration().toMillis() / 1000.0;
+        List<LoadTestReport.EndpointReport> endpoints = new ArrayList<>();
+        long queries = 0;
+        double throughput = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            if (settings.getMix().getOrDefault(endpoint, 0) <= 0) {
+                continue;
+            }
+            long endpointQueries = queryCounter.getQueries(endpoint);
+            LoadTestReport.EndpointReport report = workload.getStats(endpoint).toReport(endpoint, seconds, endpointQueries);
+            endpoints.add(report);
+            queries += endpointQueries;
+            throughput += report.throughput();
+        }
+        return new LoadTestReport(settings.getDatabase().name(), settings.getRate(), seconds, throughput, queries,
+                endpoints);
+    }
+
+    /**
+     * Adds the properties the load test needs unless they were given explicitly.
+     */
+    private static String[] applicationArgs(String[] args, StandardEnvironment environment, LoadTestSettings settings) {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("server.port", "0");
+        defaults.put("spring.jpa.hibernate.ddl-auto", "update");
+        if (settings.getDatabase() == LoadTestSettings.Database.H2) {
+            defaults.put("spring.datasource.url",
+                    "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+            defaults.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            defaults.put("spring.datasource.username", "sa");
+            defaults.put("spring.datasource.password", "");
+            defaults.put("spring.jpa.hibernate.ddl-auto", "create");
+        }
+        List<String> result = new ArrayList<>(List.of(args));
+        defaults.forEach((key, value) -> {
+            if (!environment.containsProperty(key)) {
+                result.add("--" + key + "=" + value);
+            }
+        });
+        return result.toArray(String[]::new);
+    }
+
+    private static List<Integer> seedMeals(MealRepository mealRepository, int count) {
+        List<Meal> meals = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            meals.add(new Meal(null, "Load test meal " + i, BigDecimal.valueOf(300 + i * 45L, 2), 5 + i % 40));
+        }
+        return mealRepository.saveAll(meals).stream().map(Meal::getId).toList();
+    }
+
+    private static List<Customer> seedCustomers(CustomerRepository customerRepository, int count) {
+        // Phone numbers are unique, so every run uses its own prefix
+        long prefix = 10_000 + System.currentTimeMillis() / 1000 % 90_000;
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            customers.add(new Customer(null, String.format("+%d%06d", prefix, i), "Load test " + letters(i)));
+        }
+        return customerRepository.saveAll(customers);
+    }
+
+    private static List<Integer> seedOrders(OrderRepository orderRepository, List<Customer> customers, List<Meal> meals,
+                                            int perCustomer, SplittableRandom random) {
+        List<Order> orders = new ArrayList<>();
+        OrderStatus[] statuses = OrderStatus.values();
+        for (Customer customer : customers) {
+            for (int i = 0; i < perCustomer; i++) {
+                Order order = new Order(null, customer, new ArrayList<>(), statuses[random.nextInt(statuses.length)]);
+                for (int j = 1 + random.nextInt(3); j > 0; j--) {
+                    order.addMeal(meals.get(random.nextInt(meals.size())), 1);
+                }
+                orders.add(order);
+            }
+        }
+        return orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+    }
+
+    /**
+     * Customer names may only contain letters, so the index is written in base 26.
+     */
+    private static String letters(int index) {
+        StringBuilder name = new StringBuilder();
+        int value = index;
+        do {
+            name.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return name.reverse().toString();
+    }
+}
@@ -0,0 +1,70 @@
+package ordertracker.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * Load test options, bound from {@code loadtest.*} command line arguments or environment variables
+ * (e.g. {@code --loadtest.rate=300} or {@code LOADTEST_RATE=300}).
+ */
+@Data
+public class LoadTestSettings {
+
+    public enum Database {
+        /** In-memory H2 in PostgreSQL mode, created for the run. */
+        H2,
+        /** The database configured as for the application, e.g. through DB_URL. */
+        EXTERNAL
+    }
+
+    private Database database = Database.H2;
+
+    /**
+     * Mean arrival rate of requests per second over all endpoints. Arrivals follow a Poisson
+     * process and do not wait for earlier responses.
+     */
+    private double rate = 100;
+
+    /**
+     * Time the load runs before measuring starts.
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * Measured time.
+     */
+    private Duration duration = Duration.ofSeconds(60);
+
+    private int customers = 200;
+
+    private int meals = 40;
+
+    /**
+     * Orders seeded per customer, so status updates and meal adds have targets from the start.
+     */
+    private int ordersPerCustomer = 2;
+
+    /**
+     * Requests in flight beyond which new arrivals are dropped and counted as errors.
+     */
+    private int maxInFlight = 1000;
+
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Relative weights of the endpoints in the request mix, e.g. {@code --loadtest.mix.menu=50}.
+     */
+    private Map<Endpoint, Integer> mix = new EnumMap<>(Map.of(
+            Endpoint.CREATE_ORDER, 20,
+            Endpoint.UPDATE_STATUS, 30,
+            Endpoint.ADD_MEAL, 15,
+            Endpoint.MENU, 35));
+
+    /**
+     * Directory the JSON reports are written to.
+     */
+    private Path results = Path.of("results");
+}
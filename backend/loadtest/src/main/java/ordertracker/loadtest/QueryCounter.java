@@ -0,0 +1,58 @@
+package ordertracker.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Counts the SQL statements Hibernate prepares for each request and attributes them to the
+ * endpoint named in the {@value #ENDPOINT_HEADER} header the load generator sends.
+ */
+public class QueryCounter extends OncePerRequestFilter implements StatementInspector {
+
+    public static final String ENDPOINT_HEADER = "X-Load-Test-Endpoint";
+
+    private final ThreadLocal<LongAdder> current = new ThreadLocal<>();
+    private final Map<String, LongAdder> queries = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        LongAdder counter = current.get();
+        if (counter != null) {
+            counter.increment();
+        }
+        return sql;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String endpoint = request.getHeader(ENDPOINT_HEADER);
+        if (endpoint == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        current.set(queries.computeIfAbsent(endpoint, key -> new LongAdder()));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            current.remove();
+        }
+    }
+
+    public long getQueries(Endpoint endpoint) {
+        LongAdder counter = queries.get(endpoint.name());
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public void reset() {
+        queries.values().forEach(LongAdder::reset);
+    }
+}
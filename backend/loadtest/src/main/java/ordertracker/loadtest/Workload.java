@@ -0,0 +1,202 @@
+package ordertracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import ordertracker.core.enums.OrderStatus;
+
+/**
+ * Open-model request generator: arrivals are scheduled from a Poisson process at the configured
+ * rate and sent asynchronously, so a slow server receives the same load as a fast one and its
+ * queueing shows up as latency. Orders created during the run join the pool of orders the status
+ * updates and meal adds pick from.
+ */
+public class Workload {
+
+    private static final int ORDER_POOL_SIZE = 4096;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final ObjectMapper objectMapper;
+    private final List<Integer> customerIds;
+    private final List<Integer> mealIds;
+    private final AtomicIntegerArray orderIds = new AtomicIntegerArray(ORDER_POOL_SIZE);
+    private final AtomicInteger ordersAdded = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private volatile long measureFrom = Long.MAX_VALUE;
+
+    public Workload(HttpClient client, URI baseUri, LoadTestSettings settings, ObjectMapper objectMapper,
+                    List<Integer> customerIds, List<Integer> mealIds, List<Integer> seededOrderIds) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.customerIds = customerIds;
+        this.mealIds = mealIds;
+        seededOrderIds.forEach(this::addOrder);
+
+        List<Map.Entry<Endpoint, Integer>> weighted = settings.getMix().entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .toList();
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must give at least one endpoint a positive weight");
+        }
+        this.endpoints = new Endpoint[weighted.size()];
+        this.cumulativeWeights = new int[weighted.size()];
+        int total = 0;
+        for (int i = 0; i < weighted.size(); i++) {
+            total += weighted.get(i).getValue();
+            endpoints[i] = weighted.get(i).getKey();
+            cumulativeWeights[i] = total;
+        }
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    /**
+     * Generates load for the warm-up and the measured time, then waits for the requests in flight.
+     * {@code onMeasureStart} runs once the warm-up is over.
+     */
+    public void run(Runnable onMeasureStart) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.getRate();
+        long start = System.nanoTime();
+        long warmupEnd = start + settings.getWarmup().toNanos();
+        long end = warmupEnd + settings.getDuration().toNanos();
+        boolean measuring = false;
+        long next = start;
+        while (next < end) {
+            long delay = next - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            if (!measuring && next >= warmupEnd) {
+                measuring = true;
+                measureFrom = warmupEnd;
+                onMeasureStart.run();
+            }
+            send(pick(random), next, random);
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+        long deadline = System.nanoTime() + settings.getRequestTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    public EndpointStats getStats(Endpoint endpoint) {
+        return stats.get(endpoint);
+    }
+
+    private void send(Endpoint endpoint, long scheduledAt, SplittableRandom random) {
+        boolean measured = scheduledAt >= measureFrom;
+        EndpointStats endpointStats = stats.get(endpoint);
+        if (inFlight.incrementAndGet() > settings.getMaxInFlight()) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                endpointStats.recordDropped();
+            }
+            return;
+        }
+        client.sendAsync(request(endpoint, random), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - scheduledAt;
+                    inFlight.decrementAndGet();
+                    if (error == null && endpoint == Endpoint.CREATE_ORDER && response.statusCode() == 201) {
+                        rememberOrder(response.body());
+                    }
+                    if (!measured) {
+                        return;
+                    }
+                    if (error != null) {
+                        endpointStats.recordFailure(error, latency);
+                    } else {
+                        endpointStats.recordResponse(response.statusCode(), latency);
+                    }
+                });
+    }
+
+    private HttpRequest request(Endpoint endpoint, SplittableRandom random) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(settings.getRequestTimeout())
+                .header(QueryCounter.ENDPOINT_HEADER, endpoint.name());
+        return switch (endpoint) {
+            case CREATE_ORDER -> {
+                int meals = 1 + random.nextInt(4);
+                StringBuilder body = new StringBuilder("{\"mealIds\":[");
+                for (int i = 0; i < meals; i++) {
+                    body.append(i == 0 ? "" : ",").append(pickFrom(mealIds, random));
+                }
+                body.append("]}");
+                yield builder.uri(uri("/api/customers/" + pickFrom(customerIds, random) + "/orders"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build();
+            }
+            case UPDATE_STATUS -> builder
+                    .uri(uri("/api/orders/" + pickOrder(random) + "/status?status=" + STATUSES[random.nextInt(STATUSES.length)]))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case ADD_MEAL -> builder
+                    .uri(uri("/api/orders/" + pickOrder(random) + "/meals?mealId=" + pickFrom(mealIds, random)))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case MENU -> builder.uri(uri("/api/meals")).GET().build();
+        };
+    }
+
+    private Endpoint pick(SplittableRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private void rememberOrder(String body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            if (id != null) {
+                addOrder(id.asInt());
+            }
+        } catch (Exception e) {
+            // Not an order; the response is still counted by its status
+        }
+    }
+
+    private void addOrder(int id) {
+        orderIds.set(Math.floorMod(ordersAdded.getAndIncrement(), ORDER_POOL_SIZE), id);
+    }
+
+    private int pickOrder(SplittableRandom random) {
+        int known = Math.min(ordersAdded.get(), ORDER_POOL_SIZE);
+        return known == 0 ? 1 : orderIds.get(random.nextInt(known));
+    }
+
+    private URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    private static int pickFrom(List<Integer> ids, SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,47 @@
+-- Stores the files extracted by log tasks in the database and records the node each task was
+-- created on. The file can then be downloaded from any replica, while the task is still run by the
+-- node whose log it exports.
+--
+--   psql -v ON_ERROR_STOP=1 -h localhost -U postgres -d postgres -f scripts/migrate-log-task-files.sql
+--
+-- Run it once against PostgreSQL before starting the version that reads the tables. Existing tasks
+-- are deleted, since their files were on the disk of a single node. It is safe to run again.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS log_tasks (
+    id               varchar(36)                 PRIMARY KEY,
+    status           varchar(16)                 NOT NULL,
+    progress         integer                     NOT NULL,
+    entries          bigint                      NOT NULL,
+    error            varchar(1000),
+    attempts         integer                     NOT NULL,
+    max_attempts     integer                     NOT NULL,
+    created_at       timestamp(6) with time zone NOT NULL,
+    available_at     timestamp(6) with time zone NOT NULL,
+    started_at       timestamp(6) with time zone,
+    finished_at      timestamp(6) with time zone,
+    origin           varchar(64),
+    lease_owner      varchar(64),
+    lease_expires_at timestamp(6) with time zone,
+    from_time        timestamp(6),
+    to_time          timestamp(6),
+    level            varchar(5),
+    logger           varchar(200),
+    regex            varchar(500)
+);
+
+ALTER TABLE log_tasks ADD COLUMN IF NOT EXISTS origin varchar(64);
+DELETE FROM log_tasks WHERE origin IS NULL;
+ALTER TABLE log_tasks ALTER COLUMN origin SET NOT NULL;
+ALTER TABLE log_tasks DROP COLUMN IF EXISTS file_path;
+
+DROP INDEX IF EXISTS log_tasks_status_idx;
+CREATE INDEX IF NOT EXISTS log_tasks_origin_status_idx ON log_tasks (origin, status, available_at);
+
+CREATE TABLE IF NOT EXISTS log_task_files (
+    task_id varchar(36) PRIMARY KEY,
+    content bytea       NOT NULL
+);
+
+COMMIT;
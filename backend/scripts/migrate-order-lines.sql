@@ -0,0 +1,37 @@
+-- Moves the meals of each order from order_meals, one row per portion, to order_lines, one row per
+-- meal with its quantity and the price it was ordered at. Existing orders take the current price of
+-- the meal, as the old table kept none.
+--
+--   psql -v ON_ERROR_STOP=1 -h localhost -U postgres -d postgres -f scripts/migrate-order-lines.sql
+--
+-- Run it once against PostgreSQL before starting the version that reads order_lines. It is safe to
+-- run again: the copy skips lines that already exist and order_meals is only dropped if present.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS order_lines (
+    order_id   integer       NOT NULL REFERENCES orders (id) ON DELETE CASCADE,
+    meal_id    integer       NOT NULL REFERENCES meals (id),
+    quantity   integer       NOT NULL CHECK (quantity > 0),
+    unit_price numeric(6, 2) NOT NULL,
+    PRIMARY KEY (order_id, meal_id)
+);
+
+CREATE INDEX IF NOT EXISTS order_lines_meal_id_idx ON order_lines (meal_id);
+
+DO $$
+BEGIN
+    IF to_regclass('order_meals') IS NOT NULL THEN
+        INSERT INTO order_lines (order_id, meal_id, quantity, unit_price)
+        SELECT om.order_id, om.meal_id, count(*), m.price
+        FROM order_meals om
+        JOIN meals m ON m.id = om.meal_id
+        GROUP BY om.order_id, om.meal_id, m.price
+        ON CONFLICT (order_id, meal_id) DO NOTHING;
+
+        DROP TABLE order_meals;
+    END IF;
+END
+$$;
+
+COMMIT;
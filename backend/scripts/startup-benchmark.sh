@@ -0,0 +1,91 @@
+#!/usr/bin/env bash
+#
+# Compares the startup of the application with and without the "aot" build profile: the time from
+# launching the JVM to the first successful request, and the resident set size right after it.
+#
+#   ./mvnw -Paot -DskipTests package
+#   scripts/startup-benchmark.sh [runs]
+#
+# Both variants start the same extracted jar from target/cds, so the only difference is the AOT
+# bean definitions and the class data sharing archive. The database of application.properties
+# must be reachable (docker compose up postgres). Environment:
+#   PORT              port the application listens on (default 18090)
+#   PROBE_PATH        request timed as the first one (default /api/meals, which reaches the database)
+#   APP_ARGS          extra application arguments, e.g. another spring.datasource.url
+#   EXTRA_CLASSPATH   jars appended to the class path, e.g. a JDBC driver for APP_ARGS
+#   TIMEOUT           seconds to wait for the first response (default 120)
+
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18090}
+PROBE_PATH=${PROBE_PATH:-/api/meals}
+TIMEOUT=${TIMEOUT:-120}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+BACKEND_DIR=$(cd "$(dirname "$0")/.." && pwd)
+CDS_DIR=$BACKEND_DIR/target/cds
+JAR=$(find "$CDS_DIR" -maxdepth 1 -name '*.jar' 2>/dev/null | head -n 1)
+ARCHIVE=$CDS_DIR/application.jsa
+if [[ -z "$JAR" || ! -f "$ARCHIVE" ]]; then
+    echo "No $CDS_DIR/application.jsa, build with: ./mvnw -Paot -DskipTests package" >&2
+    exit 1
+fi
+CLASSPATH=$JAR${EXTRA_CLASSPATH:+:$EXTRA_CLASSPATH}
+MAIN_CLASS=$(unzip -p "$JAR" META-INF/MANIFEST.MF | sed -n 's/^Main-Class: *//p' | tr -d '\r')
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Prints "<time to first request in ms> <rss in KiB>" for one start with the given JVM options
+measure() {
+    local start pid elapsed rss
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    (cd "$WORK_DIR" && exec "$JAVA" "$@" -cp "$CLASSPATH" "$MAIN_CLASS" --server.port="$PORT" \
+        --logging.file.name="$WORK_DIR/app.log" ${APP_ARGS:-} > "$WORK_DIR/stdout.log" 2>&1) &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT$PROBE_PATH"; do
+        if ! kill -0 "$pid" 2>/dev/null || (( $(now_ms) - start > TIMEOUT * 1000 )); then
+            echo "Application did not answer $PROBE_PATH, see $WORK_DIR/stdout.log:" >&2
+            tail -n 20 "$WORK_DIR/stdout.log" >&2
+            kill "$pid" 2>/dev/null || true
+            exit 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(awk '/^VmRSS:/ { print $2 }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2 ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2)) }'
+}
+
+run_variant() {
+    local name=$1 results
+    shift
+    : > "$WORK_DIR/$name"
+    for ((i = 1; i <= RUNS; i++)); do
+        results=$(measure "$@")
+        echo "$results" >> "$WORK_DIR/$name"
+        echo "  $name run $i: first request after ${results% *} ms, RSS $(( ${results#* } / 1024 )) MiB" >&2
+    done
+    printf '%-10s %10s %10s\n' "$name" \
+        "$(cut -d' ' -f1 "$WORK_DIR/$name" | median)" \
+        "$(( $(cut -d' ' -f2 "$WORK_DIR/$name" | median) / 1024 ))"
+}
+
+echo "Startup of $(basename "$JAR"), median of $RUNS runs" >&2
+baseline=$(run_variant baseline)
+optimized=$(run_variant aot+cds -XX:SharedArchiveFile="$ARCHIVE" -Dspring.aot.enabled=true)
+echo
+printf '%-10s %10s %10s\n' variant "first(ms)" "rss(MiB)"
+echo "$baseline"
+echo "$optimized"
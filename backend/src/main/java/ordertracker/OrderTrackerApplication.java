@@ -2,10 +2,14 @@ package ordertracker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableAsync
+@EnableScheduling
 public class OrderTrackerApplication {
     public static void main(String[] args) {
         SpringApplication.run(OrderTrackerApplication.class, args);
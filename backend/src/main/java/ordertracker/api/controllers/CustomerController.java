@@ -12,6 +12,7 @@ import ordertracker.core.enums.OrderStatus;
 import ordertracker.core.exceptions.BadRequestException;
 import ordertracker.core.exceptions.ResourceNotFoundException;
 import ordertracker.core.models.Customer;
+import ordertracker.core.models.CustomerSnapshot;
 import ordertracker.core.models.Order;
 import ordertracker.core.services.CustomerService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -81,6 +82,30 @@ public class CustomerController {
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with phone: " + phoneNumber));
     }
 
+    @Operation(summary = "Get customer summary by ID",
+            description = "Retrieves a customer without their orders, answered from the customer cache")
+    @ApiResponse(responseCode = "200", description = "Customer found and returned")
+    @ApiResponse(responseCode = "404", description = "Customer not found")
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<CustomerSnapshot> getCustomerSummary(
+            @Parameter(description = "ID of the customer to be retrieved") @PathVariable int id) {
+        return customerService.getCustomerSnapshot(id)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+    }
+
+    @Operation(summary = "Get customer summary by phone number",
+            description = "Retrieves a customer without their orders, answered from the customer cache")
+    @ApiResponse(responseCode = "200", description = "Customer found and returned")
+    @ApiResponse(responseCode = "404", description = "Customer not found")
+    @GetMapping("/phone/{phoneNumber}/summary")
+    public ResponseEntity<CustomerSnapshot> getCustomerSummaryByPhoneNumber(
+            @Parameter(description = "Phone number of the customer to be retrieved") @PathVariable String phoneNumber) {
+        return customerService.getCustomerSnapshotByPhoneNumber(phoneNumber)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with phone: " + phoneNumber));
+    }
+
     @Operation(summary = "Filter customers by order status and meal name",
             description = "Retrieves customers who have orders with specified status and meal name")
     @ApiResponse(responseCode = "200", description = "Customers found and returned")
@@ -0,0 +1,44 @@
+package ordertracker.api.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import ordertracker.core.models.KitchenPlan;
+import ordertracker.core.services.KitchenService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/kitchen")
+@Tag(name = "Kitchen controller", description = "Controller for planning the work of the kitchen stations")
+public class KitchenController {
+
+    private final KitchenService kitchenService;
+
+    public KitchenController(KitchenService kitchenService) {
+        this.kitchenService = kitchenService;
+    }
+
+    @Operation(summary = "Get kitchen plan",
+            description = "Plans the cooking and accepted orders over the kitchen stations: cooking orders first, "
+                    + "then shortest cooking time first with credit for waiting, with identical meals batched")
+    @ApiResponse(responseCode = "200", description = "Successfully planned the active orders")
+    @GetMapping("/plan")
+    public ResponseEntity<KitchenPlan> getPlan() {
+        return ResponseEntity.ok(kitchenService.getPlan());
+    }
+
+    @Operation(summary = "Start due orders",
+            description = "Moves the accepted orders the plan starts right away to COOKING and returns their ids")
+    @ApiResponse(responseCode = "200", description = "Due orders started")
+    @PostMapping("/start")
+    public ResponseEntity<List<Integer>> startDueOrders() {
+        return ResponseEntity.ok(kitchenService.startDueOrders());
+    }
+}
@@ -4,29 +4,46 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import ordertracker.apllication.logging.ParsedLogSegment;
+import ordertracker.core.enums.LogTaskStatus;
+import ordertracker.core.exceptions.BadRequestException;
+import ordertracker.core.models.LogQuery;
+import ordertracker.core.models.LogQueryResult;
+import ordertracker.core.models.LogSlice;
 import ordertracker.core.models.LogTask;
+import ordertracker.core.models.LogTaskFile;
+import ordertracker.core.services.LogFileService;
 import ordertracker.core.services.LogService;
+import ordertracker.core.services.LogTailService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/logs")
@@ -34,14 +51,21 @@ import org.springframework.web.bind.annotation.RestController;
 public class LogController {
 
     private final LogService logService;
+    private final LogFileService logFileService;
+    private final LogTailService logTailService;
 
     @Autowired
-    public LogController(LogService logService) {
+    public LogController(LogService logService, LogFileService logFileService, LogTailService logTailService) {
         this.logService = logService;
+        this.logFileService = logFileService;
+        this.logTailService = logTailService;
     }
 
-    private static final String LOG_FILE_PATH = "./OrderTracker.log";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_QUERY_LIMIT = 1000;
+    private static final int MAX_QUERY_CONTEXT = 50;
+    private static final Pattern CURSOR = Pattern.compile(".+:\\d{1,18}");
 
     @Operation(
             summary = "View logs by date",
@@ -57,91 +81,241 @@ public class LogController {
                     example = "2023-05-15",
                     required = true
             )
-            @RequestParam(name = "date") String dateStr) throws IOException {
+            @RequestParam(name = "date") String dateStr) {
 
+        LocalDate date;
         try {
-            LocalDate.parse(dateStr, DATE_FORMATTER);
+            date = LocalDate.parse(dateStr, DATE_FORMATTER);
         } catch (DateTimeParseException e) {
             return ResponseEntity.badRequest().build();
         }
 
-        Path logPath = Paths.get(LOG_FILE_PATH);
-        if (!Files.exists(logPath)) {
+        Optional<String> filteredLogs = logFileService.getLogsByDate(date);
+        if (filteredLogs.isEmpty() || filteredLogs.get().isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        String filteredLogs;
-        try (Stream<String> lines = Files.lines(logPath)) {
-            filteredLogs = lines
-                    .filter(line -> line.contains(dateStr))
-                    .collect(Collectors.joining("\n"));
-        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(filteredLogs.get());
+    }
 
-        if (filteredLogs.isEmpty()) {
-            return ResponseEntity.notFound().build();
+    @Operation(
+            summary = "Query log entries",
+            description = "Returns log entries matching all given filters as JSON, in file order. Times are compared "
+                    + "with the timestamps as written in the log, to the second. Pass nextCursor of a response as "
+                    + "cursor to get the next page"
+    )
+    @ApiResponse(responseCode = "200", description = "Matching entries returned")
+    @ApiResponse(responseCode = "400", description = "Invalid or too long filters, or invalid page options")
+    @GetMapping("/query")
+    public ResponseEntity<LogQueryResult> queryLogs(
+            @Parameter(description = "Start of the time range, inclusive", example = "2023-05-15T10:00:00")
+            @RequestParam(name = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the time range, exclusive", example = "2023-05-15T10:30:00")
+            @RequestParam(name = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Minimum level: TRACE, DEBUG, INFO, WARN or ERROR", example = "WARN")
+            @RequestParam(name = "level", required = false) String level,
+            @Parameter(description = "Text the logger name must contain", example = "OrderServiceImpl")
+            @RequestParam(name = "logger", required = false) String logger,
+            @Parameter(description = "Regular expression searched in the message", example = "order_id=4[0-9]")
+            @RequestParam(name = "regex", required = false) String regex,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Maximum number of matching entries, up to " + MAX_QUERY_LIMIT)
+            @RequestParam(name = "limit", defaultValue = "100") int limit,
+            @Parameter(description = "Entries to include before each match, up to " + MAX_QUERY_CONTEXT)
+            @RequestParam(name = "before", defaultValue = "0") int before,
+            @Parameter(description = "Entries to include after each match, up to " + MAX_QUERY_CONTEXT)
+            @RequestParam(name = "after", defaultValue = "0") int after) {
+        if (limit < 1 || limit > MAX_QUERY_LIMIT) {
+            throw new BadRequestException("'limit' must be between 1 and " + MAX_QUERY_LIMIT);
+        }
+        if (before < 0 || before > MAX_QUERY_CONTEXT || after < 0 || after > MAX_QUERY_CONTEXT) {
+            throw new BadRequestException("'before' and 'after' must be between 0 and " + MAX_QUERY_CONTEXT);
         }
+        if (cursor != null && !CURSOR.matcher(cursor).matches()) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+        LogQuery query = toQuery(from, to, level, logger, regex, cursor, limit, before, after);
+        return ResponseEntity.ok(logFileService.query(query));
+    }
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.TEXT_PLAIN)
-                .body(filteredLogs);
+    @Operation(
+            summary = "Follow the log",
+            description = "Streams log entries appended from now on as Server-Sent Events named 'log'. If the client "
+                    + "reads slower than the log grows, entries are dropped and a 'dropped' event carries their count"
+    )
+    @ApiResponse(responseCode = "200", description = "Event stream opened")
+    @ApiResponse(responseCode = "400", description = "Invalid level provided")
+    @ApiResponse(responseCode = "429", description = "Too many clients are following the log")
+    @GetMapping("/tail")
+    public SseEmitter tailLogs(
+            @Parameter(description = "Minimum level: TRACE, DEBUG, INFO, WARN or ERROR", example = "WARN")
+            @RequestParam(name = "level", required = false) String level,
+            @Parameter(description = "Text the entry must contain", example = "OrderController")
+            @RequestParam(name = "contains", required = false) String contains) {
+        String normalizedLevel = level == null ? null : level.toUpperCase(Locale.ROOT);
+        if (normalizedLevel != null && !ParsedLogSegment.LEVELS.contains(normalizedLevel)) {
+            throw new BadRequestException("Unknown level: " + level);
+        }
+        return logTailService.subscribe(normalizedLevel, contains == null || contains.isEmpty() ? null : contains);
     }
 
     @Operation(
             summary = "Download logs by date",
-            description = "Downloads log entries filtered by the specified date in YYYY-MM-DD format"
+            description = "Streams log entries of the specified date in YYYY-MM-DD format straight from the log file. "
+                    + "The body is gzip-compressed when the client accepts it; single byte ranges are supported "
+                    + "for uncompressed downloads so interrupted transfers can be resumed"
     )
-    @ApiResponse(responseCode = "200", description = "Log file successfully generated and returned for download")
+    @ApiResponse(responseCode = "200", description = "Log entries streamed for download")
+    @ApiResponse(responseCode = "206", description = "Requested byte range of the log entries streamed for download")
     @ApiResponse(responseCode = "400", description = "Invalid date format provided")
     @ApiResponse(responseCode = "404", description = "No logs found for the specified date or log file not found")
+    @ApiResponse(responseCode = "416", description = "Requested byte range is outside the log entries")
     @GetMapping("/download")
-    public ResponseEntity<Resource> downloadLogFile(
+    public ResponseEntity<StreamingResponseBody> downloadLogFile(
             @Parameter(
                     description = "Date in YYYY-MM-DD format to filter logs",
                     example = "2023-05-15",
                     required = true
             )
-            @RequestParam(name = "date") String dateStr) throws IOException {
+            @RequestParam(name = "date") String dateStr,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(name = HttpHeaders.RANGE, required = false) String rangeHeader) {
+        LocalDate date;
         try {
-            LocalDate.parse(dateStr, DATE_FORMATTER);
+            date = LocalDate.parse(dateStr, DATE_FORMATTER);
         } catch (DateTimeParseException e) {
             return ResponseEntity.badRequest().build();
         }
 
-        Path logPath = Paths.get(LOG_FILE_PATH);
-        if (!Files.exists(logPath)) {
+        Optional<LogSlice> slice = logFileService.getLogSliceByDate(date);
+        if (slice.isEmpty() || slice.get().length() == 0) {
             return ResponseEntity.notFound().build();
         }
+        LogSlice logs = slice.get();
+        long length = logs.length();
 
-        String filteredLogs;
-        try (var lines = Files.lines(logPath)) {
-            filteredLogs = lines
-                    .filter(line -> line.contains(dateStr))
-                    .collect(Collectors.joining("\n"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=logs-" + dateStr + ".log");
+        headers.add(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+
+        HttpRange range = parseSingleRange(rangeHeader);
+        if (range != null) {
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            if (start >= length || end < start) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+            long count = end - start + 1;
+            headers.add(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            headers.setContentLength(count);
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .headers(headers)
+                    .body(out -> logs.writeTo(out, start, count));
         }
 
-        if (filteredLogs.isEmpty()) {
-            return ResponseEntity.notFound().build();
+        if (acceptsGzip(acceptEncoding)) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(out -> {
+                        GZIPOutputStream gzip = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                        logs.writeTo(gzip);
+                        gzip.finish();
+                    });
         }
 
-        Path tempLogFile = Files.createTempFile("logs-" + dateStr, ".log");
-        Files.write(tempLogFile, filteredLogs.getBytes());
+        headers.setContentLength(length);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(logs::writeTo);
+    }
 
-        Resource resource = new UrlResource(tempLogFile.toUri());
-        tempLogFile.toFile().deleteOnExit();
+    /**
+     * Returns the requested range when the header holds exactly one valid byte range; anything else is
+     * ignored and the whole content is sent, as HTTP allows.
+     */
+    private static HttpRange parseSingleRange(String rangeHeader) {
+        if (rangeHeader == null || rangeHeader.isBlank()) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=logs-" + dateStr + ".log")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(resource);
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.matches("[qQ]\\s*=\\s*0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
     }
 
-    @Operation(summary = "Create a new log task", description = "Creates a new log generation task and returns its ID")
+    @Operation(
+            summary = "Create a new log task",
+            description = "Starts extracting the log entries matching the given filters into a file and returns the "
+                    + "task ID. Without filters the whole log is extracted"
+    )
+    @ApiResponse(responseCode = "200", description = "Task created")
+    @ApiResponse(responseCode = "400", description = "Invalid level, regular expression or range, or too long filters")
+    @ApiResponse(responseCode = "429", description = "Too many tasks are waiting for a worker")
     @PostMapping
-    public ResponseEntity<String> createLog() {
-        LogTask task = logService.createLogTask();
+    public ResponseEntity<String> createLog(
+            @Parameter(description = "Start of the time range, inclusive", example = "2023-05-15T10:00:00")
+            @RequestParam(name = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the time range, exclusive", example = "2023-05-15T10:30:00")
+            @RequestParam(name = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Minimum level: TRACE, DEBUG, INFO, WARN or ERROR", example = "WARN")
+            @RequestParam(name = "level", required = false) String level,
+            @Parameter(description = "Text the logger name must contain", example = "OrderServiceImpl")
+            @RequestParam(name = "logger", required = false) String logger,
+            @Parameter(description = "Regular expression searched in the message", example = "order_id=4[0-9]")
+            @RequestParam(name = "regex", required = false) String regex) {
+        LogQuery query = toQuery(from, to, level, logger, regex, null, Integer.MAX_VALUE, 0, 0);
+        LogTask task = logService.createLogTask(query);
         return ResponseEntity.ok(task.getId());
     }
 
+    @Operation(summary = "Get task", description = "Returns the status, progress and timings of a log generation task")
+    @ApiResponse(responseCode = "200", description = "Task returned successfully")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @GetMapping("/{id}")
+    public ResponseEntity<LogTask> getTask(
+            @Parameter(description = "ID of the log task", required = true)
+            @PathVariable String id) {
+        LogTask task = logService.getTask(id);
+        if (task == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(task);
+    }
+
     @Operation(summary = "Get task status", description = "Returns the current status of a log generation task")
     @ApiResponse(responseCode = "200", description = "Status returned successfully")
     @ApiResponse(responseCode = "404", description = "Task not found")
@@ -153,26 +327,82 @@ public class LogController {
         if (task == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(task.getStatus());
+        return ResponseEntity.ok(task.getStatus().name());
     }
 
-    @Operation(summary = "Download log file", description = "Downloads the generated log file if the task is complete")
+    @Operation(
+            summary = "Cancel or delete a task",
+            description = "Cancels a queued or running log generation task, or deletes a finished one with its file"
+    )
+    @ApiResponse(responseCode = "204", description = "Task cancelled or deleted")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelTask(
+            @Parameter(description = "ID of the log task", required = true)
+            @PathVariable String id) {
+        if (!logService.cancelTask(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Download log file",
+            description = "Downloads the generated log file if the task is complete. The body is gzip-compressed "
+                    + "when the client accepts it"
+    )
     @ApiResponse(responseCode = "200", description = "File returned successfully")
     @ApiResponse(responseCode = "404", description = "Task not found or file not ready")
     @GetMapping("/{id}/file")
-    public ResponseEntity<Resource> getFile(
+    public ResponseEntity<StreamingResponseBody> getFile(
             @Parameter(description = "ID of the log task", required = true)
-            @PathVariable String id) throws IOException {
+            @PathVariable String id,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         LogTask task = logService.getTask(id);
-        if (task == null || !"READY".equals(task.getStatus())) {
+        LogTaskFile file = task == null || task.getStatus() != LogTaskStatus.READY ? null : logService.getFile(id);
+        if (file == null) {
             return ResponseEntity.notFound().build();
         }
+        byte[] content = file.getContent();
 
-        Path filePath = task.getFilePath();
-        Resource resource = new UrlResource(filePath.toUri());
-
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"logs_" + id + ".log\"");
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        if (acceptsGzip(acceptEncoding)) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(content.length);
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(out -> out.write(content));
+        }
         return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=\"" + filePath.getFileName() + "\"")
-                .body(resource);
+                .headers(headers)
+                .body(out -> new GZIPInputStream(new ByteArrayInputStream(content), GZIP_BUFFER_SIZE).transferTo(out));
+    }
+
+    private static LogQuery toQuery(LocalDateTime from, LocalDateTime to, String level, String logger, String regex,
+                                    String cursor, int limit, int before, int after) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        String normalizedLevel = level == null ? null : level.toUpperCase(Locale.ROOT);
+        if (normalizedLevel != null && !ParsedLogSegment.LEVELS.contains(normalizedLevel)) {
+            throw new BadRequestException("Unknown level: " + level);
+        }
+        if (logger != null && logger.length() > LogTask.MAX_LOGGER_LENGTH) {
+            throw new BadRequestException("'logger' must be at most " + LogTask.MAX_LOGGER_LENGTH + " characters");
+        }
+        if (regex != null && regex.length() > LogTask.MAX_REGEX_LENGTH) {
+            throw new BadRequestException("'regex' must be at most " + LogTask.MAX_REGEX_LENGTH + " characters");
+        }
+        Pattern message;
+        try {
+            message = regex == null || regex.isEmpty() ? null : Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new BadRequestException("Invalid regular expression: " + e.getDescription());
+        }
+        return new LogQuery(from, to, normalizedLevel, logger == null || logger.isEmpty() ? null : logger,
+                message, cursor, limit, before, after);
     }
-}
\ No newline at end of file
+}
@@ -2,16 +2,23 @@ package ordertracker.api.controllers;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.regex.Pattern;
 import ordertracker.core.exceptions.BadRequestException;
 import ordertracker.core.exceptions.ResourceNotFoundException;
 import ordertracker.core.models.Meal;
+import ordertracker.core.models.MealMenu;
 import ordertracker.core.services.MealService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,9 +27,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
@@ -30,6 +39,7 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Meal controller", description = "Controller for managing meals in the system")
 public class MealController {
     private static final String MEAL_NOT_FOUND = "Meal Not Found";
+    private static final Pattern ZERO_QUALITY = Pattern.compile("q=0(\\.0{0,3})?");
     private final MealService mealService;
 
     @Autowired
@@ -38,10 +48,27 @@ public class MealController {
     }
 
     @Operation(summary = "Get all meals", description = "Retrieves a list of all available meals")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of meals")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of meals",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = Meal.class))))
+    @ApiResponse(responseCode = "304", description = "Meals have not changed since the given ETag")
     @GetMapping
-    public ResponseEntity<List<Meal>> getAllMeals() {
-        return ResponseEntity.ok(mealService.getAllMeals());
+    public ResponseEntity<byte[]> getAllMeals(
+            WebRequest request,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+        MealMenu menu = mealService.getMealMenu();
+        if (request.checkNotModified(menu.etag())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(menu.etag())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (menu.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(menu.gzip());
+        }
+        return response.body(menu.identity());
     }
 
     @Operation(summary = "Get meal by ID", description = "Retrieves a single meal by its ID")
@@ -144,4 +171,28 @@ public class MealController {
             throw new ResourceNotFoundException("Meal not found with id: " + id);
         }
     }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (ZERO_QUALITY.matcher(parameter).matches()) {
+                    refused = true;
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
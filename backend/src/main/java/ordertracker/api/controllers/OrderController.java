@@ -4,14 +4,19 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import java.util.List;
 import java.util.Map;
 import ordertracker.core.enums.OrderStatus;
 import ordertracker.core.exceptions.BadRequestException;
 import ordertracker.core.exceptions.ResourceNotFoundException;
+import ordertracker.core.models.ActiveOrder;
 import ordertracker.core.models.Order;
+import ordertracker.core.models.OrderEta;
+import ordertracker.core.services.KitchenService;
 import ordertracker.core.services.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -34,10 +39,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
     private final OrderService orderService;
+    private final KitchenService kitchenService;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, KitchenService kitchenService) {
         this.orderService = orderService;
+        this.kitchenService = kitchenService;
     }
 
     @Operation(summary = "Get all orders", description = "Retrieves a list of all orders")
@@ -47,6 +54,23 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getAllOrders());
     }
 
+    @Operation(summary = "Get active orders",
+            description = "Retrieves the orders that are not ready yet, oldest first, from the in-memory read model")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of active orders")
+    @GetMapping("/active")
+    public ResponseEntity<List<ActiveOrder>> getActiveOrders(
+            @Parameter(description = "Only return orders in this status")
+            @RequestParam(required = false) OrderStatus status) {
+        return ResponseEntity.ok(orderService.getActiveOrders(status));
+    }
+
+    @Operation(summary = "Count active orders", description = "Retrieves the number of orders in each status but READY")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the counts")
+    @GetMapping("/active/counts")
+    public ResponseEntity<Map<OrderStatus, Integer>> getActiveOrderCounts() {
+        return ResponseEntity.ok(orderService.getActiveOrderCounts());
+    }
+
     @Operation(summary = "Get order by ID", description = "Retrieves a single order by its ID")
     @ApiResponse(responseCode = "200", description = "Order found and returned")
     @ApiResponse(responseCode = "400", description = "Invalid ID supplied")
@@ -60,6 +84,21 @@ public class OrderController {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id:" + " " + id));
     }
 
+    @Operation(summary = "Get order ETA",
+            description = "Estimates when the order will be ready from its place in the kitchen plan and the observed "
+                    + "cooking pace")
+    @ApiResponse(responseCode = "200", description = "Estimate returned")
+    @ApiResponse(responseCode = "400", description = "Invalid ID supplied")
+    @ApiResponse(responseCode = "404", description = "Order not found")
+    @GetMapping("/{id}/eta")
+    public ResponseEntity<OrderEta> getOrderEta(
+            @Parameter(description = "ID of the order to estimate", required = true, example = "1")
+            @PathVariable @Min(1) int id) {
+        return kitchenService.getOrderEta(id)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id:" + " " + id));
+    }
+
     @Operation(summary = "Create new order", description = "Creates a new order for the specified customer")
     @ApiResponse(responseCode = "201", description = "Order successfully created")
     @ApiResponse(responseCode = "400", description = "Invalid customer ID supplied")
@@ -96,7 +135,7 @@ public class OrderController {
 
     @Operation(summary = "Add meal to order", description = "Adds a meal to an existing order")
     @ApiResponse(responseCode = "200", description = "Meal successfully added to order")
-    @ApiResponse(responseCode = "400", description = "Invalid order ID or meal ID supplied")
+    @ApiResponse(responseCode = "400", description = "Invalid order ID or meal ID supplied, or the order is full")
     @ApiResponse(responseCode = "404", description = "Order or meal not found")
     @PutMapping("/{id}/meals")
     public ResponseEntity<Order> addMealToOrder(
@@ -107,7 +146,7 @@ public class OrderController {
         try {
             var order = orderService.addMealToOrder(id, mealId);
             return ResponseEntity.status(HttpStatus.OK).body(order);
-        } catch (Exception e) {
+        } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException(
                     "Order not found with id: " + id + " or meal not found with id: " + mealId);
         }
@@ -116,6 +155,7 @@ public class OrderController {
     @PutMapping("/{id}/meals/bulk")
     @Operation(summary = "Add multiple meals to order")
     @ApiResponse(responseCode = "200", description = "Meals added successfully")
+    @ApiResponse(responseCode = "400", description = "The order would have more than 25 meals")
     @ApiResponse(responseCode = "404", description = "Order or meals not found")
     public ResponseEntity<Order> bulkAddMealsToOrder(
             @PathVariable @Min(1) int id,
@@ -133,6 +173,27 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
 
+    @Operation(summary = "Change meal quantity",
+            description = "Sets how many portions of the meal the order has, adding the meal if needed and removing it at 0")
+    @ApiResponse(responseCode = "200", description = "Quantity successfully changed")
+    @ApiResponse(responseCode = "400", description = "Invalid ID or quantity supplied, or the order is full")
+    @ApiResponse(responseCode = "404", description = "Order or meal not found")
+    @PutMapping("/{id}/meals/{mealId}/quantity")
+    public ResponseEntity<Order> updateMealQuantity(
+            @Parameter(description = "ID of the order to modify", required = true, example = "1")
+            @PathVariable @Min(1) int id,
+            @Parameter(description = "ID of the meal to change", required = true, example = "1")
+            @PathVariable @Min(1) int mealId,
+            @Parameter(description = "New number of portions", required = true, example = "2")
+            @RequestParam @Min(0) @Max(Order.MAX_MEALS) int quantity) {
+        try {
+            return ResponseEntity.ok(orderService.updateMealQuantity(id, mealId, quantity));
+        } catch (EntityNotFoundException e) {
+            throw new ResourceNotFoundException(
+                    "Order not found with id: " + id + " or meal not found with id: " + mealId);
+        }
+    }
+
     @Operation(summary = "Delete order", description = "Deletes an existing order")
     @ApiResponse(responseCode = "204", description = "Order successfully deleted")
     @ApiResponse(responseCode = "400", description = "Invalid ID supplied")
@@ -149,7 +210,7 @@ public class OrderController {
         }
     }
 
-    @Operation(summary = "Remove meal from order", description = "Removes a meal from an existing order")
+    @Operation(summary = "Remove meal from order", description = "Removes one portion of a meal from an existing order")
     @ApiResponse(responseCode = "204", description = "Meal successfully removed from order")
     @ApiResponse(responseCode = "400", description = "Invalid order ID or meal ID supplied")
     @ApiResponse(responseCode = "404", description = "Order or meal not found")
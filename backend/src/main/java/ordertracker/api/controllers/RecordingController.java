@@ -0,0 +1,75 @@
+package ordertracker.api.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import ordertracker.core.models.RecordingInfo;
+import ordertracker.core.services.RecordingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/recordings")
+@Tag(name = "Recording controller", description = "Controller for capturing Java Flight Recorder recordings")
+public class RecordingController {
+
+    private final RecordingService recordingService;
+
+    @Autowired
+    public RecordingController(RecordingService recordingService) {
+        this.recordingService = recordingService;
+    }
+
+    @Operation(summary = "Start recording", description = "Starts a flight recording with the OrderTracker events")
+    @ApiResponse(responseCode = "201", description = "Recording started")
+    @ApiResponse(responseCode = "400", description = "A recording is already running")
+    @PostMapping
+    public ResponseEntity<RecordingInfo> startRecording(
+            @Parameter(description = "Stops the recording after this time, e.g. PT5M; runs until stopped if omitted")
+            @RequestParam(required = false) Duration duration) {
+        return new ResponseEntity<>(recordingService.startRecording(duration), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Get recording", description = "Returns the state of the current recording")
+    @ApiResponse(responseCode = "200", description = "Recording found")
+    @ApiResponse(responseCode = "404", description = "No recording was started")
+    @GetMapping("/current")
+    public ResponseEntity<RecordingInfo> getRecording() {
+        RecordingInfo recording = recordingService.getRecording();
+        return recording == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(recording);
+    }
+
+    @Operation(summary = "Dump recording", description = "Downloads the data recorded so far; the recording continues")
+    @ApiResponse(responseCode = "200", description = "Recording file returned")
+    @ApiResponse(responseCode = "404", description = "No recording was started")
+    @PostMapping("/current/dump")
+    public ResponseEntity<Resource> dumpRecording() throws IOException {
+        return download(recordingService.dumpRecording());
+    }
+
+    @Operation(summary = "Stop recording", description = "Stops the recording and downloads it")
+    @ApiResponse(responseCode = "200", description = "Recording file returned")
+    @ApiResponse(responseCode = "404", description = "No recording is running")
+    @PostMapping("/current/stop")
+    public ResponseEntity<Resource> stopRecording() throws IOException {
+        return download(recordingService.stopRecording());
+    }
+
+    private static ResponseEntity<Resource> download(Path file) throws IOException {
+        return ResponseEntity.ok()
+                .header("Content-Disposition", "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(new UrlResource(file.toUri()));
+    }
+}
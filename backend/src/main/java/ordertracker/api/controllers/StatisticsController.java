@@ -5,9 +5,12 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import ordertracker.core.services.VisitCounterService;
+import ordertracker.core.exceptions.ResourceNotFoundException;
+import ordertracker.core.models.AsyncLogStatistics;
+import ordertracker.core.models.VisitStatistics;
+import ordertracker.core.services.LoggingStatisticsService;
+import ordertracker.core.services.VisitStatisticsService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -18,10 +21,16 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Statistics API", description = "API for tracking and retrieving visit statistics")
 public class StatisticsController {
 
-    private final VisitCounterService visitCounterService;
+    private static final String STALENESS_HEADER = "X-Statistics-Staleness-Ms";
 
-    public StatisticsController(VisitCounterService visitCounterService) {
-        this.visitCounterService = visitCounterService;
+    private final VisitStatisticsService visitStatisticsService;
+    private final LoggingStatisticsService loggingStatisticsService;
+
+    public StatisticsController(
+            VisitStatisticsService visitStatisticsService,
+            LoggingStatisticsService loggingStatisticsService) {
+        this.visitStatisticsService = visitStatisticsService;
+        this.loggingStatisticsService = loggingStatisticsService;
     }
 
     @GetMapping("single-stat")
@@ -31,21 +40,38 @@ public class StatisticsController {
     )
     @ApiResponse(responseCode = "200", description = "Successfully retrieved visit count")
     @ApiResponse(responseCode = "400", description = "Invalid URL parameter")
-    public int getUrlVisitCount(
+    public ResponseEntity<Integer> getUrlVisitCount(
             @Parameter(description = "URL to get visit count for", required = true, example = "/api/products")
             @RequestParam String url
     ) {
-        return visitCounterService.getCount(url);
+        return ResponseEntity.ok()
+                .header(STALENESS_HEADER, String.valueOf(visitStatisticsService.getStalenessMs()))
+                .body(visitStatisticsService.getCount(url));
     }
 
     @GetMapping
     @Operation(
             summary = "Get all visit counts",
-            description = "Returns a map of all URLs with their corresponding visit counts"
+            description = "Returns a map of all URLs with their corresponding visit counts. "
+                    + "In cluster mode the counts are merged over all nodes"
     )
     @ApiResponse(responseCode = "200", description = "Successfully retrieved all visit counts")
-    public ConcurrentMap<String, Integer> getAllVisitCounts() {
-        return visitCounterService.getAllCounts();
+    public ResponseEntity<Map<String, Integer>> getAllVisitCounts() {
+        VisitStatistics statistics = visitStatisticsService.getStatistics();
+        return ResponseEntity.ok()
+                .header(STALENESS_HEADER, String.valueOf(statistics.stalenessMs()))
+                .body(statistics.counts());
+    }
+
+    @GetMapping("/cluster")
+    @Operation(
+            summary = "Get visit statistics with synchronization details",
+            description = "Returns the visit counts together with the number of contributing nodes, "
+                    + "the time of the last synchronization and the staleness of the counts"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved visit statistics")
+    public VisitStatistics getVisitStatistics() {
+        return visitStatisticsService.getStatistics();
     }
 
     @GetMapping("/top-visited")
@@ -56,10 +82,23 @@ public class StatisticsController {
     @ApiResponse(responseCode = "200", description = "Successfully retrieved most visited URL")
     @ApiResponse(responseCode = "404", description = "No visits recorded yet")
     public String getMostVisitedUrl() {
-        ConcurrentHashMap<String, Integer> counts = visitCounterService.getAllCounts();
+        Map<String, Integer> counts = visitStatisticsService.getStatistics().counts();
         return counts.entrySet().stream()
                 .max(Map.Entry.comparingByValue())
                 .map(entry -> "Most visited URL: " + entry.getKey() + " (visits: " + entry.getValue() + ")")
                 .orElse("No visits recorded yet");
     }
-}
\ No newline at end of file
+
+    @GetMapping("/logging")
+    @Operation(
+            summary = "Get asynchronous logging statistics",
+            description = "Returns the state of the asynchronous log writer: buffer usage, "
+                    + "written events and events dropped or blocked on a full buffer"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved logging statistics")
+    @ApiResponse(responseCode = "404", description = "Asynchronous log writer is not configured")
+    public AsyncLogStatistics getLoggingStatistics() {
+        return loggingStatisticsService.getAsyncLogStatistics()
+                .orElseThrow(() -> new ResourceNotFoundException("Asynchronous log writer is not configured"));
+    }
+}
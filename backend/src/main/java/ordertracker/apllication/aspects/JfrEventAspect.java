@@ -0,0 +1,139 @@
+package ordertracker.apllication.aspects;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import ordertracker.apllication.jfr.ServiceOperationEvent;
+import ordertracker.core.models.Customer;
+import ordertracker.core.models.Meal;
+import ordertracker.core.models.Order;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.Hibernate;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits a {@link ServiceOperationEvent} around the public methods of the order, customer and meal
+ * services. Runs outside the transaction so the commit is part of the event. While no recording
+ * has the event enabled a call costs an allocation and a flag check; the ids are only extracted
+ * for events above the recording's threshold.
+ */
+@Aspect
+@Component
+public class JfrEventAspect implements Ordered {
+
+    private final Map<Method, Operation> operations = new ConcurrentHashMap<>();
+
+    @Around("execution(public * ordertracker.core.services.impls.OrderServiceImpl.*(..))"
+            + " || execution(public * ordertracker.core.services.impls.CustomerServiceImpl.*(..))"
+            + " || execution(public * ordertracker.core.services.impls.MealServiceImpl.*(..))")
+    public Object recordOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                operationOf(joinPoint).describe(event, joinPoint.getArgs(), result);
+                event.outcome = failure == null ? "OK" : failure.getClass().getSimpleName();
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    private Operation operationOf(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        return operations.computeIfAbsent(signature.getMethod(), method -> Operation.of(method, signature));
+    }
+
+    private enum Argument {
+        NONE, CUSTOMER_ID, ORDER_ID, MEAL_ID, MEALS
+    }
+
+    private record Operation(String name, Argument[] arguments) {
+
+        static Operation of(Method method, MethodSignature signature) {
+            String service = method.getDeclaringClass().getSimpleName();
+            String[] names = signature.getParameterNames();
+            Argument[] arguments = new Argument[names.length];
+            for (int i = 0; i < names.length; i++) {
+                arguments[i] = switch (names[i]) {
+                    case "customerId" -> Argument.CUSTOMER_ID;
+                    case "orderId" -> Argument.ORDER_ID;
+                    case "mealId" -> Argument.MEAL_ID;
+                    case "mealIds", "meals" -> Argument.MEALS;
+                    case "id" -> switch (service) {
+                        case "OrderServiceImpl" -> Argument.ORDER_ID;
+                        case "CustomerServiceImpl" -> Argument.CUSTOMER_ID;
+                        case "MealServiceImpl" -> Argument.MEAL_ID;
+                        default -> Argument.NONE;
+                    };
+                    default -> Argument.NONE;
+                };
+            }
+            return new Operation(service.replace("Impl", "") + "." + method.getName(), arguments);
+        }
+
+        void describe(ServiceOperationEvent event, Object[] args, Object result) {
+            event.operation = name;
+            for (int i = 0; i < arguments.length; i++) {
+                Object arg = args[i];
+                switch (arguments[i]) {
+                    case CUSTOMER_ID -> event.customerId = (Integer) arg;
+                    case ORDER_ID -> event.orderId = (Integer) arg;
+                    case MEAL_ID -> event.mealId = (Integer) arg;
+                    case MEALS -> event.mealCount = arg instanceof Collection<?> meals ? meals.size() : -1;
+                    case NONE -> {
+                    }
+                }
+            }
+            describeResult(event, result);
+        }
+
+        /**
+         * Fills in what the arguments did not give from the returned entity, without initializing
+         * lazy associations so the event never costs a query.
+         */
+        private static void describeResult(ServiceOperationEvent event, Object result) {
+            if (result instanceof Optional<?> optional) {
+                result = optional.orElse(null);
+            }
+            if (result instanceof Order order) {
+                if (event.orderId == 0 && order.getId() != null) {
+                    event.orderId = order.getId();
+                }
+                if (event.customerId == 0 && order.getCustomer() != null && order.getCustomer().getId() != null) {
+                    event.customerId = order.getCustomer().getId();
+                }
+                if (order.getLines() != null && Hibernate.isInitialized(order.getLines())) {
+                    event.mealCount = order.mealCount();
+                }
+            } else if (result instanceof Customer customer && event.customerId == 0 && customer.getId() != null) {
+                event.customerId = customer.getId();
+            } else if (result instanceof Meal meal && event.mealId == 0 && meal.getId() != null) {
+                event.mealId = meal.getId();
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package ordertracker.apllication.aspects;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Renders controller arguments and results as short single-line summaries. Collections, maps and
+ * arrays are reduced to their size and first elements, long values are truncated, so the cost of
+ * a log line does not depend on the size of the response. Records are rendered component by
+ * component with the same rules instead of through their {@code toString()}, which would format
+ * every element of their collections first.
+ */
+final class LogValueFormatter {
+
+    private static final RecordShape UNREADABLE = new RecordShape(new String[0], new Method[0]);
+
+    private static final ClassValue<RecordShape> RECORD_SHAPES = new ClassValue<>() {
+        @Override
+        protected RecordShape computeValue(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            String[] names = new String[components.length];
+            Method[] accessors = new Method[components.length];
+            try {
+                for (int i = 0; i < components.length; i++) {
+                    names[i] = components[i].getName();
+                    accessors[i] = components[i].getAccessor();
+                    accessors[i].setAccessible(true);
+                }
+            } catch (RuntimeException e) {
+                return UNREADABLE;
+            }
+            return new RecordShape(names, accessors);
+        }
+    };
+
+    private final int maxValueLength;
+    private final int maxItems;
+
+    LogValueFormatter(int maxValueLength, int maxItems) {
+        this.maxValueLength = maxValueLength;
+        this.maxItems = maxItems;
+    }
+
+    String formatArgs(Object[] args) {
+        StringBuilder sb = new StringBuilder(64).append('[');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            append(sb, args[i], true);
+        }
+        return sb.append(']').toString();
+    }
+
+    String format(Object value) {
+        StringBuilder sb = new StringBuilder(64);
+        append(sb, value, true);
+        return sb.toString();
+    }
+
+    private void append(StringBuilder sb, Object value, boolean expand) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof ResponseEntity<?> response) {
+            sb.append("HTTP ").append(response.getStatusCode().value()).append(' ');
+            append(sb, response.getBody(), expand);
+        } else if (value instanceof CharSequence text) {
+            sb.append('"');
+            appendTruncated(sb, text);
+            sb.append('"');
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>) {
+            sb.append(value);
+        } else if (value instanceof Optional<?> optional) {
+            sb.append("Optional[");
+            append(sb, optional.orElse(null), expand);
+            sb.append(']');
+        } else if (value instanceof Collection<?> collection) {
+            sb.append(value.getClass().getSimpleName()).append("(size=").append(collection.size()).append(')');
+            if (expand) {
+                appendItems(sb, collection.iterator(), collection.size());
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            sb.append(value.getClass().getSimpleName()).append("(size=").append(map.size()).append(')');
+            if (expand) {
+                appendItems(sb, map.entrySet().iterator(), map.size());
+            }
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            sb.append(value.getClass().getComponentType().getSimpleName())
+                    .append("[](length=").append(length).append(')');
+        } else if (value instanceof Record record && RECORD_SHAPES.get(record.getClass()) != UNREADABLE) {
+            appendRecord(sb, record, RECORD_SHAPES.get(record.getClass()), expand);
+        } else if (value instanceof Map.Entry<?, ?> entry) {
+            append(sb, entry.getKey(), false);
+            sb.append('=');
+            append(sb, entry.getValue(), false);
+        } else {
+            appendTruncated(sb, safeToString(value));
+        }
+    }
+
+    private void appendItems(StringBuilder sb, Iterator<?> iterator, int size) {
+        sb.append('[');
+        int rendered = 0;
+        while (iterator.hasNext() && rendered < maxItems) {
+            if (rendered > 0) {
+                sb.append(", ");
+            }
+            append(sb, iterator.next(), false);
+            rendered++;
+        }
+        if (size > rendered) {
+            sb.append(rendered > 0 ? ", " : "").append("...");
+        }
+        sb.append(']');
+    }
+
+    /**
+     * Stops adding components once the record took {@code maxValueLength} characters, after the first.
+     */
+    private void appendRecord(StringBuilder sb, Record record, RecordShape shape, boolean expand) {
+        int start = sb.length();
+        sb.append(record.getClass().getSimpleName()).append('[');
+        for (int i = 0; i < shape.accessors().length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+                if (sb.length() - start >= maxValueLength) {
+                    sb.append("...");
+                    break;
+                }
+            }
+            sb.append(shape.names()[i]).append('=');
+            try {
+                append(sb, shape.accessors()[i].invoke(record), expand);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                sb.append("<unreadable>");
+            }
+        }
+        sb.append(']');
+    }
+
+    private void appendTruncated(StringBuilder sb, CharSequence text) {
+        int length = Math.min(text.length(), maxValueLength);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                sb.append("\\n");
+            } else if (c == '\r') {
+                sb.append("\\r");
+            } else {
+                sb.append(c);
+            }
+        }
+        if (text.length() > length) {
+            sb.append("...(+").append(text.length() - length).append(" chars)");
+        }
+    }
+
+    private static String safeToString(Object value) {
+        try {
+            return String.valueOf(value);
+        } catch (RuntimeException e) {
+            return value.getClass().getSimpleName() + "<toString failed: " + e.getClass().getSimpleName() + ">";
+        }
+    }
+
+    private record RecordShape(String[] names, Method[] accessors) {
+    }
+}
@@ -1,10 +1,19 @@
 package ordertracker.apllication.aspects;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import ordertracker.apllication.components.RequestTimings;
+import ordertracker.apllication.config.ControllerLoggingProperties;
+import ordertracker.apllication.config.ControllerLoggingProperties.Mode;
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -14,23 +23,62 @@ import org.springframework.stereotype.Component;
 public class LoggingAspect {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    @Before("execution(* ordertracker.api.controllers.*.*(..))")
-    public void logBefore(JoinPoint joinPoint) {
-        if (logger.isInfoEnabled()) {
-            logger.info("Method called: {} with args: {}",
-                    joinPoint.getSignature().toShortString(),
-                    joinPoint.getArgs());
+    private final ControllerLoggingProperties properties;
+    private final LogValueFormatter formatter;
+    private final long slowThresholdNanos;
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public LoggingAspect(ControllerLoggingProperties properties) {
+        this.properties = properties;
+        this.formatter = new LogValueFormatter(properties.getMaxValueLength(), properties.getMaxItems());
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    /**
+     * Logs a controller call as one line once it has returned. Nothing is rendered unless the call is
+     * sampled or slower than the threshold, so unlogged calls only pay for two clock reads.
+     */
+    @Around("execution(* ordertracker.api.controllers.*.*(..))")
+    public Object logCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            return log(joinPoint, null);
+        }
+        long start = System.nanoTime();
+        long handlerBefore = timings.handlerNanos();
+        try {
+            return log(joinPoint, timings);
+        } finally {
+            long handlerNanos = timings.handlerNanos() - handlerBefore;
+            timings.addAspect(System.nanoTime() - start - handlerNanos);
         }
     }
 
-    @AfterReturning(pointcut = "execution(* ordertracker.api.controllers.*.*(..))",
-            returning = "result")
-    public void logAfterReturning(JoinPoint joinPoint, Object result) {
-        if (logger.isInfoEnabled()) {
-            logger.info("Method completed: {} with result: {}",
-                    joinPoint.getSignature().toShortString(),
-                    result);
+    private Object log(ProceedingJoinPoint joinPoint, RequestTimings timings) throws Throwable {
+        if (properties.getMode() == Mode.OFF || !logger.isInfoEnabled()) {
+            return proceed(joinPoint, timings);
+        }
+
+        long start = System.nanoTime();
+        Object result = proceed(joinPoint, timings);
+        long elapsedNanos = System.nanoTime() - start;
+
+        boolean slow = elapsedNanos >= slowThresholdNanos;
+        Endpoint endpoint = endpointOf(joinPoint);
+        if (slow) {
+            logger.warn("controller_call endpoint={} duration_us={} slow=true args={} result={}",
+                    endpoint.name(),
+                    TimeUnit.NANOSECONDS.toMicros(elapsedNanos),
+                    formatter.formatArgs(joinPoint.getArgs()),
+                    formatter.format(result));
+        } else if (properties.getMode() == Mode.ALL && endpoint.sampled()) {
+            logger.info("controller_call endpoint={} duration_us={} slow=false args={} result={}",
+                    endpoint.name(),
+                    TimeUnit.NANOSECONDS.toMicros(elapsedNanos),
+                    formatter.formatArgs(joinPoint.getArgs()),
+                    formatter.format(result));
         }
+        return result;
     }
 
     @AfterThrowing(pointcut = "within(@org.springframework.web.bind.annotation.RestController *)",
@@ -42,4 +90,34 @@ public class LoggingAspect {
                     ex.getMessage(), ex); // Добавлен сам exception для stack trace
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs the controller method, adding its duration to the request timings when there are any.
+     */
+    private static Object proceed(ProceedingJoinPoint joinPoint, RequestTimings timings) throws Throwable {
+        if (timings == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timings.addHandler(System.nanoTime() - start);
+        }
+    }
+
+    private Endpoint endpointOf(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return endpoints.computeIfAbsent(method, m -> {
+            String name = m.getDeclaringClass().getSimpleName() + "." + m.getName();
+            double rate = properties.getSampleRates().getOrDefault(name, properties.getSampleRate());
+            return new Endpoint(name, rate);
+        });
+    }
+
+    private record Endpoint(String name, double sampleRate) {
+        boolean sampled() {
+            return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package ordertracker.apllication.components;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.models.ActiveOrder;
+import ordertracker.core.models.Order;
+import ordertracker.core.repositories.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory read model of the orders that are not {@link OrderStatus#READY} yet, keyed by order id
+ * in a primitive map, with a running count per status.
+ *
+ * <p>It is loaded from the database when the context starts, before the web server accepts
+ * requests, and kept up to date by the order, customer and meal services. They report each change
+ * as it is made; the change is applied once the surrounding transaction commits, or right away
+ * outside of one, so rolled back writes never show up here. Changes are applied as deltas, so two
+ * concurrent writes to the same order, such as a status change and an added meal, both survive.
+ *
+ * <p>Changes made through another replica are not reported here, so the read model is loaded again
+ * every {@code ordertracker.orders.active.resync-interval}, and lags behind other replicas by at most
+ * that much. Orders changed here while it loads keep their state here, as the load may have missed
+ * the change; if every order was changed, by a deleted meal or customer, the load is dropped.
+ */
+@Component
+public class ActiveOrderProjection implements SmartLifecycle {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final OrderRepository orderRepository;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Int2ObjectOpenHashMap<ActiveOrder> orders = new Int2ObjectOpenHashMap<>();
+    private final int[] counts = new int[STATUSES.length];
+    private final IntOpenHashSet changedWhileLoading = new IntOpenHashSet();
+    private boolean loading;
+    private boolean allChangedWhileLoading;
+    private volatile long version;
+    private volatile boolean running;
+
+    @Autowired
+    public ActiveOrderProjection(OrderRepository orderRepository) {
+        this(orderRepository, Clock.systemUTC());
+    }
+
+    ActiveOrderProjection(OrderRepository orderRepository, Clock clock) {
+        this.orderRepository = orderRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Replaces the content with the active orders in the database, except for the orders changed
+     * here while they were loaded.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            allChangedWhileLoading = false;
+            changedWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Int2ObjectOpenHashMap<ActiveOrder> loaded;
+        try {
+            loaded = load();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                loading = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            if (allChangedWhileLoading) {
+                logger.info("Dropped the reload of the active orders, all of them changed meanwhile");
+                return;
+            }
+            for (int id : changedWhileLoading) {
+                ActiveOrder current = orders.get(id);
+                if (current != null) {
+                    loaded.put(id, current);
+                } else {
+                    loaded.remove(id);
+                }
+            }
+            orders.clear();
+            orders.putAll(loaded);
+            Arrays.fill(counts, 0);
+            for (ActiveOrder order : orders.values()) {
+                counts[order.status().ordinal()]++;
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Loaded {} active orders", loaded.size());
+    }
+
+    /**
+     * Loads the read model again to pick up the changes made through other replicas.
+     */
+    @Scheduled(fixedDelayString = "${ordertracker.orders.active.resync-interval:30s}",
+            initialDelayString = "${ordertracker.orders.active.resync-interval:30s}")
+    public void resync() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            logger.warn("Active orders not reloaded: {}", e.getMessage());
+        }
+    }
+
+    private Int2ObjectOpenHashMap<ActiveOrder> load() {
+        Int2ObjectOpenHashMap<ActiveOrder> loaded = new Int2ObjectOpenHashMap<>();
+        Instant now = clock.instant();
+        List<Object[]> rows = orderRepository.findOrderMealRowsByStatusNot(OrderStatus.READY);
+        IntArrayList mealIds = new IntArrayList();
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            if (row[3] != null) {
+                for (int portion = 0; portion < (Integer) row[4]; portion++) {
+                    mealIds.add((int) (Integer) row[3]);
+                }
+            }
+            boolean lastRowOfOrder = i + 1 == rows.size() || !rows.get(i + 1)[0].equals(row[0]);
+            if (lastRowOfOrder) {
+                int id = (Integer) row[0];
+                Instant statusSince = row[5] != null ? (Instant) row[5] : now;
+                loaded.put(id, new ActiveOrder(id, (Integer) row[1], mealIds.toIntArray(), (OrderStatus) row[2],
+                        statusSince));
+                mealIds.clear();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Number that changes whenever an order is added, changed or removed, so derived views can tell
+     * whether they are still current.
+     */
+    public long version() {
+        return version;
+    }
+
+    public Optional<ActiveOrder> get(int id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(orders.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Active orders, oldest first, only those in the given status unless it is {@code null}.
+     */
+    public List<ActiveOrder> getAll(OrderStatus status) {
+        List<ActiveOrder> result;
+        lock.readLock().lock();
+        try {
+            result = new ArrayList<>(status == null ? orders.size() : counts[status.ordinal()]);
+            for (ActiveOrder order : orders.values()) {
+                if (status == null || order.status() == status) {
+                    result.add(order);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(Comparator.comparingInt(ActiveOrder::id));
+        return result;
+    }
+
+    public int count(OrderStatus status) {
+        lock.readLock().lock();
+        try {
+            return counts[status.ordinal()];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<OrderStatus, Integer> counts() {
+        Map<OrderStatus, Integer> result = new EnumMap<>(OrderStatus.class);
+        lock.readLock().lock();
+        try {
+            for (OrderStatus status : STATUSES) {
+                if (status != OrderStatus.READY) {
+                    result.put(status, counts[status.ordinal()]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public void added(Order order) {
+        ActiveOrder snapshot = ActiveOrder.of(order, clock.instant());
+        afterCommit(() -> put(snapshot));
+    }
+
+    /**
+     * Records a status change. The order's meals are only read when it becomes active again, as it
+     * is not in the read model then.
+     */
+    public void statusChanged(Order order) {
+        int id = order.getId();
+        OrderStatus status = order.getStatus();
+        Instant now = clock.instant();
+        Instant since = order.getStatusChangedAt() != null ? order.getStatusChangedAt() : now;
+        ActiveOrder reactivated = status != OrderStatus.READY && get(id).isEmpty() ? ActiveOrder.of(order, now) : null;
+        afterCommit(() -> {
+            if (status == OrderStatus.READY) {
+                remove(id);
+            } else {
+                update(id, reactivated, current -> current.withStatus(status, since));
+            }
+        });
+    }
+
+    public void mealsAdded(int orderId, int... mealIds) {
+        afterCommit(() -> update(orderId, null, current -> current.withMeals(mealIds)));
+    }
+
+    public void mealRemoved(int orderId, int mealId) {
+        afterCommit(() -> update(orderId, null, current -> current.withoutMeal(mealId)));
+    }
+
+    public void mealQuantityChanged(int orderId, int mealId, int quantity) {
+        afterCommit(() -> update(orderId, null, current -> current.withMealQuantity(mealId, quantity)));
+    }
+
+    public void removed(int orderId) {
+        afterCommit(() -> remove(orderId));
+    }
+
+    /**
+     * Records that a meal was deleted, which takes it out of every order first.
+     */
+    public void mealDeleted(int mealId) {
+        afterCommit(() -> updateAll(current -> current.withoutAllMeals(mealId)));
+    }
+
+    /**
+     * Records that a customer was deleted along with their orders.
+     */
+    public void customerDeleted(int customerId) {
+        afterCommit(() -> updateAll(current -> current.customerId() == customerId ? null : current));
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before the web server, which is in one of the last phases, so no request sees the
+     * read model empty.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void put(ActiveOrder order) {
+        lock.writeLock().lock();
+        try {
+            replace(order.id(), orders.get(order.id()), order);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            replace(id, orders.get(id), null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the change to the order if it is active, otherwise adds {@code missing} if given.
+     */
+    private void update(int id, ActiveOrder missing, UnaryOperator<ActiveOrder> change) {
+        lock.writeLock().lock();
+        try {
+            ActiveOrder current = orders.get(id);
+            if (current != null) {
+                replace(id, current, change.apply(current));
+            } else if (missing != null) {
+                replace(id, null, missing);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void updateAll(UnaryOperator<ActiveOrder> change) {
+        lock.writeLock().lock();
+        try {
+            allChangedWhileLoading |= loading;
+            for (ActiveOrder current : new ArrayList<>(orders.values())) {
+                ActiveOrder changed = change.apply(current);
+                if (changed != current) {
+                    replace(current.id(), current, changed);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(int id, ActiveOrder previous, ActiveOrder next) {
+        if (loading) {
+            changedWhileLoading.add(id);
+        }
+        if (previous != null) {
+            counts[previous.status().ordinal()]--;
+        }
+        if (next == null || next.status() == OrderStatus.READY) {
+            orders.remove(id);
+        } else {
+            orders.put(id, next);
+            counts[next.status().ordinal()]++;
+        }
+        version++;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -1,30 +1,201 @@
 package ordertracker.apllication.components;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import ordertracker.apllication.config.LogTaskProperties;
+import ordertracker.apllication.jfr.LogTaskEvent;
 import ordertracker.core.models.LogTask;
-import org.springframework.scheduling.annotation.Async;
+import ordertracker.core.services.LogFileService;
+import ordertracker.core.services.LogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Worker of the log task queue. It claims the due tasks created on this node only while it has idle
+ * threads, renews their leases while they run and stops a task as soon as a renewal finds it
+ * cancelled. Leases are renewed on a thread of their own, so a slow job of the shared Spring
+ * scheduler cannot delay a renewal until the lease expires and the task is claimed again. The extracted file is compressed in memory and stored with the task, so it can be
+ * downloaded from any replica. On shutdown the running tasks are handed back to the queue.
+ */
 @Component
 public class AsyncExecutor {
-    @Async
-    public void processTaskAsync(LogTask task) {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final String nodeId;
+    private final LogService logService;
+    private final LogFileService logFileService;
+    private final LogTaskProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService heartbeat;
+    private final Map<String, RunningTask> running = new ConcurrentHashMap<>();
+    private final Timer queueWaitTimer;
+    private final Timer executionTimer;
+
+    public AsyncExecutor(LogService logService, LogFileService logFileService, LogTaskProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.logService = logService;
+        this.logFileService = logFileService;
+        this.properties = properties;
+        this.nodeId = logService.getNodeId();
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(),
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> new Thread(runnable, "log-task-" + threads.incrementAndGet()));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-task-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeatMillis = properties.getHeartbeatInterval().toMillis();
+        this.heartbeat.scheduleWithFixedDelay(this::renewLeases, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        new ExecutorServiceMetrics(executor, "log.tasks", Tags.empty()).bindTo(meterRegistry);
+        Gauge.builder("log.tasks.queued", logService, LogService::countQueuedTasks)
+                .description("Log tasks waiting for a worker across all replicas")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("log.tasks.queue.wait")
+                .description("Time log tasks waited for a worker")
+                .register(meterRegistry);
+        this.executionTimer = Timer.builder("log.tasks.execution")
+                .description("Running time of log task attempts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ordertracker.logs.tasks.poll-interval:1s}")
+    public void poll() {
+        int idle = properties.getPoolSize() - running.size();
+        if (idle <= 0 || executor.isShutdown()) {
+            return;
+        }
+        List<LogTask> claimed = logService.claimTasks(nodeId, idle);
+        for (LogTask task : claimed) {
+            queueWaitTimer.record(Duration.between(task.getCreatedAt(), task.getStartedAt()));
+            RunningTask runningTask = new RunningTask();
+            running.put(task.getId(), runningTask);
+            runningTask.future = executor.submit(() -> processTask(task, runningTask));
+        }
+    }
+
+    public void renewLeases() {
+        for (Map.Entry<String, RunningTask> entry : running.entrySet()) {
+            RunningTask task = entry.getValue();
+            boolean renewed;
+            try {
+                renewed = logService.renewLease(entry.getKey(), nodeId, task.progress);
+            } catch (RuntimeException e) {
+                logger.warn("Could not renew the lease of log task {}: {}", entry.getKey(), e.getMessage());
+                continue;
+            }
+            if (!renewed) {
+                logger.info("Log task {} was cancelled or taken over, stopping it", entry.getKey());
+                Future<?> future = task.future;
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    public void processTask(LogTask task, RunningTask runningTask) {
+        LogTaskEvent event = new LogTaskEvent();
+        event.begin();
+        String outcome = "CANCELLED";
+        long started = System.nanoTime();
         try {
-            task.setStatus("PROCESSING");
-            Thread.sleep(10000);
+            BoundedBuffer buffer = new BoundedBuffer(properties.getMaxFileSize().toBytes());
+            long entries;
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer, GZIP_BUFFER_SIZE)) {
+                entries = logFileService.export(task.getQuery(), out, progress -> runningTask.progress = progress);
+            }
+            event.entries = entries;
+            if (!Thread.currentThread().isInterrupted()
+                    && logService.completeTask(task.getId(), nodeId, entries, buffer.toByteArray())) {
+                outcome = "OK";
+            }
+        } catch (InterruptedIOException | ClosedByInterruptException e) {
+            // cancelled while exporting
+        } catch (IOException | RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            logger.error("Log task {} attempt {} failed: {}", task.getId(), task.getAttempts(), e.getMessage());
+            logService.failTask(task.getId(), nodeId, e.getMessage());
+        } finally {
+            executionTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            running.remove(task.getId());
+            event.end();
+            if (event.shouldCommit()) {
+                event.taskId = task.getId();
+                event.attempt = task.getAttempts();
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        heartbeat.shutdownNow();
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        logService.releaseTasks(nodeId);
+    }
 
-            Path filePath = Paths.get("logs_" + task.getId() + ".txt");
-            Files.write(filePath, ("Лог для " + task.getId()).getBytes());
+    /**
+     * Keeps the compressed file in memory up to the size that may be stored with the task.
+     */
+    private static final class BoundedBuffer extends ByteArrayOutputStream {
+
+        private final long limit;
+
+        private BoundedBuffer(long limit) {
+            this.limit = limit;
+        }
 
-            task.setFilePath(filePath);
-            task.setStatus("READY");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            task.setStatus("CANCELLED");
-        } catch (Exception e) {
-            task.setStatus("FAILED");
+        @Override
+        public void write(int b) {
+            ensureCapacity(1);
+            super.write(b);
         }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(len);
+            super.write(b, off, len);
+        }
+
+        private void ensureCapacity(int len) {
+            if (count + (long) len > limit) {
+                throw new IllegalStateException("Extracted file is larger than " + limit + " bytes compressed");
+            }
+        }
+    }
+
+    public static final class RunningTask {
+        private volatile Future<?> future;
+        private volatile int progress;
     }
 }
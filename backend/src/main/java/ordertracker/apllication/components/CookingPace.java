@@ -0,0 +1,131 @@
+package ordertracker.apllication.components;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import ordertracker.apllication.config.KitchenProperties;
+import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.models.Meal;
+import ordertracker.core.repositories.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * How fast the kitchen actually cooks compared to the meals' cooking times: an exponentially
+ * weighted moving average of observed over planned cooking time per ready order. The planned time
+ * of an order is its longest meal, as its meals cook side by side. Single observations are clamped
+ * to [{@value #MIN_SAMPLE}, {@value #MAX_SAMPLE}] so an order marked ready hours late moves the pace
+ * by a bounded step.
+ *
+ * <p>The average is learned from the cooking start and ready times stored with the orders, over the
+ * last {@link KitchenProperties#getPaceHistory()} ready orders, when the application starts and then
+ * every {@link KitchenProperties#getPaceReloadInterval()}. It survives restarts and every replica
+ * arrives at the same pace; in between, orders made ready on this instance move it right away.
+ */
+@Component
+public class CookingPace {
+
+    static final double MIN_SAMPLE = 0.25;
+    static final double MAX_SAMPLE = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final OrderRepository orderRepository;
+    private final MealMenuCache mealMenuCache;
+    private final double smoothing;
+    private final int history;
+    private final AtomicLong factorBits = new AtomicLong(Double.doubleToLongBits(1));
+
+    public CookingPace(OrderRepository orderRepository, MealMenuCache mealMenuCache, KitchenProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.mealMenuCache = mealMenuCache;
+        this.smoothing = Math.min(1, Math.max(0, properties.getPaceSmoothing()));
+        this.history = Math.max(1, properties.getPaceHistory());
+        Gauge.builder("kitchen.cooking.pace", this, CookingPace::factor)
+                .description("Observed cooking time per minute of planned cooking time")
+                .register(meterRegistry);
+    }
+
+    public double factor() {
+        return Double.longBitsToDouble(factorBits.get());
+    }
+
+    /**
+     * Records an order with the given portions that cooked from {@code cookingSince} until
+     * {@code readyAt}, once the current transaction commits, or now outside of one.
+     */
+    public void cooked(Instant cookingSince, Instant readyAt, int[] mealIds) {
+        Runnable record = () -> {
+            int planned = longestCookingTime(mealIds);
+            if (planned > 0) {
+                double sample = sample(Duration.between(cookingSince, readyAt), planned);
+                factorBits.updateAndGet(bits ->
+                        Double.doubleToLongBits(smoothed(Double.longBitsToDouble(bits), sample)));
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record.run();
+                }
+            });
+        } else {
+            record.run();
+        }
+    }
+
+    /**
+     * Learns the pace again from the ready orders in the database, oldest first.
+     */
+    @Scheduled(fixedDelayString = "${ordertracker.kitchen.pace-reload-interval:1m}")
+    public void reload() {
+        List<Object[]> rows;
+        try {
+            rows = orderRepository.findCookingTimesByStatus(OrderStatus.READY, PageRequest.of(0, history));
+        } catch (DataAccessException e) {
+            logger.warn("Cooking pace not reloaded, keeping {}: {}", factor(), e.getMessage());
+            return;
+        }
+        double factor = 1;
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            Object[] row = rows.get(i);
+            int planned = ((Number) row[2]).intValue();
+            if (planned > 0) {
+                factor = smoothed(factor, sample(Duration.between((Instant) row[0], (Instant) row[1]), planned));
+            }
+        }
+        factorBits.set(Double.doubleToLongBits(factor));
+    }
+
+    private int longestCookingTime(int[] mealIds) {
+        Map<Integer, Meal> meals = mealMenuCache.get().meals();
+        int longest = 0;
+        for (int mealId : mealIds) {
+            Meal meal = meals.get(mealId);
+            if (meal != null) {
+                longest = Math.max(longest, meal.getCookingTime());
+            }
+        }
+        return longest;
+    }
+
+    private double smoothed(double factor, double sample) {
+        return factor + smoothing * (sample - factor);
+    }
+
+    private static double sample(Duration observed, int plannedMinutes) {
+        return Math.min(MAX_SAMPLE, Math.max(MIN_SAMPLE, observed.toSeconds() / 60.0 / plannedMinutes));
+    }
+}
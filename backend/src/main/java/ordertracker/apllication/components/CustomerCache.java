@@ -0,0 +1,107 @@
+package ordertracker.apllication.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import ordertracker.apllication.config.CustomerCacheProperties;
+import ordertracker.core.models.CustomerSnapshot;
+import ordertracker.core.repositories.CustomerRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded cache of customer snapshots by id, with a secondary index from phone number to id.
+ * Lookups by phone always resolve through the id cache and check the phone number of the
+ * snapshot, so a stale index entry costs a database read but never returns the wrong customer.
+ * Snapshots only enter the cache through the loader of the id cache: a phone lookup that misses
+ * reads just the id by phone and loads the snapshot by id. Absent customers are not cached.
+ *
+ * <p>Writers call {@link #invalidate(int)}: the entry is dropped at once and, inside a
+ * transaction, again once it completes. A load started before the commit holds the entry's lock
+ * until it finishes, so the second invalidation always removes what it read.
+ *
+ * <p>Invalidation only reaches this replica. A customer changed or deleted on another one is served
+ * from here until the entry expires, after {@code ordertracker.cache.customers.ttl}. The cache is
+ * therefore only used for reads; writes that need the customer to exist check the database.
+ */
+@Component
+public class CustomerCache {
+
+    private final CustomerRepository customerRepository;
+    private final Cache<Integer, CustomerSnapshot> byId;
+    private final Cache<String, Integer> idByPhone;
+
+    public CustomerCache(CustomerRepository customerRepository, CustomerCacheProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.idByPhone = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        register(meterRegistry, byId, "customers.by-id");
+        register(meterRegistry, idByPhone, "customers.by-phone");
+    }
+
+    public Optional<CustomerSnapshot> getById(int id) {
+        return Optional.ofNullable(byId.get(id, this::load));
+    }
+
+    public Optional<CustomerSnapshot> getByPhoneNumber(String phoneNumber) {
+        Integer id = idByPhone.getIfPresent(phoneNumber);
+        if (id != null) {
+            CustomerSnapshot customer = byId.get(id, this::load);
+            if (customer != null && customer.phoneNumber().equals(phoneNumber)) {
+                return Optional.of(customer);
+            }
+            idByPhone.asMap().remove(phoneNumber, id);
+        }
+        return customerRepository.findIdByPhoneNumber(phoneNumber)
+                .map(found -> byId.get(found, this::load))
+                .filter(customer -> customer.phoneNumber().equals(phoneNumber));
+    }
+
+    public void invalidate(int id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    private CustomerSnapshot load(Integer id) {
+        CustomerSnapshot customer = customerRepository.findById(id).map(CustomerSnapshot::of).orElse(null);
+        if (customer != null) {
+            idByPhone.put(customer.phoneNumber(), id);
+        }
+        return customer;
+    }
+
+    private void evict(int id) {
+        CustomerSnapshot removed = byId.asMap().remove(id);
+        if (removed != null) {
+            idByPhone.asMap().remove(removed.phoneNumber(), id);
+        }
+    }
+
+    private static void register(MeterRegistry meterRegistry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, monitored -> monitored.stats().hitRate())
+                .tag("cache", name)
+                .description("Share of lookups answered from the cache")
+                .register(meterRegistry);
+    }
+}
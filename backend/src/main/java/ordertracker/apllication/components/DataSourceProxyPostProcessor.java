@@ -0,0 +1,55 @@
+package ordertracker.apllication.components;
+
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.listener.DataSourceQueryCountListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import ordertracker.apllication.config.QueryInspectionProperties;
+import ordertracker.apllication.config.ServerTimingProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the data source in a datasource-proxy when query inspection or request timing is enabled.
+ * The proxy counts statements per thread in {@link net.ttddyy.dsproxy.QueryCountHolder}, feeds the
+ * {@link RepeatedQueryDetector} when it is active and times statements and connection acquisition
+ * for {@link RequestTimings}. With both disabled, the data source is left untouched.
+ */
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryInspectionProperties> properties;
+    private final ObjectProvider<ServerTimingProperties> timingProperties;
+    private final ObjectProvider<RepeatedQueryDetector> repeatedQueryDetector;
+
+    public DataSourceProxyPostProcessor(ObjectProvider<QueryInspectionProperties> properties,
+                                        ObjectProvider<ServerTimingProperties> timingProperties,
+                                        ObjectProvider<RepeatedQueryDetector> repeatedQueryDetector) {
+        this.properties = properties;
+        this.timingProperties = timingProperties;
+        this.repeatedQueryDetector = repeatedQueryDetector;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        boolean inspection = properties.getObject().isEnabled();
+        boolean timing = timingProperties.getObject().isEnabled();
+        if (!inspection && !timing) {
+            return bean;
+        }
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+        if (inspection) {
+            builder.listener(new DataSourceQueryCountListener());
+            repeatedQueryDetector.ifAvailable(builder::listener);
+        }
+        if (timing) {
+            RequestTimingListener listener = new RequestTimingListener();
+            builder.listener(listener).methodListener(listener);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,151 @@
+package ordertracker.apllication.components;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import ordertracker.apllication.config.MealCacheProperties;
+import ordertracker.core.models.Meal;
+import ordertracker.core.models.MealMenu;
+import ordertracker.core.repositories.MealRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the meal list encoded as JSON, plain and gzip-compressed, so serving the menu needs
+ * neither the database nor Jackson. The meals themselves are kept along, for the kitchen plan. The
+ * encoding is tied to a catalog generation that every meal write bumps through
+ * {@link #invalidate()}; the next read after a bump encodes the list again.
+ *
+ * <p>A read that loads the meals while a writing transaction is still open may encode the old list
+ * under the bumped generation; the second bump once the transaction completes replaces it.
+ *
+ * <p>Writes through other replicas do not bump the generation here, so the list is also encoded
+ * again once it is older than {@link MealCacheProperties#getTtl()}. If it changed, the generation
+ * is bumped as well.
+ */
+@Component
+public class MealMenuCache {
+
+    private static final int ETAG_HASH_BYTES = 12;
+
+    private final MealRepository mealRepository;
+    private final ObjectMapper objectMapper;
+    private final MealCacheProperties properties;
+    private final Clock clock;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Encoded encoded;
+
+    @Autowired
+    public MealMenuCache(MealRepository mealRepository, ObjectMapper objectMapper, MealCacheProperties properties) {
+        this(mealRepository, objectMapper, properties, Clock.systemUTC());
+    }
+
+    MealMenuCache(MealRepository mealRepository, ObjectMapper objectMapper, MealCacheProperties properties,
+                  Clock clock) {
+        this.mealRepository = mealRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public MealMenu get() {
+        Encoded current = encoded;
+        long expected = generation.get();
+        if (isCurrent(current, expected)) {
+            return current.menu();
+        }
+        return encode(expected);
+    }
+
+    /**
+     * Catalog generation, bumped by every meal write, for callers that keep something derived from
+     * the meals themselves.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Encodes the menu for the given generation, once for all the readers that found it missing.
+     */
+    private synchronized MealMenu encode(long expected) {
+        Encoded current = encoded;
+        if (isCurrent(current, expected)) {
+            return current.menu();
+        }
+        Instant now = clock.instant();
+        List<Meal> meals = mealRepository.findAll();
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(meals);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode the meal menu", e);
+        }
+        String etag = etagOf(identity);
+        if (current != null && current.menu().generation() == expected && !current.menu().etag().equals(etag)) {
+            // changed through another replica
+            expected = generation.incrementAndGet();
+        }
+        byte[] gzip = gzip(identity);
+        Map<Integer, Meal> byId = new LinkedHashMap<>();
+        meals.forEach(meal -> byId.put(meal.getId(), meal));
+        MealMenu menu = new MealMenu(expected, etag, identity,
+                gzip.length < identity.length ? gzip : null, Collections.unmodifiableMap(byId));
+        encoded = new Encoded(menu, now.plus(properties.getTtl()));
+        return menu;
+    }
+
+    private boolean isCurrent(Encoded current, long expected) {
+        return current != null && current.menu().generation() == expected
+                && current.expiresAt().isAfter(clock.instant());
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String etagOf(byte[] data) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+            return "W/\"" + HexFormat.of().formatHex(hash, 0, ETAG_HASH_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Encoded(MealMenu menu, Instant expiresAt) {
+    }
+}
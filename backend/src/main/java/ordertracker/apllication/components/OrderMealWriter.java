@@ -0,0 +1,306 @@
+package ordertracker.apllication.components;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import ordertracker.apllication.config.OrderWriteProperties;
+import ordertracker.core.exceptions.BadRequestException;
+import ordertracker.core.models.Order;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Changes the meals of orders by writing the affected {@code order_lines} rows instead of saving
+ * the whole order, so concurrent changes to the same order can no longer overwrite each other. A
+ * change in the number of portions of a meal the order already has is a single-row update; a new
+ * line takes the meal's current price as its unit price.
+ *
+ * <p>Changes are queued on a stripe chosen by order id. Whichever caller gets the stripe's lock
+ * drains the queue and applies everything in it in one transaction: the orders are locked with
+ * {@code SELECT ... FOR UPDATE}, the changes are checked in arrival order against the meals that
+ * exist and the {@link Order#MAX_MEALS} limit on portions, and the resulting rows are written as JDBC
+ * batches.
+ * Callers that find their change applied by someone else return without touching the database.
+ * A change that fails its checks fails alone; a database error fails the whole batch. Orders on
+ * different stripes proceed in parallel, and the row lock keeps changes made by other instances
+ * serialized too.
+ *
+ * <p>A caller already inside a transaction applies its change alone in that transaction, so it
+ * commits or rolls back with the rest of the caller's work.
+ */
+@Component
+public class OrderMealWriter {
+
+    private static final String INSERT =
+            "INSERT INTO order_lines (order_id, meal_id, quantity, unit_price) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE order_lines SET quantity = ? WHERE order_id = ? AND meal_id = ?";
+    private static final String DELETE = "DELETE FROM order_lines WHERE order_id = ? AND meal_id = ?";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final Stripe[] stripes;
+    private final int maxBatchSize;
+
+    public OrderMealWriter(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                           OrderWriteProperties properties) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        int count = Integer.highestOneBit(Math.max(1, properties.getStripes() * 2 - 1));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+    }
+
+    /**
+     * Adds a portion of each meal to the order, two portions of a meal given twice.
+     *
+     * @throws EntityNotFoundException if the order or one of the meals does not exist
+     * @throws BadRequestException     if the order would end up with more than {@link Order#MAX_MEALS} meals
+     */
+    public void addMeals(int orderId, int... mealIds) {
+        submit(new Change(orderId, mealIds, Kind.ADD, 0));
+    }
+
+    /**
+     * Removes one portion of the meal from the order, if it has the meal at all.
+     *
+     * @throws EntityNotFoundException if the order or the meal does not exist
+     */
+    public void removeMeal(int orderId, int mealId) {
+        submit(new Change(orderId, new int[]{mealId}, Kind.REMOVE, 0));
+    }
+
+    /**
+     * Sets the number of portions of the meal in the order, removing its line at 0.
+     *
+     * @throws EntityNotFoundException if the order or the meal does not exist
+     * @throws BadRequestException     if the order would end up with more than {@link Order#MAX_MEALS} meals
+     */
+    public void setQuantity(int orderId, int mealId, int quantity) {
+        submit(new Change(orderId, new int[]{mealId}, Kind.SET, quantity));
+    }
+
+    private void submit(Change change) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            apply(List.of(change));
+        } else {
+            Stripe stripe = stripes[spread(change.orderId) & (stripes.length - 1)];
+            stripe.queue.add(change);
+            stripe.lock.lock();
+            try {
+                while (!change.done) {
+                    combine(stripe);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        if (change.failure != null) {
+            throw change.failure;
+        }
+    }
+
+    private void combine(Stripe stripe) {
+        List<Change> batch = new ArrayList<>();
+        Change next;
+        while (batch.size() < maxBatchSize && (next = stripe.queue.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(batch));
+        } catch (RuntimeException e) {
+            for (Change change : batch) {
+                change.failure = e;
+            }
+        } finally {
+            for (Change change : batch) {
+                change.done = true;
+            }
+        }
+    }
+
+    /**
+     * Checks the changes in arrival order and writes the difference they make to each order's
+     * lines. Runs in a transaction.
+     */
+    private void apply(List<Change> batch) {
+        Set<Integer> orderIds = new HashSet<>();
+        Set<Integer> mealIds = new HashSet<>();
+        for (Change change : batch) {
+            orderIds.add(change.orderId);
+            for (int mealId : change.mealIds) {
+                mealIds.add(mealId);
+            }
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("orderIds", orderIds)
+                .addValue("mealIds", mealIds);
+        Set<Integer> existingOrders = new HashSet<>(jdbc.queryForList(
+                "SELECT id FROM orders WHERE id IN (:orderIds) ORDER BY id FOR UPDATE", parameters, Integer.class));
+        Map<Integer, BigDecimal> prices = new HashMap<>();
+        if (!mealIds.isEmpty()) {
+            jdbc.query("SELECT id, price FROM meals WHERE id IN (:mealIds)", parameters, row -> {
+                prices.put(row.getInt(1), row.getBigDecimal(2));
+            });
+        }
+        Map<Integer, MealCounts> stored = new HashMap<>();
+        jdbc.query("SELECT order_id, meal_id, quantity FROM order_lines WHERE order_id IN (:orderIds)",
+                parameters, row -> {
+                    stored.computeIfAbsent(row.getInt(1), id -> new MealCounts()).add(row.getInt(2), row.getInt(3));
+                });
+
+        Map<Integer, MealCounts> updated = new HashMap<>();
+        for (Map.Entry<Integer, MealCounts> entry : stored.entrySet()) {
+            updated.put(entry.getKey(), entry.getValue().copy());
+        }
+        for (Change change : batch) {
+            change.failure = check(change, existingOrders, prices.keySet(), updated);
+            if (change.failure == null) {
+                MealCounts counts = updated.computeIfAbsent(change.orderId, id -> new MealCounts());
+                for (int mealId : change.mealIds) {
+                    switch (change.kind) {
+                        case ADD -> counts.add(mealId, 1);
+                        case SET -> counts.add(mealId, change.quantity - counts.get(mealId));
+                        case REMOVE -> {
+                            // Removing a meal the order does not have is a no-op
+                            if (counts.get(mealId) > 0) {
+                                counts.add(mealId, -1);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (Map.Entry<Integer, MealCounts> entry : updated.entrySet()) {
+            int orderId = entry.getKey();
+            MealCounts before = stored.getOrDefault(orderId, new MealCounts());
+            for (Int2IntMap.Entry meal : entry.getValue().byMeal.int2IntEntrySet()) {
+                int mealId = meal.getIntKey();
+                int count = meal.getIntValue();
+                int previous = before.get(mealId);
+                if (count == previous) {
+                    continue;
+                }
+                if (count == 0) {
+                    deletes.add(new Object[]{orderId, mealId});
+                } else if (previous == 0) {
+                    inserts.add(new Object[]{orderId, mealId, count, prices.get(mealId)});
+                } else {
+                    updates.add(new Object[]{count, orderId, mealId});
+                }
+            }
+        }
+        if (!deletes.isEmpty()) {
+            jdbc.getJdbcTemplate().batchUpdate(DELETE, deletes);
+        }
+        if (!updates.isEmpty()) {
+            jdbc.getJdbcTemplate().batchUpdate(UPDATE, updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbc.getJdbcTemplate().batchUpdate(INSERT, inserts);
+        }
+    }
+
+    private static RuntimeException check(Change change, Set<Integer> existingOrders, Set<Integer> existingMeals,
+                                          Map<Integer, MealCounts> counts) {
+        if (!existingOrders.contains(change.orderId)) {
+            return new EntityNotFoundException("Order not found with id: " + change.orderId);
+        }
+        for (int mealId : change.mealIds) {
+            if (!existingMeals.contains(mealId)) {
+                return new EntityNotFoundException("Meal not found with id: " + mealId);
+            }
+        }
+        if (change.kind == Kind.REMOVE) {
+            return null;
+        }
+        MealCounts current = counts.get(change.orderId);
+        int total = current == null ? 0 : current.total;
+        total += change.kind == Kind.ADD
+                ? change.mealIds.length
+                : change.quantity - (current == null ? 0 : current.get(change.mealIds[0]));
+        if (total > Order.MAX_MEALS) {
+            return new BadRequestException("Maximum " + Order.MAX_MEALS + " meals per order, order "
+                    + change.orderId + " would have " + total);
+        }
+        return null;
+    }
+
+    private static int spread(int orderId) {
+        int h = orderId * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Stripe {
+        final ConcurrentLinkedQueue<Change> queue = new ConcurrentLinkedQueue<>();
+        final ReentrantLock lock = new ReentrantLock();
+    }
+
+    private enum Kind {
+        ADD, REMOVE, SET
+    }
+
+    /**
+     * One caller's change. Written by the thread that applies it and read by the caller after it
+     * has taken the stripe's lock, which orders the two.
+     */
+    private static final class Change {
+        final int orderId;
+        final int[] mealIds;
+        final Kind kind;
+        final int quantity;
+        boolean done;
+        RuntimeException failure;
+
+        Change(int orderId, int[] mealIds, Kind kind, int quantity) {
+            this.orderId = orderId;
+            this.mealIds = mealIds;
+            this.kind = kind;
+            this.quantity = quantity;
+        }
+    }
+
+    private static final class MealCounts {
+        final Int2IntOpenHashMap byMeal = new Int2IntOpenHashMap();
+        int total;
+
+        int get(int mealId) {
+            return byMeal.get(mealId);
+        }
+
+        void add(int mealId, int count) {
+            byMeal.addTo(mealId, count);
+            total += count;
+        }
+
+        MealCounts copy() {
+            MealCounts copy = new MealCounts();
+            copy.byMeal.putAll(byMeal);
+            copy.total = total;
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ordertracker.apllication.components;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import ordertracker.apllication.config.QueryInspectionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Counts the statements each request executes by shape, the SQL with literals and IN lists
+ * collapsed, and logs the shapes executed more than the threshold once the request completes.
+ * Such repeats almost always come from loading an association per row instead of in one query.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ordertracker.jpa.query-inspection", name = "detect-repeated-queries",
+        havingValue = "true")
+public class RepeatedQueryDetector extends OncePerRequestFilter implements QueryExecutionListener {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_LOGGED_LENGTH = 300;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final int threshold;
+    private final ThreadLocal<Map<String, Integer>> shapes = new ThreadLocal<>();
+
+    public RepeatedQueryDetector(QueryInspectionProperties properties) {
+        this.threshold = properties.getRepeatThreshold();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        shapes.set(new HashMap<>());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Map<String, Integer> counts = shapes.get();
+            shapes.remove();
+            counts.forEach((shape, count) -> {
+                if (count > threshold) {
+                    logger.warn("Possible N+1 query in {} {}: {} executions of: {}", request.getMethod(),
+                            request.getRequestURI(), count, abbreviate(shape));
+                }
+            });
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Counted once executed
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Map<String, Integer> counts = shapes.get();
+        if (counts == null) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            counts.merge(shapeOf(query.getQuery()), 1, Integer::sum);
+        }
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private static String abbreviate(String shape) {
+        return shape.length() <= MAX_LOGGED_LENGTH ? shape : shape.substring(0, MAX_LOGGED_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,58 @@
+package ordertracker.apllication.components;
+
+import java.util.List;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Adds statement execution and connection acquisition time to the {@link RequestTimings} of the
+ * current request. Acquisition is the time {@code getConnection()} spends in the pool, which is
+ * where requests wait when the pool is exhausted.
+ */
+class RequestTimingListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String ACQUISITION_START = "requestTiming.acquisitionStart";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.statementStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.statementFinished(Math.max(1, queryInfoList.size()));
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext context) {
+        if (isConnectionAcquisition(context) && RequestTimings.current() != null) {
+            context.addCustomValue(ACQUISITION_START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext context) {
+        if (!isConnectionAcquisition(context)) {
+            return;
+        }
+        Long start = context.getCustomValue(ACQUISITION_START, Long.class);
+        RequestTimings timings = RequestTimings.current();
+        if (start != null && timings != null) {
+            timings.addConnectionAcquisition(System.nanoTime() - start);
+        }
+    }
+
+    private static boolean isConnectionAcquisition(MethodExecutionContext context) {
+        return context.getTarget() instanceof DataSource && "getConnection".equals(context.getMethod().getName());
+    }
+}
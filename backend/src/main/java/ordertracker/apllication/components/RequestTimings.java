@@ -0,0 +1,117 @@
+package ordertracker.apllication.components;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phase timings of the request handled by the current thread. The {@link ServerTimingFilter}
+ * opens them for the duration of a request; outside of it {@link #current()} returns
+ * {@code null} and the instrumented code skips its clock reads.
+ *
+ * <p>An instance is only touched by the request thread, so the counters are plain fields.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private long statementNanos;
+    private int statementCount;
+    private long statementStartNanos;
+    private long connectionNanos;
+    private int connectionCount;
+    private long handlerNanos;
+    private long aspectNanos;
+    private long serializationNanos;
+
+    private RequestTimings(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    static RequestTimings open() {
+        RequestTimings timings = new RequestTimings(System.nanoTime());
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    void statementStarted() {
+        statementStartNanos = System.nanoTime();
+    }
+
+    void statementFinished(int statements) {
+        statementNanos += System.nanoTime() - statementStartNanos;
+        statementCount += statements;
+    }
+
+    void addConnectionAcquisition(long nanos) {
+        connectionNanos += nanos;
+        connectionCount++;
+    }
+
+    public long handlerNanos() {
+        return handlerNanos;
+    }
+
+    public void addHandler(long nanos) {
+        handlerNanos += nanos;
+    }
+
+    public void addAspect(long nanos) {
+        aspectNanos += nanos;
+    }
+
+    void addSerialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    /**
+     * Renders the timings as a {@code Server-Timing} header value, durations in milliseconds.
+     * Whatever is not attributed to a measured phase, filters and dispatching mostly, is reported
+     * as {@code other}.
+     */
+    String toHeader() {
+        long total = System.nanoTime() - startNanos;
+        StringBuilder sb = new StringBuilder(160);
+        appendMetric(sb, "db", statementNanos).append(";desc=\"").append(statementCount).append(" statements\"");
+        appendMetric(sb.append(", "), "conn", connectionNanos)
+                .append(";desc=\"").append(connectionCount).append(" acquired\"");
+        appendMetric(sb.append(", "), "handler", handlerNanos);
+        appendMetric(sb.append(", "), "ser", serializationNanos);
+        appendMetric(sb.append(", "), "aspect", aspectNanos);
+        appendMetric(sb.append(", "), "other", otherNanos(total));
+        appendMetric(sb.append(", "), "total", total);
+        return sb.toString();
+    }
+
+    String toLogLine(String method, String uri, int status) {
+        long total = System.nanoTime() - startNanos;
+        return "request_timing method=" + method + " uri=" + uri + " status=" + status
+                + " total_us=" + micros(total)
+                + " db_statements=" + statementCount + " db_us=" + micros(statementNanos)
+                + " conn_acquired=" + connectionCount + " conn_wait_us=" + micros(connectionNanos)
+                + " handler_us=" + micros(handlerNanos)
+                + " ser_us=" + micros(serializationNanos)
+                + " aspect_us=" + micros(aspectNanos)
+                + " other_us=" + micros(otherNanos(total));
+    }
+
+    private long otherNanos(long total) {
+        return Math.max(0, total - handlerNanos - aspectNanos - serializationNanos);
+    }
+
+    private static StringBuilder appendMetric(StringBuilder sb, String name, long nanos) {
+        return sb.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,56 @@
+package ordertracker.apllication.components;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import ordertracker.apllication.config.ServerTimingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Opens the {@link RequestTimings} of each request and reports them once it completes. Runs first
+ * so the time spent in the other filters ends up in the total.
+ *
+ * <p>JSON responses get their {@code Server-Timing} header from {@link TimedJacksonHttpMessageConverter}
+ * right before the body is written, since the headers are committed with it. Other responses get
+ * it here if they are not committed yet.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "ordertracker.timing", name = "enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final boolean header;
+
+    public ServerTimingFilter(ServerTimingProperties properties) {
+        this.header = properties.isHeader();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTimings.close();
+            if (header && !response.isCommitted() && !response.containsHeader(HEADER)) {
+                response.setHeader(HEADER, timings.toHeader());
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug(timings.toLogLine(request.getMethod(), request.getRequestURI(), response.getStatus()));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ordertracker.apllication.components;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import ordertracker.apllication.config.ServerTimingProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces the default JSON converter while request timing is enabled. Within a timed request the
+ * body is serialized into a buffer first, so the serialization time is measured on its own and the
+ * {@code Server-Timing} header can still be added before the buffered body commits the response.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ordertracker.timing", name = "enabled", havingValue = "true")
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final boolean header;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, ServerTimingProperties properties) {
+        super(objectMapper);
+        this.header = properties.isHeader();
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        long start = System.nanoTime();
+        super.writeInternal(object, type, new BufferedOutputMessage(outputMessage.getHeaders(), buffer));
+        timings.addSerialization(System.nanoTime() - start);
+
+        if (header) {
+            outputMessage.getHeaders().set(ServerTimingFilter.HEADER, timings.toHeader());
+        }
+        buffer.writeTo(outputMessage.getBody());
+    }
+
+    private record BufferedOutputMessage(HttpHeaders headers, OutputStream body) implements HttpOutputMessage {
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+    }
+}
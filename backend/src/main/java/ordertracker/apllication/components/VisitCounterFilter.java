@@ -25,7 +25,9 @@ public class VisitCounterFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         String requestUri = httpRequest.getRequestURI();
 
-        visitCounterService.incrementCount(requestUri);
+        if (httpRequest.getAttribute(WarmupFilter.WARMUP_ATTRIBUTE) == null) {
+            visitCounterService.incrementCount(requestUri);
+        }
 
         chain.doFilter(request, response);
     }
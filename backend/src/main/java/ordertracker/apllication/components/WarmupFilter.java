@@ -0,0 +1,70 @@
+package ordertracker.apllication.components;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Recognizes the requests of the {@link WarmupRunner} by a token that is only valid while the
+ * warm-up runs. Their writes run in a transaction that is flushed, so the statements execute, and
+ * then rolled back; they are not counted as visits either.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class WarmupFilter extends OncePerRequestFilter {
+
+    public static final String TOKEN_HEADER = "X-Warmup-Token";
+    public static final String WARMUP_ATTRIBUTE = WarmupFilter.class.getName() + ".WARMUP";
+
+    private final PlatformTransactionManager transactionManager;
+    private volatile String token;
+
+    public WarmupFilter(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    String open() {
+        token = UUID.randomUUID().toString();
+        return token;
+    }
+
+    void close() {
+        token = null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String expected = token;
+        return expected == null || !expected.equals(request.getHeader(TOKEN_HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        request.setAttribute(WARMUP_ATTRIBUTE, Boolean.TRUE);
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        TransactionStatus status = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            chain.doFilter(request, response);
+            if (response.getStatus() < 400 && !status.isRollbackOnly()) {
+                status.flush();
+            }
+        } finally {
+            transactionManager.rollback(status);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package ordertracker.apllication.components;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import ordertracker.apllication.config.WarmupProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms the request paths up before readiness is reported. Application runners run after the web
+ * server has started but before the readiness state turns to ACCEPTING_TRAFFIC, so the probe keeps
+ * the instance out of the load balancer while the warm-up sends requests to it over loopback.
+ *
+ * <p>The requests go through the whole stack: Tomcat, the filters, Jackson, the controllers and
+ * services, Hibernate and the database. Writes are rolled back by the {@link WarmupFilter}. They use
+ * the first customer, its first order and the first meals found, so on an empty database only the
+ * reads and the customer and meal creation are warmed up.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final WarmupProperties properties;
+    private final WarmupFilter warmupFilter;
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final Timer warmupTimer;
+
+    public WarmupRunner(WarmupProperties properties, WarmupFilter warmupFilter, Environment environment,
+                        ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.warmupFilter = warmupFilter;
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.warmupTimer = Timer.builder("application.warmup")
+                .description("Time spent warming up before reporting readiness")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (!properties.isEnabled() || port == null) {
+            return;
+        }
+
+        logger.info("Warming up for at most {}{}", properties.getDuration(),
+                properties.getIterations() > 0 ? " or " + properties.getIterations() + " iterations" : "");
+        String token = warmupFilter.open();
+        long started = System.nanoTime();
+        Result result = new Result();
+        try {
+            warmUp(new Client(port, token), result);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Warm-up stopped early: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            warmupFilter.close();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        warmupTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        logger.info("Warm-up finished in {} ms: {} iterations, {} requests, {} failed",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), result.iterations, result.requests, result.failed);
+    }
+
+    private void warmUp(Client client, Result result) throws IOException, InterruptedException {
+        List<HttpRequest> requests = scenario(client);
+        long deadline = System.nanoTime() + properties.getDuration().toNanos();
+        int maxIterations = properties.getIterations() > 0 ? properties.getIterations() : Integer.MAX_VALUE;
+        while (result.iterations < maxIterations && System.nanoTime() < deadline) {
+            for (HttpRequest request : requests) {
+                if (client.send(request).statusCode() >= 400) {
+                    result.failed++;
+                }
+                result.requests++;
+            }
+            result.iterations++;
+        }
+    }
+
+    /**
+     * One round of reads and writes, with ids taken from the data already in the database.
+     */
+    private List<HttpRequest> scenario(Client client) throws IOException, InterruptedException {
+        List<HttpRequest> requests = new ArrayList<>();
+        requests.add(client.get("/api/meals"));
+        requests.add(client.get("/api/customers"));
+        requests.add(client.post("/api/customers", "{\"phoneNumber\":\"+375290000000\",\"name\":\"Warmup\"}"));
+        requests.add(client.post("/api/meals", "{\"name\":\"Warmup meal\",\"price\":1.00,\"cookingTime\":1}"));
+
+        List<Integer> mealIds = new ArrayList<>();
+        for (JsonNode meal : client.getJson("/api/meals")) {
+            if (mealIds.size() < 3) {
+                mealIds.add(meal.path("id").asInt());
+            }
+        }
+        JsonNode customers = client.getJson("/api/customers");
+        if (customers.isEmpty()) {
+            return requests;
+        }
+
+        int customerId = customers.get(0).path("id").asInt();
+        requests.add(client.get("/api/customers/" + customerId));
+        requests.add(client.get("/api/customers/" + customerId + "/orders"));
+        if (!mealIds.isEmpty()) {
+            requests.add(client.post("/api/customers/" + customerId + "/orders",
+                    objectMapper.writeValueAsString(Map.of("mealIds", mealIds))));
+        }
+        JsonNode orders = client.getJson("/api/customers/" + customerId + "/orders");
+        if (!orders.isEmpty()) {
+            JsonNode order = orders.get(0);
+            int orderId = order.path("id").asInt();
+            requests.add(client.get("/api/orders/" + orderId));
+            requests.add(client.put("/api/orders/" + orderId + "/status?status=" + order.path("status").asText()));
+            if (!mealIds.isEmpty()) {
+                requests.add(client.put("/api/orders/" + orderId + "/meals?mealId=" + mealIds.get(0)));
+            }
+        }
+        return requests;
+    }
+
+    private static final class Result {
+        private int iterations;
+        private long requests;
+        private long failed;
+    }
+
+    private final class Client {
+        private final HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        private final String baseUrl;
+        private final String token;
+
+        Client(int port, String token) {
+            this.baseUrl = "http://localhost:" + port;
+            this.token = token;
+        }
+
+        HttpRequest get(String path) {
+            return request(path).GET().build();
+        }
+
+        HttpRequest post(String path, String json) {
+            return request(path).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+        }
+
+        HttpRequest put(String path) {
+            return request(path).PUT(HttpRequest.BodyPublishers.noBody()).build();
+        }
+
+        HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+
+        JsonNode getJson(String path) throws IOException, InterruptedException {
+            HttpResponse<String> response = send(get(path));
+            if (response.statusCode() >= 400) {
+                throw new IOException("GET " + path + " returned " + response.statusCode());
+            }
+            return objectMapper.readTree(response.body());
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header(WarmupFilter.TOKEN_HEADER, token);
+        }
+    }
+}
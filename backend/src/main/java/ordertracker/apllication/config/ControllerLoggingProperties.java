@@ -0,0 +1,49 @@
+package ordertracker.apllication.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.logging.controllers")
+public class ControllerLoggingProperties {
+
+    public enum Mode {
+        /** Logs sampled calls and every slow call. */
+        ALL,
+        /** Logs only calls slower than {@code slowThreshold}. */
+        SLOW_ONLY,
+        /** Disables controller call logging; exceptions are still logged. */
+        OFF
+    }
+
+    private Mode mode = Mode.ALL;
+
+    /**
+     * Share of calls logged in {@link Mode#ALL} mode, from 0.0 to 1.0.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Sample rates per endpoint, keyed by {@code ControllerName.methodName}. Use the bracket
+     * notation in properties files: {@code sample-rates[OrderController.getAllOrders]=0.01}.
+     */
+    private Map<String, Double> sampleRates = new HashMap<>();
+
+    /**
+     * Calls slower than this are always logged, at WARN level.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * Maximum number of characters rendered for a single argument or result value.
+     */
+    private int maxValueLength = 200;
+
+    /**
+     * Maximum number of elements rendered for collections, maps and arrays.
+     */
+    private int maxItems = 3;
+}
@@ -0,0 +1,22 @@
+package ordertracker.apllication.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.cache.customers")
+public class CustomerCacheProperties {
+
+    /**
+     * Customers kept in memory; beyond it the least valuable entries by recency and frequency are
+     * evicted. 0 disables caching.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Time after which a cached customer is read from the database again. Invalidation is local, so
+     * this is how long a change or deletion made by another replica can stay invisible to reads here.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,49 @@
+package ordertracker.apllication.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.jfr")
+public class JfrProperties {
+
+    /**
+     * JDK configuration the recordings start from, {@code default} or {@code profile}.
+     */
+    private String baseConfiguration = "default";
+
+    /**
+     * Event settings applied on top of the base configuration.
+     */
+    private Resource configuration;
+
+    /**
+     * Directory recordings are dumped to.
+     */
+    private Path directory = Path.of("jfr");
+
+    /**
+     * Dump files kept in the directory; older ones are deleted after each dump.
+     */
+    private int maxDumps = 10;
+
+    /**
+     * Data older than this is dropped from a running recording.
+     */
+    private Duration maxAge = Duration.ofMinutes(30);
+
+    /**
+     * Data beyond this size is dropped from a running recording, oldest first.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    /**
+     * Starts a recording with the application, so the minutes before an incident can be dumped
+     * after the fact.
+     */
+    private boolean continuous = false;
+}
@@ -0,0 +1,55 @@
+package ordertracker.apllication.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.kitchen")
+public class KitchenProperties {
+
+    /**
+     * Stations that cook in parallel, each working on one batch at a time.
+     */
+    private int stations = 3;
+
+    /**
+     * Minutes of cooking time an accepted order is forgiven for every minute it has waited, so long
+     * orders still move up the queue while short ones keep arriving.
+     */
+    private double agingFactor = 0.5;
+
+    /**
+     * Most portions of the same meal cooked together in one batch.
+     */
+    private int maxBatchPortions = 4;
+
+    /**
+     * Weight of the latest completed order in the cooking pace, the running ratio of observed to
+     * planned cooking time that estimates are scaled by.
+     */
+    private double paceSmoothing = 0.2;
+
+    /**
+     * Most recent ready orders the cooking pace is learned from when it is loaded from the database.
+     */
+    private int paceHistory = 200;
+
+    /**
+     * How often the cooking pace is learned again from the ready orders in the database. Brings the
+     * replicas, which each only see their own status changes in between, back to the same pace.
+     */
+    private Duration paceReloadInterval = Duration.ofMinutes(1);
+
+    /**
+     * Longest time estimates are served from the same plan while no order or meal changes. Bounds
+     * how long waiting orders go without their aging credit being applied.
+     */
+    private Duration planTtl = Duration.ofSeconds(30);
+
+    /**
+     * How often the plan behind the estimates is checked, and made again in the background if an
+     * order or meal changed or it is older than {@link #planTtl}.
+     */
+    private Duration replanInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,43 @@
+package ordertracker.apllication.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.logging.tail")
+public class LogTailProperties {
+
+    /**
+     * Maximum number of clients following the log at the same time.
+     */
+    private int maxSubscribers = 32;
+
+    /**
+     * Log entries buffered per client. Entries arriving while the buffer is full are dropped and
+     * counted for that client only.
+     */
+    private int bufferSize = 1000;
+
+    /**
+     * Longest wait between two reads of the log file when no change notification arrives.
+     */
+    private Duration pollInterval = Duration.ofMillis(250);
+
+    /**
+     * Time without a new line after which the last entry is sent, as the next entry that would end it
+     * may be long in coming. A stack trace written in several parts stays in one entry as long as the
+     * parts are closer together than this.
+     */
+    private Duration entryTimeout = Duration.ofMillis(500);
+
+    /**
+     * Interval of the keep-alive comments sent to idle clients, which also detects closed connections.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Time after which a stream is closed; clients reconnect on their own.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
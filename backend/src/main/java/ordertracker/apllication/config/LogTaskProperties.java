@@ -0,0 +1,59 @@
+package ordertracker.apllication.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.logs.tasks")
+public class LogTaskProperties {
+
+    /**
+     * Number of log extraction tasks running at the same time.
+     */
+    private int poolSize = 2;
+
+    /**
+     * Tasks waiting for a free worker across all replicas. New tasks are rejected with 429 while
+     * the queue is full.
+     */
+    private int queueCapacity = 20;
+
+    /**
+     * Attempts of a task, counting runs whose node stopped renewing its lease.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Time a node owns a claimed task without renewing its lease.
+     */
+    private Duration leaseDuration = Duration.ofSeconds(30);
+
+    /**
+     * Delay between two lease renewals of the running tasks. Must be well below the lease duration.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(5);
+
+    /**
+     * Delay before a failed task is attempted again, multiplied by the number of attempts so far.
+     */
+    private Duration retryBackoff = Duration.ofSeconds(10);
+
+    /**
+     * Identifier of this replica in the log_tasks table. Tasks are run by the node they were created
+     * on, so it must be stable across restarts for the tasks of a restarted node to be resumed.
+     */
+    private String nodeId;
+
+    /**
+     * Largest compressed extracted file stored in the database. Larger extractions fail.
+     */
+    private DataSize maxFileSize = DataSize.ofMegabytes(32);
+
+    /**
+     * Time finished tasks and their files are kept before they are deleted. Tasks that no node
+     * picked up within this time are failed.
+     */
+    private Duration ttl = Duration.ofHours(1);
+}
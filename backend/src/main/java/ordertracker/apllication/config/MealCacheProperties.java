@@ -0,0 +1,16 @@
+package ordertracker.apllication.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.cache.meals")
+public class MealCacheProperties {
+
+    /**
+     * Time after which the encoded menu is read from the database again. Bounds how long a meal
+     * change made by another replica stays invisible here.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,20 @@
+package ordertracker.apllication.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.orders.writes")
+public class OrderWriteProperties {
+
+    /**
+     * Independent queues meal additions are spread over by order id. Additions to orders on
+     * different stripes never wait for each other. Rounded up to a power of two.
+     */
+    private int stripes = 64;
+
+    /**
+     * Most additions applied in one transaction by the thread that drains a stripe.
+     */
+    private int maxBatchSize = 128;
+}
@@ -0,0 +1,22 @@
+package ordertracker.apllication.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.jpa.query-inspection")
+public class QueryInspectionProperties {
+
+    /**
+     * Wraps the data source in a proxy that counts the executed statements per thread, by type.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Logs requests that execute the same statement shape more than {@code repeatThreshold} times,
+     * the usual sign of an N+1 query. Requires {@code enabled}.
+     */
+    private boolean detectRepeatedQueries = false;
+
+    private int repeatThreshold = 5;
+}
@@ -0,0 +1,22 @@
+package ordertracker.apllication.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.timing")
+public class ServerTimingProperties {
+
+    /**
+     * Measures the phases of each request: statements and connection acquisition through the
+     * data source proxy, controller, logging aspect and JSON serialization time. Disabled, none
+     * of the instrumentation is installed.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Sends the timings to the client in a {@code Server-Timing} header. They are logged at DEBUG
+     * level by {@code ServerTimingFilter} either way.
+     */
+    private boolean header = true;
+}
@@ -0,0 +1,26 @@
+package ordertracker.apllication.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.statistics.cluster")
+public class VisitCounterClusterProperties {
+
+    /**
+     * Publishes local visit counters to the shared visit_counters table and serves merged totals.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Identifier of this replica in the visit_counters table. Must be stable across restarts,
+     * otherwise the previous counts of the node are kept under the old id.
+     */
+    private String nodeId;
+
+    /**
+     * Delay between two synchronizations with the shared table.
+     */
+    private Duration syncInterval = Duration.ofSeconds(5);
+}
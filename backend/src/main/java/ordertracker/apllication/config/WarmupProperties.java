@@ -0,0 +1,26 @@
+package ordertracker.apllication.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ordertracker.warmup")
+public class WarmupProperties {
+
+    /**
+     * Sends synthetic traffic through the controllers after startup, before the application
+     * reports itself ready, so the JIT compiles the request paths before real traffic arrives.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Longest time the warm-up runs.
+     */
+    private Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * Rounds of requests after which the warm-up stops even before {@code duration}; 0 for no limit.
+     */
+    private int iterations = 0;
+}
@@ -0,0 +1,29 @@
+package ordertracker.apllication.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An attempt of a log extraction task by the {@code AsyncExecutor}.
+ */
+@Name("ordertracker.LogTask")
+@Label("Log Task")
+@Category({"OrderTracker", "Jobs"})
+@StackTrace(false)
+public class LogTaskEvent extends Event {
+
+    @Label("Task Id")
+    public String taskId;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Entries")
+    public long entries;
+
+    @Label("Outcome")
+    public String outcome;
+}
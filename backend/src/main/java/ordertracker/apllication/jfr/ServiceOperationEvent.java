@@ -0,0 +1,40 @@
+package ordertracker.apllication.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A call of a public method of the order, customer or meal service. Ids that the call does not
+ * involve are 0, since entity ids start at 1.
+ */
+@Name("ordertracker.ServiceOperation")
+@Label("Service Operation")
+@Category({"OrderTracker", "Service"})
+@Description("Business operation the JDBC, Hibernate and Tomcat work below it belongs to")
+@StackTrace(false)
+public class ServiceOperationEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Customer Id")
+    public int customerId;
+
+    @Label("Order Id")
+    public int orderId;
+
+    @Label("Meal Id")
+    public int mealId;
+
+    @Label("Meal Count")
+    @Description("Meals passed to or returned by the operation, -1 if it involves none")
+    public int mealCount = -1;
+
+    @Label("Outcome")
+    @Description("OK, or the simple name of the exception the operation threw")
+    public String outcome;
+}
@@ -0,0 +1,254 @@
+package ordertracker.apllication.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logback appender that hands events to a {@link LogRingBuffer} and writes them to the attached
+ * appenders from a dedicated thread, flushing once per batch instead of once per event.
+ *
+ * <p>When the buffer is full, events below {@code blockingLevel} are dropped and counted; events at
+ * or above it wait for free space, so errors are never lost. With {@code enabled=false} events are
+ * passed to the attached appenders on the calling thread, as without this appender.
+ */
+public class AsyncRingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder[] droppedByLevel = {new LongAdder(), new LongAdder(), new LongAdder(),
+            new LongAdder(), new LongAdder()};
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    private boolean enabled = true;
+    private int capacity = 8192;
+    private int batchSize = 256;
+    private Level blockingLevel = Level.ERROR;
+
+    private LogRingBuffer<ILoggingEvent> buffer;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile boolean writerParked;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (enabled) {
+            buffer = new LogRingBuffer<>(capacity);
+            disableImmediateFlush();
+            running = true;
+            writer = new Thread(this::drainLoop, "async-log-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        if (writer != null) {
+            running = false;
+            LockSupport.unpark(writer);
+            try {
+                writer.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!enabled) {
+            appenders.appendLoopOnAppenders(event);
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        if (!buffer.offer(event) && !waitOrDrop(event)) {
+            return;
+        }
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean waitOrDrop(ILoggingEvent event) {
+        if (!event.getLevel().isGreaterOrEqual(blockingLevel)) {
+            droppedByLevel[levelIndex(event.getLevel())].increment();
+            return false;
+        }
+        blocked.increment();
+        do {
+            if (!running) {
+                appenders.appendLoopOnAppenders(event);
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        } while (!buffer.offer(event));
+        return true;
+    }
+
+    private void drainLoop() {
+        ILoggingEvent[] batch = new ILoggingEvent[batchSize];
+        while (running || !buffer.isEmpty()) {
+            int count = buffer.drainTo(batch);
+            if (count == 0) {
+                writerParked = true;
+                if (running && buffer.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerParked = false;
+                continue;
+            }
+            for (int i = 0; i < count; i++) {
+                try {
+                    appenders.appendLoopOnAppenders(batch[i]);
+                } catch (RuntimeException e) {
+                    addError("Failed to write log event", e);
+                }
+                batch[i] = null;
+            }
+            written.add(count);
+            flush();
+        }
+        flush();
+    }
+
+    /**
+     * The writer thread is the only one writing to the attached appenders, so their streams can be
+     * flushed here without taking the appender lock.
+     */
+    private void flush() {
+        Iterator<Appender<ILoggingEvent>> iterator = appenders.iteratorForAppenders();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof OutputStreamAppender<ILoggingEvent> appender) {
+                OutputStream stream = appender.getOutputStream();
+                if (stream != null) {
+                    try {
+                        stream.flush();
+                    } catch (IOException e) {
+                        addError("Failed to flush " + appender.getName(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void disableImmediateFlush() {
+        Iterator<Appender<ILoggingEvent>> iterator = appenders.iteratorForAppenders();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof OutputStreamAppender<ILoggingEvent> appender) {
+                appender.setImmediateFlush(false);
+            }
+        }
+    }
+
+    private static int levelIndex(Level level) {
+        return switch (level.toInt()) {
+            case Level.TRACE_INT -> 0;
+            case Level.DEBUG_INT -> 1;
+            case Level.INFO_INT -> 2;
+            case Level.WARN_INT -> 3;
+            default -> 4;
+        };
+    }
+
+    public long getDroppedCount(Level level) {
+        return droppedByLevel[levelIndex(level)].sum();
+    }
+
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public int getQueuedCount() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return buffer == null ? capacity : buffer.capacity();
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void setBlockingLevel(String blockingLevel) {
+        this.blockingLevel = Level.toLevel(blockingLevel, Level.ERROR);
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
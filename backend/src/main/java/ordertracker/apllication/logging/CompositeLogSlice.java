@@ -0,0 +1,42 @@
+package ordertracker.apllication.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import ordertracker.core.models.LogSlice;
+
+/**
+ * Slices of several log files written one after another, such as a day spread over compressed
+ * segments and the live file.
+ */
+public record CompositeLogSlice(List<LogSlice> parts) implements LogSlice {
+
+    @Override
+    public long length() {
+        long length = 0;
+        for (LogSlice part : parts) {
+            length += part.length();
+        }
+        return length;
+    }
+
+    @Override
+    public void writeTo(OutputStream out, long offset, long count) throws IOException {
+        long skip = offset;
+        long remaining = count;
+        for (LogSlice part : parts) {
+            if (remaining <= 0) {
+                break;
+            }
+            long length = part.length();
+            if (skip >= length) {
+                skip -= length;
+                continue;
+            }
+            long written = Math.min(length - skip, remaining);
+            part.writeTo(out, skip, written);
+            remaining -= written;
+            skip = 0;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ordertracker.apllication.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import ordertracker.core.models.LogSlice;
+
+/**
+ * Byte range {@code [start, end)} of an uncompressed log file, copied with
+ * {@link FileChannel#transferTo} so the bytes go from the page cache to the target without passing
+ * through the heap when the target allows it.
+ */
+public record FileLogSlice(Path file, long start, long end) implements LogSlice {
+
+    @Override
+    public long length() {
+        return end - start;
+    }
+
+    @Override
+    public void writeTo(OutputStream out, long offset, long count) throws IOException {
+        long position = start + offset;
+        long last = Math.min(end, position + count);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            while (position < last) {
+                long transferred = channel.transferTo(position, last - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ordertracker.apllication.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import ordertracker.core.models.LogSlice;
+
+/**
+ * Uncompressed byte range {@code [start, end)} of a compressed log segment, decompressed while it
+ * is written.
+ */
+public record GzipLogSlice(LogSegmentManifest manifest, String name, long start, long end) implements LogSlice {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public long length() {
+        return end - start;
+    }
+
+    @Override
+    public void writeTo(OutputStream out, long offset, long count) throws IOException {
+        long remaining = Math.min(count, length() - offset);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = manifest.open(name, start + offset)) {
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+}
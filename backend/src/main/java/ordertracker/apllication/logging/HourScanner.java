@@ -0,0 +1,104 @@
+package ordertracker.apllication.logging;
+
+/**
+ * Finds the first entry of every hour in a stream of log bytes. Entries are recognized by the
+ * {@code yyyy-MM-ddTHH} prefix the log pattern starts with; other lines (stack traces, multi-line
+ * messages) belong to the entry above them.
+ */
+final class HourScanner {
+
+    private static final int KEY_LENGTH = 13;
+
+    private final byte[] prefix = new byte[KEY_LENGTH];
+    private final HourListener listener;
+    private int prefixLength;
+    private long position;
+    private long lineStart;
+    private long lastHour;
+
+    HourScanner(long position, long lastHour, HourListener listener) {
+        this.position = position;
+        this.lineStart = position;
+        this.lastHour = lastHour;
+        this.listener = listener;
+    }
+
+    void accept(byte[] bytes, int length) {
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[i];
+            if (b == '\n') {
+                long hour = prefixLength == KEY_LENGTH ? parseHour(prefix) : -1;
+                if (hour > lastHour) {
+                    listener.hour(hour, lineStart);
+                    lastHour = hour;
+                }
+                lineStart = position + i + 1;
+                prefixLength = 0;
+            } else if (prefixLength < KEY_LENGTH) {
+                prefix[prefixLength++] = b;
+            }
+        }
+        position += length;
+    }
+
+    /**
+     * Offset just past the last complete line.
+     */
+    long getCompleteLength() {
+        return lineStart;
+    }
+
+    /**
+     * Number of bytes seen, including a last line without line break.
+     */
+    long getLength() {
+        return position;
+    }
+
+    /**
+     * Reports an unterminated last line, which is complete at the end of a closed segment.
+     */
+    void finish() {
+        if (lineStart < position && prefixLength == KEY_LENGTH) {
+            long hour = parseHour(prefix);
+            if (hour > lastHour) {
+                listener.hour(hour, lineStart);
+                lastHour = hour;
+            }
+        }
+    }
+
+    /**
+     * Parses {@code yyyy-MM-ddTHH} into a sortable {@code yyyyMMddHH} key, or returns -1.
+     */
+    static long parseHour(byte[] prefix) {
+        long key = 0;
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            byte b = prefix[i];
+            switch (i) {
+                case 4, 7 -> {
+                    if (b != '-') {
+                        return -1;
+                    }
+                }
+                case 10 -> {
+                    if (b != 'T') {
+                        return -1;
+                    }
+                }
+                default -> {
+                    if (b < '0' || b > '9') {
+                        return -1;
+                    }
+                    key = key * 10 + (b - '0');
+                }
+            }
+        }
+        return key;
+    }
+
+    @FunctionalInterface
+    interface HourListener {
+        void hour(long hour, long offset);
+    }
+}
@@ -0,0 +1,191 @@
+package ordertracker.apllication.logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of a log file that maps every hour present in the file to the byte offset of its first
+ * entry, as found by {@link HourScanner}.
+ *
+ * <p>The index grows incrementally: {@link #refresh()} only scans the bytes appended since the
+ * previous call. It is kept in a sidecar file next to the log, so a restart does not rescan the
+ * whole log. A file that shrank or whose first bytes changed is treated as a new file.
+ */
+public class LogFileIndex {
+
+    private static final String HEADER = "# ordertracker log index v1";
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int FINGERPRINT_LENGTH = 256;
+    private static final long SAVE_EVERY_BYTES = 8L * 1024 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Path logFile;
+    private final Path indexFile;
+    private final NavigableMap<Long, Long> hourOffsets = new TreeMap<>();
+    private long indexedLength;
+    private long savedLength;
+    private long fingerprint;
+    private int fingerprintLength;
+    private boolean dirty;
+    private long generation;
+
+    public LogFileIndex(Path logFile) {
+        this.logFile = logFile;
+        this.indexFile = logFile.resolveSibling(logFile.getFileName() + ".idx");
+        load();
+    }
+
+    /**
+     * Indexes the bytes appended since the last call.
+     *
+     * @return length of the indexed part of the file, which always ends with a complete line
+     */
+    public synchronized long refresh() throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < indexedLength || (fingerprintLength > 0 && fingerprint(channel, fingerprintLength) != fingerprint)) {
+                reset();
+            }
+            if (fingerprintLength < FINGERPRINT_LENGTH && size > fingerprintLength) {
+                fingerprintLength = (int) Math.min(size, FINGERPRINT_LENGTH);
+                fingerprint = fingerprint(channel, fingerprintLength);
+                dirty = true;
+            }
+            if (size > indexedLength) {
+                scan(channel, size);
+            }
+        } catch (NoSuchFileException e) {
+            reset();
+            throw e;
+        }
+        if (dirty || indexedLength - savedLength >= SAVE_EVERY_BYTES) {
+            save();
+        }
+        return indexedLength;
+    }
+
+    /**
+     * Returns the hours overlapping {@code [from, to)} with the byte range of each; {@code null}
+     * bounds are open.
+     */
+    public synchronized List<LogSegment> segments(LocalDateTime from, LocalDateTime to) {
+        return LogSegment.overlapping(logFile.getFileName().toString(), false, generation,
+                hourOffsets, indexedLength, from, to);
+    }
+
+    public synchronized long getIndexedLength() {
+        return indexedLength;
+    }
+
+    public Path getLogFile() {
+        return logFile;
+    }
+
+    private void scan(FileChannel channel, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        long lastHour = hourOffsets.isEmpty() ? -1 : hourOffsets.lastKey();
+        HourScanner scanner = new HourScanner(indexedLength, lastHour, (hour, offset) -> {
+            hourOffsets.put(hour, offset);
+            dirty = true;
+        });
+        long position = indexedLength;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            scanner.accept(buffer.array(), read);
+            position += read;
+        }
+        indexedLength = scanner.getCompleteLength();
+    }
+
+    private static long fingerprint(FileChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+            // read until the buffer is full
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        return crc.getValue();
+    }
+
+    private void reset() {
+        generation++;
+        hourOffsets.clear();
+        indexedLength = 0;
+        savedLength = 0;
+        fingerprint = 0;
+        fingerprintLength = 0;
+        dirty = true;
+    }
+
+    private void load() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try {
+            List<String> lines = Files.readAllLines(indexFile, StandardCharsets.US_ASCII);
+            if (lines.size() < 3 || !HEADER.equals(lines.get(0))) {
+                return;
+            }
+            String[] state = lines.get(1).split(" ");
+            String[] head = lines.get(2).split(" ");
+            indexedLength = Long.parseLong(state[0]);
+            fingerprintLength = Integer.parseInt(head[0]);
+            fingerprint = Long.parseLong(head[1]);
+            for (String line : lines.subList(3, lines.size())) {
+                int separator = line.indexOf(' ');
+                hourOffsets.put(Long.parseLong(line.substring(0, separator)), Long.parseLong(line.substring(separator + 1)));
+            }
+            savedLength = indexedLength;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable log index {}: {}", indexFile, e.getMessage());
+            reset();
+        }
+    }
+
+    private void save() {
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.US_ASCII)) {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.write(Long.toString(indexedLength));
+            writer.newLine();
+            writer.write(fingerprintLength + " " + fingerprint);
+            writer.newLine();
+            for (Map.Entry<Long, Long> entry : hourOffsets.entrySet()) {
+                writer.write(entry.getKey() + " " + entry.getValue());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write log index {}: {}", indexFile, e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            savedLength = indexedLength;
+            dirty = false;
+        } catch (IOException e) {
+            logger.warn("Could not replace log index {}: {}", indexFile, e.getMessage());
+        }
+    }
+}
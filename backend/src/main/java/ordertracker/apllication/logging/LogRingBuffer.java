@@ -0,0 +1,93 @@
+package ordertracker.apllication.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ *
+ * <p>Every slot carries a sequence number. A producer claims a position with one CAS on the tail
+ * and publishes the element by advancing the sequence of its slot; the consumer reads a slot only
+ * once its sequence shows it as published, and releases it for the next lap afterwards. A full
+ * buffer is reported to the producer instead of waiting, so the caller decides whether to drop
+ * or retry.
+ */
+final class LogRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    LogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1) << 1);
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends an element, safe to call from any thread.
+     *
+     * @return {@code false} if the buffer is full
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code batch.length} published elements into {@code batch}. Must only be called
+     * from the consumer thread.
+     *
+     * @return number of elements moved
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(E[] batch) {
+        long position = head;
+        int count = 0;
+        while (count < batch.length) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            batch[count++] = (E) elements[index];
+            elements[index] = null;
+            sequences.set(index, position + mask + 1);
+            position++;
+        }
+        head = position;
+        return count;
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,52 @@
+package ordertracker.apllication.logging;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Entries of one hour of a log file: uncompressed bytes {@code [start, end)} of {@code source}, the
+ * name of the live log file or of a compressed segment. The generation changes when a file with
+ * the same name is replaced, so segments of different files never compare equal.
+ */
+public record LogSegment(String source, boolean compressed, long generation, long hour, long start, long end) {
+
+    public long length() {
+        return end - start;
+    }
+
+    /**
+     * Returns the hours of a file overlapping {@code [from, to)}; {@code null} bounds are open.
+     *
+     * @param hourOffsets offset of the first entry of every hour of the file, by {@code yyyyMMddHH} key
+     * @param length      length of the file, the end of its last hour
+     */
+    static List<LogSegment> overlapping(String source, boolean compressed, long generation,
+                                        NavigableMap<Long, Long> hourOffsets, long length,
+                                        LocalDateTime from, LocalDateTime to) {
+        NavigableMap<Long, Long> hours = hourOffsets;
+        if (from != null) {
+            hours = hours.tailMap(hourKey(from), true);
+        }
+        if (to != null) {
+            boolean onHour = to.getMinute() == 0 && to.getSecond() == 0 && to.getNano() == 0;
+            hours = hours.headMap(hourKey(to), !onHour);
+        }
+        List<LogSegment> segments = new ArrayList<>(hours.size());
+        for (Map.Entry<Long, Long> entry : hours.entrySet()) {
+            Long next = hourOffsets.higherKey(entry.getKey());
+            long end = next == null ? length : hourOffsets.get(next);
+            if (end > entry.getValue()) {
+                segments.add(new LogSegment(source, compressed, generation, entry.getKey(), entry.getValue(), end));
+            }
+        }
+        return segments;
+    }
+
+    static long hourKey(LocalDateTime time) {
+        return time.getYear() * 1_000_000L + time.getMonthValue() * 10_000L
+                + time.getDayOfMonth() * 100L + time.getHour();
+    }
+}
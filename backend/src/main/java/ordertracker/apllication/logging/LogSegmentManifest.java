@@ -0,0 +1,232 @@
+package ordertracker.apllication.logging;
+
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Manifest of the compressed segments the log file is rolled into
+ * ({@code <log>.yyyy-MM-dd.N.gz}). For every segment it records the hours it holds and their
+ * uncompressed byte offsets, so a query for a time range only opens the segments overlapping it
+ * and knows the size of the slice before decompressing anything.
+ *
+ * <p>Segments are scanned once, when they first appear, and the result is kept in a sidecar file
+ * next to the log. Segments deleted by the rolling policy are dropped on the next refresh.
+ */
+public class LogSegmentManifest {
+
+    private static final String HEADER = "# ordertracker log segments v1";
+    private static final Pattern SEGMENT_INDEX = Pattern.compile("\\.(\\d+)\\.gz$");
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Path directory;
+    private final String glob;
+    private final Path manifestFile;
+    private final Map<String, Segment> segments = new HashMap<>();
+    private List<Segment> ordered = List.of();
+
+    public LogSegmentManifest(Path logFile) {
+        Path parent = logFile.toAbsolutePath().getParent();
+        this.directory = parent;
+        this.glob = escapeGlob(logFile.getFileName().toString()) + ".*.gz";
+        this.manifestFile = logFile.resolveSibling(logFile.getFileName() + ".segments");
+        load();
+    }
+
+    /**
+     * Adds segments that appeared since the last call and forgets deleted ones.
+     */
+    public synchronized void refresh() throws IOException {
+        Map<String, Long> present = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : files) {
+                present.put(file.getFileName().toString(), Files.size(file));
+            }
+        } catch (NoSuchFileException e) {
+            present.clear();
+        }
+
+        boolean changed = segments.keySet().retainAll(present.keySet());
+        for (Map.Entry<String, Long> file : present.entrySet()) {
+            Segment known = segments.get(file.getKey());
+            if (known != null && known.compressedSize() == file.getValue()) {
+                continue;
+            }
+            Segment scanned = scan(file.getKey(), file.getValue());
+            if (scanned != null) {
+                segments.put(scanned.name(), scanned);
+                changed = true;
+            }
+        }
+        if (changed) {
+            ordered = segments.values().stream()
+                    .sorted(Comparator.comparingLong(Segment::firstHour).thenComparingInt(Segment::index))
+                    .toList();
+            save();
+        }
+    }
+
+    /**
+     * Returns the hours of all segments overlapping {@code [from, to)}, oldest segment first;
+     * {@code null} bounds are open.
+     */
+    public synchronized List<LogSegment> segments(LocalDateTime from, LocalDateTime to) {
+        List<LogSegment> result = new ArrayList<>();
+        for (Segment segment : ordered) {
+            result.addAll(LogSegment.overlapping(segment.name(), true, segment.compressedSize(),
+                    segment.hours(), segment.length(), from, to));
+        }
+        return result;
+    }
+
+    public Path resolve(String name) {
+        return directory.resolve(name);
+    }
+
+    /**
+     * Reads the uncompressed bytes of a segment hour.
+     */
+    public byte[] read(LogSegment segment) throws IOException {
+        try (InputStream in = open(segment.source(), segment.start())) {
+            return in.readNBytes(Math.toIntExact(segment.length()));
+        }
+    }
+
+    /**
+     * Opens a compressed segment positioned at uncompressed offset {@code offset}.
+     */
+    public InputStream open(String name, long offset) throws IOException {
+        InputStream in = new GZIPInputStream(Files.newInputStream(resolve(name)), CHUNK_SIZE);
+        try {
+            in.skipNBytes(offset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return in;
+    }
+
+    /**
+     * Scans a segment for its hours, or returns {@code null} if it cannot be read yet, which is the
+     * case while the rolling policy is still compressing it.
+     */
+    private Segment scan(String name, long compressedSize) {
+        NavigableMap<Long, Long> hours = new TreeMap<>();
+        HourScanner scanner = new HourScanner(0, -1, hours::put);
+        byte[] buffer = new byte[CHUNK_SIZE];
+        try (InputStream in = open(name, 0)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                scanner.accept(buffer, read);
+            }
+        } catch (EOFException | ZipException e) {
+            logger.debug("Skipping incomplete log segment {}: {}", name, e.getMessage());
+            return null;
+        } catch (IOException e) {
+            logger.warn("Could not read log segment {}: {}", name, e.getMessage());
+            return null;
+        }
+        scanner.finish();
+        if (hours.isEmpty()) {
+            return null;
+        }
+        return new Segment(name, compressedSize, scanner.getLength(), indexOf(name), hours);
+    }
+
+    private void load() {
+        if (!Files.exists(manifestFile)) {
+            return;
+        }
+        try {
+            List<String> lines = Files.readAllLines(manifestFile, StandardCharsets.US_ASCII);
+            if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+                return;
+            }
+            for (String line : lines.subList(1, lines.size())) {
+                String[] fields = line.split(" ");
+                NavigableMap<Long, Long> hours = new TreeMap<>();
+                for (String hour : fields[3].split(",")) {
+                    int separator = hour.indexOf(':');
+                    hours.put(Long.parseLong(hour.substring(0, separator)), Long.parseLong(hour.substring(separator + 1)));
+                }
+                segments.put(fields[0], new Segment(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                        indexOf(fields[0]), hours));
+            }
+            ordered = segments.values().stream()
+                    .sorted(Comparator.comparingLong(Segment::firstHour).thenComparingInt(Segment::index))
+                    .toList();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable log segment manifest {}: {}", manifestFile, e.getMessage());
+            segments.clear();
+            ordered = List.of();
+        }
+    }
+
+    private void save() {
+        Path temp = manifestFile.resolveSibling(manifestFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.US_ASCII)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Segment segment : ordered) {
+                StringBuilder hours = new StringBuilder();
+                for (Map.Entry<Long, Long> hour : segment.hours().entrySet()) {
+                    if (!hours.isEmpty()) {
+                        hours.append(',');
+                    }
+                    hours.append(hour.getKey()).append(':').append(hour.getValue());
+                }
+                writer.write(segment.name() + " " + segment.compressedSize() + " " + segment.length() + " " + hours);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write log segment manifest {}: {}", manifestFile, e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not replace log segment manifest {}: {}", manifestFile, e.getMessage());
+        }
+    }
+
+    private static int indexOf(String name) {
+        Matcher matcher = SEGMENT_INDEX.matcher(name);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    private static String escapeGlob(String name) {
+        return name.replaceAll("([\\\\*?\\[\\]{}])", "\\\\$1");
+    }
+
+    /**
+     * Compressed segment: its size on disk, uncompressed length and first entry offset of every hour.
+     */
+    private record Segment(String name, long compressedSize, long length, int index, NavigableMap<Long, Long> hours) {
+        long firstHour() {
+            return hours.firstKey();
+        }
+    }
+}
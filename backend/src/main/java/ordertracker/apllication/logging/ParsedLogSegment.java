@@ -0,0 +1,330 @@
+package ordertracker.apllication.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entries of one log segment parsed into columns: one array per field, indexed by entry number,
+ * over the raw bytes of the segment. Filters on time, level and logger read the columns only;
+ * messages are decoded just for the entries that reach the message filter or the response.
+ *
+ * <p>Entries start with the {@code yyyy-MM-ddTHH:mm:ss.SSS} timestamp of the log pattern, followed
+ * by the level and, after the thread, {@code logger : message}. Lines without a timestamp are
+ * continuation lines of the entry above. Timestamps are kept as wall-clock milliseconds, the time
+ * written in the file read as UTC, to match the hours of {@link LogFileIndex}.
+ */
+public class ParsedLogSegment {
+
+    public static final List<String> LEVELS = List.of("TRACE", "DEBUG", "INFO", "WARN", "ERROR");
+
+    private static final int TIMESTAMP_LENGTH = 23;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final long start;
+    private final byte[] data;
+    private final int size;
+    private final int[] entryOffsets;
+    private final int[] messageOffsets;
+    private final long[] timestamps;
+    private final byte[] levels;
+    private final int[] loggerIds;
+    private final String[] loggerNames;
+
+    private ParsedLogSegment(long start, byte[] data, int size, int[] entryOffsets, int[] messageOffsets,
+                             long[] timestamps, byte[] levels, int[] loggerIds, String[] loggerNames) {
+        this.start = start;
+        this.data = data;
+        this.size = size;
+        this.entryOffsets = entryOffsets;
+        this.messageOffsets = messageOffsets;
+        this.timestamps = timestamps;
+        this.levels = levels;
+        this.loggerIds = loggerIds;
+        this.loggerNames = loggerNames;
+    }
+
+    /**
+     * Parses the bytes of a segment that starts at file offset {@code start}.
+     */
+    public static ParsedLogSegment parse(long start, byte[] data) {
+        int capacity = INITIAL_CAPACITY;
+        int[] entryOffsets = new int[capacity + 1];
+        int[] messageOffsets = new int[capacity];
+        long[] timestamps = new long[capacity];
+        byte[] levels = new byte[capacity];
+        int[] loggerIds = new int[capacity];
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> loggerNames = new ArrayList<>();
+        DayCache days = new DayCache();
+
+        int size = 0;
+        int lineStart = 0;
+        while (lineStart < data.length) {
+            int lineEnd = indexOf(data, (byte) '\n', lineStart, data.length);
+            if (lineEnd < 0) {
+                lineEnd = data.length;
+            }
+            long timestamp = parseTimestamp(data, lineStart, lineEnd, days);
+            if (timestamp != Long.MIN_VALUE) {
+                if (size == capacity) {
+                    capacity *= 2;
+                    entryOffsets = Arrays.copyOf(entryOffsets, capacity + 1);
+                    messageOffsets = Arrays.copyOf(messageOffsets, capacity);
+                    timestamps = Arrays.copyOf(timestamps, capacity);
+                    levels = Arrays.copyOf(levels, capacity);
+                    loggerIds = Arrays.copyOf(loggerIds, capacity);
+                }
+                entryOffsets[size] = lineStart;
+                timestamps[size] = timestamp;
+                parseHeader(data, lineStart, lineEnd, size, messageOffsets, levels, loggerIds, dictionary, loggerNames);
+                size++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        entryOffsets[size] = data.length;
+        return new ParsedLogSegment(start, data, size,
+                Arrays.copyOf(entryOffsets, size + 1), Arrays.copyOf(messageOffsets, size),
+                Arrays.copyOf(timestamps, size), Arrays.copyOf(levels, size), Arrays.copyOf(loggerIds, size),
+                loggerNames.toArray(String[]::new));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * File offset of the first byte of the segment.
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * File offset just past the last byte of the segment.
+     */
+    public long getEnd() {
+        return start + data.length;
+    }
+
+    /**
+     * Approximate heap used by the segment, for cache accounting.
+     */
+    public long getRetainedBytes() {
+        return data.length + (long) size * (4 + 4 + 8 + 1 + 4);
+    }
+
+    /**
+     * Returns the number of the first entry starting at or after file offset {@code offset}.
+     */
+    public int firstEntryAtOrAfter(long offset) {
+        long relative = offset - start;
+        if (relative <= 0) {
+            return 0;
+        }
+        if (relative > Integer.MAX_VALUE) {
+            return size;
+        }
+        int index = Arrays.binarySearch(entryOffsets, 0, size, (int) relative);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public long getOffset(int entry) {
+        return start + entryOffsets[entry];
+    }
+
+    public long getTimestamp(int entry) {
+        return timestamps[entry];
+    }
+
+    /**
+     * Index of the entry level in {@link #LEVELS}, or -1 if it could not be read.
+     */
+    public int getLevel(int entry) {
+        return levels[entry];
+    }
+
+    /**
+     * Dictionary id of the entry logger, or -1 if it could not be read.
+     */
+    public int getLoggerId(int entry) {
+        return loggerIds[entry];
+    }
+
+    public String[] getLoggerNames() {
+        return loggerNames;
+    }
+
+    public String getLogger(int entry) {
+        return loggerIds[entry] < 0 ? null : loggerNames[loggerIds[entry]];
+    }
+
+    public String getTimestampText(int entry) {
+        int from = entryOffsets[entry];
+        int to = indexOf(data, (byte) ' ', from, entryOffsets[entry + 1]);
+        return new String(data, from, (to < 0 ? entryOffsets[entry + 1] : to) - from, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Message of the entry including its continuation lines, without the final line break.
+     */
+    public String getMessage(int entry) {
+        int from = messageOffsets[entry];
+        int to = entryOffsets[entry + 1];
+        if (to > from && data[to - 1] == '\n') {
+            to--;
+        }
+        return new String(data, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the entry as it appears in the log, line break included.
+     */
+    public void writeEntry(int entry, OutputStream out) throws IOException {
+        out.write(data, entryOffsets[entry], entryOffsets[entry + 1] - entryOffsets[entry]);
+    }
+
+    private static void parseHeader(byte[] data, int lineStart, int lineEnd, int entry, int[] messageOffsets,
+                                    byte[] levels, int[] loggerIds, Map<String, Integer> dictionary,
+                                    List<String> loggerNames) {
+        int position = indexOf(data, (byte) ' ', lineStart + TIMESTAMP_LENGTH, lineEnd);
+        if (position < 0) {
+            levels[entry] = -1;
+            loggerIds[entry] = -1;
+            messageOffsets[entry] = lineEnd;
+            return;
+        }
+        while (position < lineEnd && data[position] == ' ') {
+            position++;
+        }
+        int levelEnd = indexOf(data, (byte) ' ', position, lineEnd);
+        if (levelEnd < 0) {
+            levelEnd = lineEnd;
+        }
+        levels[entry] = parseLevel(data, position, levelEnd);
+
+        int separator = indexOfSeparator(data, levelEnd, lineEnd);
+        if (separator < 0) {
+            loggerIds[entry] = -1;
+            messageOffsets[entry] = Math.min(levelEnd + 1, lineEnd);
+            return;
+        }
+        int loggerEnd = separator;
+        while (loggerEnd > levelEnd && data[loggerEnd - 1] == ' ') {
+            loggerEnd--;
+        }
+        int loggerStart = loggerEnd;
+        while (loggerStart > levelEnd && data[loggerStart - 1] != ' ' && data[loggerStart - 1] != ']') {
+            loggerStart--;
+        }
+        String logger = new String(data, loggerStart, loggerEnd - loggerStart, StandardCharsets.US_ASCII);
+        loggerIds[entry] = dictionary.computeIfAbsent(logger, name -> {
+            loggerNames.add(name);
+            return loggerNames.size() - 1;
+        });
+        messageOffsets[entry] = Math.min(separator + 3, lineEnd);
+    }
+
+    private static byte parseLevel(byte[] data, int from, int to) {
+        for (int level = 0; level < LEVELS.size(); level++) {
+            String name = LEVELS.get(level);
+            if (name.length() == to - from && matches(data, from, name)) {
+                return (byte) level;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(byte[] data, int from, String ascii) {
+        for (int i = 0; i < ascii.length(); i++) {
+            if (data[from + i] != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses {@code yyyy-MM-ddTHH:mm:ss.SSS} at the start of a line into wall-clock milliseconds, or
+     * returns {@link Long#MIN_VALUE} if the line does not start with a timestamp.
+     */
+    static long parseTimestamp(byte[] data, int from, int to, DayCache days) {
+        if (to - from < TIMESTAMP_LENGTH) {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(data, from, 4);
+        int month = digits(data, from + 5, 2);
+        int day = digits(data, from + 8, 2);
+        int hour = digits(data, from + 11, 2);
+        int minute = digits(data, from + 14, 2);
+        int second = digits(data, from + 17, 2);
+        int millis = digits(data, from + 20, 3);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || minute < 0 || second < 0
+                || millis < 0 || data[from + 4] != '-' || data[from + 7] != '-' || data[from + 10] != 'T'
+                || data[from + 13] != ':' || data[from + 16] != ':' || data[from + 19] != '.') {
+            return Long.MIN_VALUE;
+        }
+        long epochDay = days.epochDay(year, month, day);
+        if (epochDay == Long.MIN_VALUE) {
+            return Long.MIN_VALUE;
+        }
+        return ((epochDay * 24 + hour) * 60 + minute) * 60_000L + second * 1000L + millis;
+    }
+
+    private static int digits(byte[] data, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            byte b = data[i];
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static int indexOf(byte[] data, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfSeparator(byte[] data, int from, int to) {
+        for (int i = from; i + 1 < to; i++) {
+            if (data[i] == ' ' && data[i + 1] == ':' && (i + 2 == to || data[i + 2] == ' ')) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Remembers the epoch day of the last date seen; consecutive entries almost always share it.
+     */
+    static final class DayCache {
+        private int lastDate = -1;
+        private long lastEpochDay;
+
+        long epochDay(int year, int month, int day) {
+            int date = (year * 100 + month) * 100 + day;
+            if (date != lastDate) {
+                try {
+                    lastEpochDay = LocalDate.of(year, month, day).toEpochDay();
+                } catch (RuntimeException e) {
+                    return Long.MIN_VALUE;
+                }
+                lastDate = date;
+            }
+            return lastEpochDay;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ordertracker.apllication.logging;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of parsed log segments bounded by their retained size. A cached
+ * segment is reused only while its byte range is unchanged; the hour still being written grows
+ * and is parsed again on the next query that reaches it.
+ */
+public class ParsedSegmentCache {
+
+    private final long maxBytes;
+    private final Map<Key, ParsedLogSegment> segments = new LinkedHashMap<>(16, 0.75f, true);
+    private long retainedBytes;
+
+    public ParsedSegmentCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public ParsedLogSegment get(LogSegment segment, SegmentReader reader) throws IOException {
+        Key key = new Key(segment.source(), segment.generation(), segment.start());
+        synchronized (this) {
+            ParsedLogSegment cached = segments.get(key);
+            if (cached != null && cached.getEnd() == segment.end()) {
+                return cached;
+            }
+        }
+        ParsedLogSegment parsed = ParsedLogSegment.parse(segment.start(), reader.read(segment));
+        synchronized (this) {
+            ParsedLogSegment previous = segments.put(key, parsed);
+            if (previous != null) {
+                retainedBytes -= previous.getRetainedBytes();
+            }
+            retainedBytes += parsed.getRetainedBytes();
+            evict(key);
+        }
+        return parsed;
+    }
+
+    public synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    private void evict(Key keep) {
+        Iterator<Map.Entry<Key, ParsedLogSegment>> iterator = segments.entrySet().iterator();
+        while (retainedBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Key, ParsedLogSegment> entry = iterator.next();
+            if (!entry.getKey().equals(keep)) {
+                retainedBytes -= entry.getValue().getRetainedBytes();
+                iterator.remove();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface SegmentReader {
+        byte[] read(LogSegment segment) throws IOException;
+    }
+
+    private record Key(String source, long generation, long start) {
+    }
+}
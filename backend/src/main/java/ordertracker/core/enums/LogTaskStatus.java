@@ -0,0 +1,13 @@
+package ordertracker.core.enums;
+
+public enum LogTaskStatus {
+    CREATED,
+    PROCESSING,
+    READY,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == READY || this == FAILED || this == CANCELLED;
+    }
+}
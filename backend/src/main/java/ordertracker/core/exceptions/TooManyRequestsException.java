@@ -0,0 +1,7 @@
+package ordertracker.core.exceptions;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,69 @@
+package ordertracker.core.models;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import ordertracker.core.enums.OrderStatus;
+
+/**
+ * An order that is not {@link OrderStatus#READY} yet, as kept in memory by the active order read
+ * model. Holds ids only, so it stays a few dozen bytes regardless of what the meals look like.
+ *
+ * @param mealIds     meal of every portion, a meal ordered three times appears three times
+ * @param statusSince when the order entered its status, as stored with the order; orders stored
+ *                    without it count from the time they were loaded
+ */
+public record ActiveOrder(int id, int customerId, int[] mealIds, OrderStatus status, Instant statusSince) {
+
+    /**
+     * @param now status time used if the order has none stored
+     */
+    public static ActiveOrder of(Order order, Instant now) {
+        List<OrderLine> lines = order.getLines();
+        int[] mealIds = lines == null ? new int[0] : lines.stream()
+                .flatMapToInt(line -> IntStream.generate(() -> line.getMeal().getId()).limit(line.getQuantity()))
+                .toArray();
+        Instant statusSince = order.getStatusChangedAt() != null ? order.getStatusChangedAt() : now;
+        return new ActiveOrder(order.getId(), order.getCustomer().getId(), mealIds, order.getStatus(), statusSince);
+    }
+
+    public ActiveOrder withStatus(OrderStatus newStatus, Instant since) {
+        return newStatus == status ? this : new ActiveOrder(id, customerId, mealIds, newStatus, since);
+    }
+
+    public ActiveOrder withMeals(int[] addedMealIds) {
+        int[] combined = Arrays.copyOf(mealIds, mealIds.length + addedMealIds.length);
+        System.arraycopy(addedMealIds, 0, combined, mealIds.length, addedMealIds.length);
+        return new ActiveOrder(id, customerId, combined, status, statusSince);
+    }
+
+    /**
+     * Drops one portion of the meal.
+     */
+    public ActiveOrder withoutMeal(int mealId) {
+        for (int i = 0; i < mealIds.length; i++) {
+            if (mealIds[i] == mealId) {
+                int[] remaining = new int[mealIds.length - 1];
+                System.arraycopy(mealIds, 0, remaining, 0, i);
+                System.arraycopy(mealIds, i + 1, remaining, i, mealIds.length - i - 1);
+                return new ActiveOrder(id, customerId, remaining, status, statusSince);
+            }
+        }
+        return this;
+    }
+
+    public ActiveOrder withoutAllMeals(int mealId) {
+        int[] remaining = Arrays.stream(mealIds).filter(id -> id != mealId).toArray();
+        return remaining.length == mealIds.length
+                ? this
+                : new ActiveOrder(id, customerId, remaining, status, statusSince);
+    }
+
+    public ActiveOrder withMealQuantity(int mealId, int quantity) {
+        int[] others = withoutAllMeals(mealId).mealIds();
+        int[] changed = Arrays.copyOf(others, others.length + quantity);
+        Arrays.fill(changed, others.length, changed.length, mealId);
+        return new ActiveOrder(id, customerId, changed, status, statusSince);
+    }
+}
@@ -0,0 +1,22 @@
+package ordertracker.core.models;
+
+import java.util.Map;
+
+/**
+ * State of the asynchronous log writer.
+ *
+ * @param enabled   {@code false} if log events are written on the calling thread
+ * @param capacity  size of the ring buffer
+ * @param queued    events waiting to be written
+ * @param written   events written since startup
+ * @param blocked   events that had to wait for free space because of their level
+ * @param dropped   events dropped on a full buffer, per level
+ */
+public record AsyncLogStatistics(
+        boolean enabled,
+        int capacity,
+        int queued,
+        long written,
+        long blocked,
+        Map<String, Long> dropped) {
+}
@@ -0,0 +1,15 @@
+package ordertracker.core.models;
+
+/**
+ * Immutable copy of a customer's own columns, safe to share between requests and threads unlike
+ * the entity, whose orders are lazily loaded from the session that read it.
+ */
+public record CustomerSnapshot(
+        Integer id,
+        String phoneNumber,
+        String name
+) {
+    public static CustomerSnapshot of(Customer customer) {
+        return new CustomerSnapshot(customer.getId(), customer.getPhoneNumber(), customer.getName());
+    }
+}
@@ -0,0 +1,41 @@
+package ordertracker.core.models;
+
+import java.time.Instant;
+import java.util.List;
+import ordertracker.core.enums.OrderStatus;
+
+/**
+ * How the active orders are spread over the kitchen stations. Minutes count from {@code createdAt}.
+ *
+ * @param createdAt           time the plan was made
+ * @param stations            batches each station cooks, in order
+ * @param orders              active orders in the sequence they were planned
+ * @param averageReadyMinutes mean of the ready times of {@code orders}
+ * @param makespanMinutes     minute the last batch is done
+ */
+public record KitchenPlan(
+        Instant createdAt,
+        List<Station> stations,
+        List<ScheduledOrder> orders,
+        double averageReadyMinutes,
+        int makespanMinutes) {
+
+    public record Station(int number, List<Batch> batches) {
+    }
+
+    /**
+     * Portions of one meal cooked together for one or more orders.
+     */
+    public record Batch(int mealId, String mealName, int portions, List<Integer> orderIds,
+                        int startMinute, int endMinute) {
+    }
+
+    /**
+     * @param waitedMinutes minutes the order has been in its status
+     * @param startMinute   start of its first batch
+     * @param readyMinute   end of its last batch
+     */
+    public record ScheduledOrder(int orderId, OrderStatus status, long waitedMinutes,
+                                 int startMinute, int readyMinute) {
+    }
+}
@@ -0,0 +1,22 @@
+package ordertracker.core.models;
+
+/**
+ * Log entry returned by a structured log query.
+ *
+ * @param file      log file or compressed segment holding the entry
+ * @param offset    uncompressed offset of the entry in {@code file}
+ * @param timestamp timestamp as written in the log
+ * @param level     level, {@code null} if the entry has none
+ * @param logger    logger name as written in the log, {@code null} if the entry has none
+ * @param message   message including continuation lines such as stack traces
+ * @param match     {@code false} for context entries around a match
+ */
+public record LogEntry(
+        String file,
+        long offset,
+        String timestamp,
+        String level,
+        String logger,
+        String message,
+        boolean match) {
+}
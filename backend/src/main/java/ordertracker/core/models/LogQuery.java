@@ -0,0 +1,29 @@
+package ordertracker.core.models;
+
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+
+/**
+ * Filters of a structured log query. {@code null} filters match everything.
+ *
+ * @param from     first second to include, as written in the log
+ * @param to       end of the time range, exclusive
+ * @param level    minimum level, one of TRACE, DEBUG, INFO, WARN, ERROR
+ * @param logger   text the logger name must contain
+ * @param message  pattern that must be found in the message
+ * @param cursor   position to continue from, as returned by the previous page
+ * @param limit    maximum number of matching entries
+ * @param before   entries to include before each match
+ * @param after    entries to include after each match
+ */
+public record LogQuery(
+        LocalDateTime from,
+        LocalDateTime to,
+        String level,
+        String logger,
+        Pattern message,
+        String cursor,
+        int limit,
+        int before,
+        int after) {
+}
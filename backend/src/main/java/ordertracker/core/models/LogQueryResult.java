@@ -0,0 +1,16 @@
+package ordertracker.core.models;
+
+import java.util.List;
+
+/**
+ * Page of a structured log query.
+ *
+ * @param entries    matching entries with their context, in file order
+ * @param matches    number of matching entries in {@code entries}
+ * @param nextCursor cursor of the next page, {@code null} if the query reached the end of the log
+ */
+public record LogQueryResult(
+        List<LogEntry> entries,
+        int matches,
+        String nextCursor) {
+}
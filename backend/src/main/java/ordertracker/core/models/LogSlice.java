@@ -0,0 +1,24 @@
+package ordertracker.core.models;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Part of the application log selected by a query, written on demand without being loaded in memory.
+ */
+public interface LogSlice {
+
+    /**
+     * Number of bytes in the slice.
+     */
+    long length();
+
+    /**
+     * Writes {@code count} bytes of the slice starting at {@code offset} to {@code out}.
+     */
+    void writeTo(OutputStream out, long offset, long count) throws IOException;
+
+    default void writeTo(OutputStream out) throws IOException {
+        writeTo(out, 0, length());
+    }
+}
@@ -1,17 +1,133 @@
 package ordertracker.core.models;
 
-import java.nio.file.Path;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+import ordertracker.core.enums.LogTaskStatus;
 
+/**
+ * Log extraction job. Jobs are queued in the log_tasks table and run by the node they were created
+ * on, which holds a lease it renews while the job runs; a job whose lease expires, for example
+ * because the node restarted, is claimed again until it runs out of attempts. The extracted file is
+ * stored in {@link LogTaskFile} so that every replica can serve it.
+ */
 @Data
+@NoArgsConstructor
+@Entity
+@Table(name = "log_tasks", indexes = @Index(name = "log_tasks_origin_status_idx", columnList = "origin, status, available_at"))
 public class LogTask {
-    private final String id;
-    private String status;
-    private Path filePath;
 
-    public LogTask() {
+    public static final int MAX_LOGGER_LENGTH = 200;
+    public static final int MAX_REGEX_LENGTH = 500;
+    public static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private LogTaskStatus status;
+
+    @Column(name = "progress", nullable = false)
+    private int progress;
+
+    @Column(name = "entries", nullable = false)
+    private long entries;
+
+    @Column(name = "error", length = MAX_ERROR_LENGTH)
+    private String error;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @JsonIgnore
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @JsonIgnore
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    /**
+     * Node the task was created on. Only that node runs it, since the log being exported is its own.
+     */
+    @Column(name = "origin", nullable = false, length = 64)
+    private String origin;
+
+    @Column(name = "from_time")
+    private LocalDateTime from;
+
+    @Column(name = "to_time")
+    private LocalDateTime to;
+
+    @Column(name = "level", length = 5)
+    private String level;
+
+    @Column(name = "logger", length = MAX_LOGGER_LENGTH)
+    private String logger;
+
+    @Column(name = "regex", length = MAX_REGEX_LENGTH)
+    private String regex;
+
+    public LogTask(LogQuery query, String origin, int maxAttempts) {
         this.id = UUID.randomUUID().toString();
-        this.status = "CREATED";
+        this.origin = origin;
+        this.status = LogTaskStatus.CREATED;
+        this.maxAttempts = maxAttempts;
+        this.createdAt = Instant.now();
+        this.availableAt = createdAt;
+        this.from = query.from();
+        this.to = query.to();
+        this.level = query.level();
+        this.logger = query.logger();
+        this.regex = query.message() == null ? null : query.message().pattern();
+    }
+
+    @JsonIgnore
+    public LogQuery getQuery() {
+        return new LogQuery(from, to, level, logger, regex == null ? null : Pattern.compile(regex),
+                null, Integer.MAX_VALUE, 0, 0);
+    }
+
+    /**
+     * Time the job waited for a worker before its last attempt started.
+     */
+    public Long getQueueWaitMs() {
+        return startedAt == null ? null : Duration.between(createdAt, startedAt).toMillis();
+    }
+
+    /**
+     * Running time of the last attempt.
+     */
+    public Long getExecutionMs() {
+        return startedAt == null || finishedAt == null ? null : Duration.between(startedAt, finishedAt).toMillis();
     }
 }
@@ -0,0 +1,28 @@
+package ordertracker.core.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Gzip-compressed result of a finished log task. It is kept in the database rather than on the disk
+ * of the node that ran the task, so the file can be downloaded from and evicted by any replica.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "log_task_files")
+public class LogTaskFile {
+
+    @Id
+    @Column(name = "task_id", length = 36)
+    private String taskId;
+
+    @Column(name = "content", nullable = false, columnDefinition = "bytea")
+    private byte[] content;
+}
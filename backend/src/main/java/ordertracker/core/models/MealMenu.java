@@ -0,0 +1,15 @@
+package ordertracker.core.models;
+
+import java.util.Map;
+
+/**
+ * The meal list encoded as JSON once per catalog generation.
+ *
+ * @param generation catalog generation the menu was encoded for
+ * @param etag       weak entity tag derived from the JSON, shared by both encodings
+ * @param identity   the JSON as sent without a content encoding
+ * @param gzip       the same JSON gzip-compressed, or {@code null} when compression does not make it smaller
+ * @param meals      the meals the JSON was encoded from, by id
+ */
+public record MealMenu(long generation, String etag, byte[] identity, byte[] gzip, Map<Integer, Meal> meals) {
+}
@@ -10,26 +10,33 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.JoinTable;
-import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Size;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ordertracker.core.enums.OrderStatus;
+import org.hibernate.Hibernate;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "orders_status_changed_at_idx", columnList = "status, status_changed_at"))
 public class Order {
 
+    public static final int MAX_MEALS = 25;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -40,20 +47,85 @@ public class Order {
     @NotNull(message = "Customer is required")
     private Customer customer;
 
-    @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
-    @JoinTable(
-            name = "order_meals",
-            joinColumns = @JoinColumn(name = "order_id"),
-            inverseJoinColumns = @JoinColumn(name = "meal_id")
-    )
-    @Size(max = 25, message = "Maximum 20 meals per order")
-    private List<Meal> meals;
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id.mealId")
+    private List<OrderLine> lines = new ArrayList<>();
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     @NotNull(message = "Status is required")
     private OrderStatus status;
 
+    /**
+     * When the order entered its current status.
+     */
+    @Column(name = "status_changed_at")
+    private Instant statusChangedAt;
+
+    /**
+     * When the order last started cooking. Kept once it is ready, so the time it took can be
+     * compared with the meals' cooking times.
+     */
+    @Column(name = "cooking_started_at")
+    private Instant cookingStartedAt;
+
+    public Order(Integer id, Customer customer, List<OrderLine> lines, OrderStatus status) {
+        this(id, customer, lines, status, null, null);
+    }
+
+    /**
+     * Moves the order to the status and records when, unless it is in that status already.
+     */
+    public void changeStatus(OrderStatus newStatus, Instant now) {
+        if (newStatus == status) {
+            return;
+        }
+        status = newStatus;
+        statusChangedAt = now;
+        if (newStatus == OrderStatus.COOKING) {
+            cookingStartedAt = now;
+        }
+    }
+
+    /**
+     * Adds portions of the meal, to the order's line for it if there is one.
+     */
+    public void addMeal(Meal meal, int quantity) {
+        for (OrderLine line : lines) {
+            if (line.getMeal().getId().equals(meal.getId())) {
+                line.setQuantity(line.getQuantity() + quantity);
+                return;
+            }
+        }
+        lines.add(new OrderLine(this, meal, quantity));
+    }
+
+    /**
+     * Portions over all lines.
+     */
+    public int mealCount() {
+        return lines.stream().mapToInt(OrderLine::getQuantity).sum();
+    }
+
+    /**
+     * Checks the {@link #MAX_MEALS} limit on portions, not lines, when the order is validated. Lines
+     * that were never loaded are not counted, so saving a status change does not load them.
+     */
+    @AssertTrue(message = "Maximum 25 meals per order")
+    boolean isWithinMealLimit() {
+        return !Hibernate.isInitialized(lines) || mealCount() <= MAX_MEALS;
+    }
+
+    @PrePersist
+    void recordCreation() {
+        if (statusChangedAt == null) {
+            statusChangedAt = Instant.now();
+        }
+        if (status == OrderStatus.COOKING && cookingStartedAt == null) {
+            cookingStartedAt = statusChangedAt;
+        }
+    }
+
     @Override
     public String toString() {
         return "Order{" +  "id=" + id + ", status=" + status + '}';
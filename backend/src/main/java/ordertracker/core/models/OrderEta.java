@@ -0,0 +1,23 @@
+package ordertracker.core.models;
+
+import java.time.Instant;
+import ordertracker.core.enums.OrderStatus;
+
+/**
+ * When an order is expected to be ready.
+ *
+ * @param orderId          the order
+ * @param status           its current status
+ * @param position         1-based place in the kitchen queue, cooking orders first; 0 once it is ready
+ * @param estimatedReadyAt expected ready time, {@code null} once it is ready
+ * @param remainingMinutes whole minutes until {@code estimatedReadyAt}, rounded up; 0 when overdue or ready
+ * @param pace             observed over planned cooking time the estimate was scaled by
+ */
+public record OrderEta(
+        int orderId,
+        OrderStatus status,
+        int position,
+        Instant estimatedReadyAt,
+        long remainingMinutes,
+        double pace) {
+}
@@ -0,0 +1,58 @@
+package ordertracker.core.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.Min;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One meal of an order: how many portions were ordered and what a portion cost when the meal was
+ * first added, so later price changes on the menu leave the order as it was.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "order_lines")
+public class OrderLine {
+
+    @EmbeddedId
+    @JsonIgnore
+    private OrderLineId id = new OrderLineId();
+
+    @MapsId("orderId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Order order;
+
+    @MapsId("mealId")
+    @ManyToOne
+    @JoinColumn(name = "meal_id")
+    private Meal meal;
+
+    @Column(name = "quantity", nullable = false)
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private int quantity;
+
+    @Column(name = "unit_price", nullable = false, precision = 6, scale = 2)
+    private BigDecimal unitPrice;
+
+    public OrderLine(Order order, Meal meal, int quantity) {
+        this(new OrderLineId(order.getId(), meal.getId()), order, meal, quantity, meal.getPrice());
+    }
+}
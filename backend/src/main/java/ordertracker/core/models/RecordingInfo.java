@@ -0,0 +1,16 @@
+package ordertracker.core.models;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public record RecordingInfo(
+        long id,
+        String name,
+        String state,
+        Instant startTime,
+        Duration duration,
+        Duration maxAge,
+        long maxSize,
+        long size
+) {
+}
@@ -0,0 +1,31 @@
+package ordertracker.core.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of the grow-only counter: the number of visits of an URL seen by a single node.
+ * The cluster-wide value of an URL is the sum of its entries over all nodes.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "visit_counters")
+public class VisitCounterShard {
+
+    @EmbeddedId
+    private VisitCounterShardId id;
+
+    @Column(name = "count", nullable = false)
+    private long count;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,21 @@
+package ordertracker.core.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class VisitCounterShardId implements Serializable {
+
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    @Column(name = "url", nullable = false, length = 2048)
+    private String url;
+}
@@ -0,0 +1,23 @@
+package ordertracker.core.models;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Visit counts served by the statistics API.
+ *
+ * @param counts     visits per URL
+ * @param nodeId     node that served the response
+ * @param nodes      number of nodes that contributed to {@code counts}
+ * @param merged     {@code true} if {@code counts} are cluster-wide totals, {@code false} if they are local
+ * @param syncedAt   time of the last successful synchronization, {@code null} if there was none
+ * @param stalenessMs age of {@code counts} in milliseconds, 0 for local counts
+ */
+public record VisitStatistics(
+        Map<String, Integer> counts,
+        String nodeId,
+        int nodes,
+        boolean merged,
+        Instant syncedAt,
+        long stalenessMs) {
+}
@@ -10,9 +10,12 @@ import org.springframework.data.jpa.repository.Query;
 public interface CustomerRepository extends JpaRepository<Customer, Integer> {
     Optional<Customer> findByPhoneNumber(String phoneNumber);
 
+    @Query("SELECT c.id FROM Customer c WHERE c.phoneNumber = :phoneNumber")
+    Optional<Integer> findIdByPhoneNumber(String phoneNumber);
+
     Optional<Customer> findByName(String name);
 
-    @Query("SELECT c FROM Customer c JOIN c.orders o JOIN o.meals m WHERE o.status = :status AND m.name = :mealName")
+    @Query("SELECT c FROM Customer c JOIN c.orders o JOIN o.lines l WHERE o.status = :status AND l.meal.name = :mealName")
     List<Customer> findCustomersByOrderStatusAndMealName(
             OrderStatus status,
             String mealName);
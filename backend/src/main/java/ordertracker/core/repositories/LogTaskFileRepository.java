@@ -0,0 +1,17 @@
+package ordertracker.core.repositories;
+
+import ordertracker.core.models.LogTaskFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LogTaskFileRepository extends JpaRepository<LogTaskFile, String> {
+
+    /**
+     * Deletes the file of a task without loading its content first, as {@code deleteById} would.
+     */
+    @Modifying
+    @Query("DELETE FROM LogTaskFile f WHERE f.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") String taskId);
+}
@@ -0,0 +1,74 @@
+package ordertracker.core.repositories;
+
+import java.time.Instant;
+import java.util.List;
+import ordertracker.core.enums.LogTaskStatus;
+import ordertracker.core.models.LogTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface LogTaskRepository extends JpaRepository<LogTask, String> {
+
+    /**
+     * Locks up to {@code limit} jobs created on {@code origin} that are due or whose lease expired.
+     * Rows locked by another worker are skipped instead of waited for, so concurrent workers never
+     * claim the same job. Must run in the transaction that takes the leases.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM log_tasks
+            WHERE origin = :origin
+              AND ((status = 'CREATED' AND available_at <= :now)
+                OR (status = 'PROCESSING' AND lease_expires_at < :now))
+            ORDER BY available_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """)
+    List<LogTask> lockClaimable(@Param("origin") String origin, @Param("now") Instant now, @Param("limit") int limit);
+
+    long countByStatus(LogTaskStatus status);
+
+    /**
+     * Extends the lease of a running job and records its progress.
+     *
+     * @return 0 if the job was cancelled or its lease was taken over, in which case the worker stops
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE LogTask t SET t.leaseExpiresAt = :leaseExpiresAt, t.progress = :progress
+            WHERE t.id = :id AND t.leaseOwner = :owner AND t.status = ordertracker.core.enums.LogTaskStatus.PROCESSING
+            """)
+    int renewLease(@Param("id") String id, @Param("owner") String owner,
+                   @Param("leaseExpiresAt") Instant leaseExpiresAt, @Param("progress") int progress);
+
+    /**
+     * Puts the running jobs of a node back in the queue without counting the attempt.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE LogTask t SET t.status = ordertracker.core.enums.LogTaskStatus.CREATED, t.leaseOwner = null,
+                t.leaseExpiresAt = null, t.attempts = t.attempts - 1
+            WHERE t.leaseOwner = :owner AND t.status = ordertracker.core.enums.LogTaskStatus.PROCESSING
+            """)
+    int releaseLeases(@Param("owner") String owner);
+
+    /**
+     * Jobs created before {@code createdBefore} that are still waiting, or whose lease expired. Their
+     * node is gone for good, as it would have run them by now otherwise.
+     */
+    @Query("""
+            SELECT t FROM LogTask t
+            WHERE t.createdAt < :createdBefore
+              AND (t.status = ordertracker.core.enums.LogTaskStatus.CREATED
+                OR (t.status = ordertracker.core.enums.LogTaskStatus.PROCESSING AND t.leaseExpiresAt < :now))
+            """)
+    List<LogTask> findAbandoned(@Param("createdBefore") Instant createdBefore, @Param("now") Instant now);
+
+    @Query("SELECT t FROM LogTask t WHERE t.status IN :statuses AND t.finishedAt < :finishedBefore")
+    List<LogTask> findFinishedBefore(@Param("statuses") List<LogTaskStatus> statuses,
+                                     @Param("finishedBefore") Instant finishedBefore);
+}
@@ -1,12 +1,49 @@
 package ordertracker.core.repositories;
 
 import java.util.List;
+import ordertracker.core.enums.OrderStatus;
 import ordertracker.core.models.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
-    @Query("SELECT o FROM Order o JOIN o.meals m WHERE m.id = :mealId")
+    @Query("SELECT o FROM Order o JOIN o.lines l WHERE l.id.mealId = :mealId")
     List<Order> findOrdersByMealId(@Param("mealId") Integer mealId);
+
+    /**
+     * Removes the meal from every order with one statement.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OrderLine l WHERE l.id.mealId = :mealId")
+    int deleteLinesByMealId(@Param("mealId") Integer mealId);
+
+    /**
+     * Orders of a customer with their lines and meals fetched in the same query.
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.lines l LEFT JOIN FETCH l.meal"
+            + " WHERE o.customer.id = :customerId ORDER BY o.id")
+    List<Order> findByCustomerIdWithMeals(@Param("customerId") Integer customerId);
+
+    /**
+     * One row per order line of the orders not in the given status, ordered by order id: order id,
+     * customer id, status, meal id, quantity and status change time, meal id and quantity null for
+     * an order without meals.
+     */
+    @Query("SELECT o.id, o.customer.id, o.status, l.id.mealId, l.quantity, o.statusChangedAt"
+            + " FROM Order o LEFT JOIN o.lines l WHERE o.status <> :status ORDER BY o.id")
+    List<Object[]> findOrderMealRowsByStatusNot(@Param("status") OrderStatus status);
+
+    /**
+     * Cooking start, ready time and longest meal of the orders in the given status that have both
+     * times, most recently changed first.
+     */
+    @Query("SELECT o.cookingStartedAt, o.statusChangedAt, MAX(l.meal.cookingTime) FROM Order o JOIN o.lines l"
+            + " WHERE o.status = :status AND o.cookingStartedAt < o.statusChangedAt"
+            + " GROUP BY o.id, o.cookingStartedAt, o.statusChangedAt ORDER BY o.statusChangedAt DESC")
+    List<Object[]> findCookingTimesByStatus(@Param("status") OrderStatus status, Pageable pageable);
 }
@@ -0,0 +1,41 @@
+package ordertracker.core.repositories;
+
+import java.util.List;
+import ordertracker.core.models.VisitCounterShard;
+import ordertracker.core.models.VisitCounterShardId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface VisitCounterShardRepository extends JpaRepository<VisitCounterShard, VisitCounterShardId> {
+
+    interface UrlTotal {
+        String getUrl();
+
+        long getTotal();
+    }
+
+    List<VisitCounterShard> findByIdNodeId(String nodeId);
+
+    @Query("SELECT s.id.url AS url, SUM(s.count) AS total FROM VisitCounterShard s GROUP BY s.id.url")
+    List<UrlTotal> sumCountsByUrl();
+
+    @Query("SELECT COUNT(DISTINCT s.id.nodeId) FROM VisitCounterShard s")
+    long countNodes();
+
+    /**
+     * Merges the local value of a counter entry. Entries only grow, so a delayed or repeated
+     * publication can never decrease the stored value.
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT INTO visit_counters (node_id, url, count, updated_at)
+            VALUES (:nodeId, :url, :count, now())
+            ON CONFLICT (node_id, url)
+            DO UPDATE SET count = GREATEST(visit_counters.count, EXCLUDED.count), updated_at = EXCLUDED.updated_at
+            """)
+    int publish(@Param("nodeId") String nodeId, @Param("url") String url, @Param("count") long count);
+}
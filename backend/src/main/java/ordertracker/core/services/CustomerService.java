@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import ordertracker.core.enums.OrderStatus;
 import ordertracker.core.models.Customer;
+import ordertracker.core.models.CustomerSnapshot;
 import ordertracker.core.models.Order;
 
 public interface CustomerService {
@@ -15,6 +16,16 @@ public interface CustomerService {
 
     Optional<Customer> getCustomerByPhoneNumber(String phoneNumber);
 
+    /**
+     * Cached customer without its orders.
+     */
+    Optional<CustomerSnapshot> getCustomerSnapshot(int id);
+
+    /**
+     * Cached customer without its orders, for the frequent lookups of the caller of a phone call.
+     */
+    Optional<CustomerSnapshot> getCustomerSnapshotByPhoneNumber(String phoneNumber);
+
     Optional<Customer> getCustomerByName(String name);
 
     List<Order> getCustomerOrders(int customerId);
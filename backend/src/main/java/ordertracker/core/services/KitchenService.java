@@ -0,0 +1,30 @@
+package ordertracker.core.services;
+
+import java.util.List;
+import java.util.Optional;
+import ordertracker.core.models.KitchenPlan;
+import ordertracker.core.models.OrderEta;
+
+public interface KitchenService {
+
+    /**
+     * Plans the active orders over the kitchen stations from the in-memory read model.
+     */
+    KitchenPlan getPlan();
+
+    /**
+     * Moves the accepted orders whose cooking starts right away in the current plan to COOKING.
+     *
+     * @return ids of the orders that were started
+     */
+    List<Integer> startDueOrders();
+
+    /**
+     * Estimates when the order will be ready from its place in the current plan, scaled by the
+     * observed cooking pace. Served from the last plan, which is refreshed in the background; an
+     * order placed since is estimated behind every planned one.
+     *
+     * @return the estimate, empty if there is no such order
+     */
+    Optional<OrderEta> getOrderEta(int orderId);
+}
@@ -0,0 +1,27 @@
+package ordertracker.core.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+import ordertracker.core.models.LogQuery;
+import ordertracker.core.models.LogQueryResult;
+import ordertracker.core.models.LogSlice;
+
+public interface LogFileService {
+
+    Optional<String> getLogsByDate(LocalDate date);
+
+    Optional<LogSlice> getLogSliceByDate(LocalDate date);
+
+    LogQueryResult query(LogQuery query);
+
+    /**
+     * Writes every entry matching the filters of {@code query} to {@code out}, ignoring its page
+     * options, and reports the share of the range scanned so far in percent.
+     *
+     * @return number of entries written
+     */
+    long export(LogQuery query, OutputStream out, IntConsumer progress) throws IOException;
+}
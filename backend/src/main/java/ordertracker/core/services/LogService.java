@@ -1,10 +1,64 @@
 package ordertracker.core.services;
 
+import java.util.List;
+import ordertracker.core.models.LogQuery;
 import ordertracker.core.models.LogTask;
+import ordertracker.core.models.LogTaskFile;
 
 public interface LogService {
 
-    LogTask createLogTask();
+    /**
+     * Identifier of this replica. It runs the tasks created on it.
+     */
+    String getNodeId();
+
+    LogTask createLogTask(LogQuery query);
 
     LogTask getTask(String id);
+
+    /**
+     * @return the number of tasks waiting for a worker on any replica
+     */
+    long countQueuedTasks();
+
+    /**
+     * @return the extracted file of a finished task, or {@code null} if there is none
+     */
+    LogTaskFile getFile(String id);
+
+    /**
+     * Cancels a queued or running task, or deletes a finished one with its file.
+     *
+     * @return {@code false} if there is no such task
+     */
+    boolean cancelTask(String id);
+
+    void evictExpiredTasks();
+
+    /**
+     * Takes the lease of up to {@code limit} due tasks created on the node {@code owner}.
+     */
+    List<LogTask> claimTasks(String owner, int limit);
+
+    /**
+     * @return {@code false} if the task was cancelled or is no longer leased by {@code owner}
+     */
+    boolean renewLease(String id, String owner, int progress);
+
+    /**
+     * Stores the gzip-compressed extracted file and marks the task ready.
+     *
+     * @return {@code false} if the task was cancelled or is no longer leased by {@code owner}
+     */
+    boolean completeTask(String id, String owner, long entries, byte[] content);
+
+    /**
+     * Schedules another attempt of the task, or marks it failed after its last attempt.
+     */
+    void failTask(String id, String owner, String error);
+
+    /**
+     * Puts the tasks leased by {@code owner} back in the queue.
+     */
+    void releaseTasks(String owner);
 }
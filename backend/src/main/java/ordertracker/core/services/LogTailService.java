@@ -0,0 +1,8 @@
+package ordertracker.core.services;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface LogTailService {
+
+    SseEmitter subscribe(String level, String contains);
+}
@@ -0,0 +1,9 @@
+package ordertracker.core.services;
+
+import java.util.Optional;
+import ordertracker.core.models.AsyncLogStatistics;
+
+public interface LoggingStatisticsService {
+
+    Optional<AsyncLogStatistics> getAsyncLogStatistics();
+}
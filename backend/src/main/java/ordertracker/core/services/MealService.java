@@ -3,11 +3,18 @@ package ordertracker.core.services;
 import java.util.List;
 import java.util.Optional;
 import ordertracker.core.models.Meal;
+import ordertracker.core.models.MealMenu;
 
 
 public interface MealService {
     List<Meal> getAllMeals();
 
+    /**
+     * Returns all meals already encoded as JSON. Only reads the database for the first call after
+     * a meal was added, changed or deleted.
+     */
+    MealMenu getMealMenu();
+
     Optional<Meal> getMealById(int id);
 
     Optional<Meal> getMealByName(String name);
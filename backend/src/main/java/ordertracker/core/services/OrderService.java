@@ -1,8 +1,10 @@
 package ordertracker.core.services;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.models.ActiveOrder;
 import ordertracker.core.models.Order;
 
 public interface OrderService {
@@ -10,6 +12,17 @@ public interface OrderService {
 
     Optional<Order> getOrderById(int id);
 
+    /**
+     * Returns the orders that are not READY yet, oldest first, only those in the given status
+     * unless it is {@code null}. Answered from memory without touching the database.
+     */
+    List<ActiveOrder> getActiveOrders(OrderStatus status);
+
+    /**
+     * Returns the number of orders in each status other than READY.
+     */
+    Map<OrderStatus, Integer> getActiveOrderCounts();
+
     Order addOrder(int customerId);
 
     Order updateOrderStatus(int id, OrderStatus status);
@@ -18,6 +31,11 @@ public interface OrderService {
 
     Order addMealsToOrder(int orderId, List<Integer> mealIds);
 
+    /**
+     * Sets the number of portions of the meal in the order in place, removing the meal at 0.
+     */
+    Order updateMealQuantity(int orderId, int mealId, int quantity);
+
     void deleteOrder(int id);
 
     void deleteMealInOrder(int orderId, int mealId);
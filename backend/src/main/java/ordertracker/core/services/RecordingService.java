@@ -0,0 +1,38 @@
+package ordertracker.core.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import ordertracker.core.models.RecordingInfo;
+
+/**
+ * Manages the flight recording of the application. There is at most one at a time.
+ */
+public interface RecordingService {
+
+    /**
+     * Starts a recording, stopping by itself after {@code duration} unless it is {@code null}.
+     *
+     * @throws ordertracker.core.exceptions.BadRequestException if a recording is already running
+     */
+    RecordingInfo startRecording(Duration duration);
+
+    /**
+     * @return the current recording, or {@code null} if none was started
+     */
+    RecordingInfo getRecording();
+
+    /**
+     * Writes the data recorded so far to a file; a running recording continues.
+     *
+     * @throws ordertracker.core.exceptions.ResourceNotFoundException if there is no recording
+     */
+    Path dumpRecording() throws IOException;
+
+    /**
+     * Stops the recording and writes it to a file.
+     *
+     * @throws ordertracker.core.exceptions.ResourceNotFoundException if no recording is running
+     */
+    Path stopRecording() throws IOException;
+}
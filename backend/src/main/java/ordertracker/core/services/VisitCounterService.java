@@ -6,6 +6,8 @@ public  interface VisitCounterService {
 
     void incrementCount(String url);
 
+    void restoreCount(String url, long count);
+
     int getCount(String url);
 
     ConcurrentHashMap<String, Integer> getAllCounts();
@@ -0,0 +1,20 @@
+package ordertracker.core.services;
+
+import ordertracker.core.models.VisitStatistics;
+
+public interface VisitStatisticsService {
+
+    VisitStatistics getStatistics();
+
+    /**
+     * Visits of a single URL, read without copying the counts of the other URLs.
+     */
+    int getCount(String url);
+
+    /**
+     * @return milliseconds since the merged counts were read, 0 when the local counts are served
+     */
+    long getStalenessMs();
+
+    void synchronize();
+}
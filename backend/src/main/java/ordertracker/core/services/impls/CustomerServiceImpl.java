@@ -2,10 +2,16 @@ package ordertracker.core.services.impls;
 
 import jakarta.persistence.EntityNotFoundException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import ordertracker.apllication.components.ActiveOrderProjection;
+import ordertracker.apllication.components.CustomerCache;
 import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.exceptions.BadRequestException;
 import ordertracker.core.models.Customer;
+import ordertracker.core.models.CustomerSnapshot;
 import ordertracker.core.models.Meal;
 import ordertracker.core.models.Order;
 import ordertracker.core.repositories.CustomerRepository;
@@ -14,6 +20,7 @@ import ordertracker.core.repositories.OrderRepository;
 import ordertracker.core.services.CustomerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CustomerServiceImpl implements CustomerService {
@@ -23,15 +30,21 @@ public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
     private final MealRepository mealRepository;
     private final OrderRepository orderRepository;
+    private final CustomerCache customerCache;
+    private final ActiveOrderProjection activeOrders;
 
     @Autowired
     public CustomerServiceImpl(
             CustomerRepository customerRepository,
             MealRepository mealRepository,
-            OrderRepository orderRepository) {
+            OrderRepository orderRepository,
+            CustomerCache customerCache,
+            ActiveOrderProjection activeOrders) {
         this.customerRepository = customerRepository;
         this.mealRepository = mealRepository;
         this.orderRepository = orderRepository;
+        this.customerCache = customerCache;
+        this.activeOrders = activeOrders;
     }
 
     @Override
@@ -49,6 +62,16 @@ public class CustomerServiceImpl implements CustomerService {
         return customerRepository.findById(id);
     }
 
+    @Override
+    public Optional<CustomerSnapshot> getCustomerSnapshot(int id) {
+        return customerCache.getById(id);
+    }
+
+    @Override
+    public Optional<CustomerSnapshot> getCustomerSnapshotByPhoneNumber(String phoneNumber) {
+        return customerCache.getByPhoneNumber(phoneNumber);
+    }
+
     @Override
     public Optional<Customer> getCustomerByName(String name) {
         return customerRepository.findByName(name);
@@ -61,34 +84,47 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     public List<Order> getCustomerOrders(int customerId) {
-        Optional<Customer> customer = customerRepository.findById(customerId);
-        if (customer.isPresent()) {
-            return customer.get().getOrders();
+        if (customerCache.getById(customerId).isEmpty()) {
+            throw new EntityNotFoundException(NOT_FOUND_MESSAGE + customerId);
         }
-        throw new EntityNotFoundException(NOT_FOUND_MESSAGE + customerId);
+        return orderRepository.findByCustomerIdWithMeals(customerId);
     }
 
     @Override
+    @Transactional
     public Order createOrder(int customerId, List<Integer> mealIds) {
-        var customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id:" + customerId));
-        ArrayList<Meal> meals = new ArrayList<>();
+        // Checked in the database: the cache may still hold a customer deleted by another replica,
+        // and the order insert would then fail on the foreign key
+        if (!customerRepository.existsById(customerId)) {
+            throw new EntityNotFoundException("Customer not found with id:" + customerId);
+        }
+        if (mealIds.size() > Order.MAX_MEALS) {
+            throw new BadRequestException("Maximum " + Order.MAX_MEALS + " meals per order");
+        }
+        var customer = customerRepository.getReferenceById(customerId);
+        Map<Integer, Meal> mealsById = new HashMap<>();
+        for (Meal meal : mealRepository.findAllById(mealIds)) {
+            mealsById.put(meal.getId(), meal);
+        }
+        var order = new Order(null, customer, new ArrayList<>(), OrderStatus.ACCEPTED);
         for (Integer mealId : mealIds) {
-            var meal = mealRepository.findById(mealId);
-            if (meal.isEmpty()) {
+            var meal = mealsById.get(mealId);
+            if (meal == null) {
                 throw new EntityNotFoundException("Meal not found with id:" + mealId);
             }
-            meals.add(meal.get());
+            order.addMeal(meal, 1);
         }
 
-        var order = new Order(null, customer, meals, OrderStatus.ACCEPTED);
-
-        return orderRepository.save(order);
+        var savedOrder = orderRepository.save(order);
+        activeOrders.added(savedOrder);
+        return savedOrder;
     }
 
     @Override
     public Customer addCustomer(Customer customer) {
-        return customerRepository.save(customer);
+        Customer savedCustomer = customerRepository.save(customer);
+        customerCache.invalidate(savedCustomer.getId());
+        return savedCustomer;
     }
 
     @Override
@@ -99,7 +135,9 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setName(customerDetails.getName());
         customer.setPhoneNumber(customerDetails.getPhoneNumber());
 
-        return customerRepository.save(customer);
+        Customer savedCustomer = customerRepository.save(customer);
+        customerCache.invalidate(id);
+        return savedCustomer;
     }
 
     @Override
@@ -107,5 +145,7 @@ public class CustomerServiceImpl implements CustomerService {
         var customer = getCustomerById(id)
                 .orElseThrow(() -> new EntityNotFoundException(NOT_FOUND_MESSAGE + id));
         customerRepository.delete(customer);
+        customerCache.invalidate(id);
+        activeOrders.customerDeleted(id);
     }
 }
\ No newline at end of file
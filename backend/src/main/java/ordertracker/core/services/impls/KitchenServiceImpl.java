@@ -0,0 +1,350 @@
+package ordertracker.core.services.impls;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import ordertracker.apllication.components.ActiveOrderProjection;
+import ordertracker.apllication.components.CookingPace;
+import ordertracker.apllication.components.MealMenuCache;
+import ordertracker.apllication.config.KitchenProperties;
+import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.models.ActiveOrder;
+import ordertracker.core.models.KitchenPlan;
+import ordertracker.core.models.Meal;
+import ordertracker.core.models.MealMenu;
+import ordertracker.core.models.OrderEta;
+import ordertracker.core.services.KitchenService;
+import ordertracker.core.services.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Plans the active orders over the kitchen stations with a list scheduler. Orders that are cooking
+ * keep their place at the head of the queue; accepted orders follow shortest total cooking time
+ * first, less {@link KitchenProperties#getAgingFactor()} minutes for every minute they have waited,
+ * so a long order cannot be overtaken forever. Within an order the longest meals go first, each
+ * onto the station that frees up earliest, unless a batch of the same meal that is not cooking
+ * yet has room for another portion and is done no later.
+ *
+ * <p>Cooking orders are planned as if all their meals went on when the order started cooking, with
+ * what is left of their cooking time; meals that should be done by now are left out. The plan is
+ * made from the in-memory read model and the meals kept with the cached menu, without a query.
+ *
+ * <p>Estimates come from the last plan, which is made again in the background every
+ * {@link KitchenProperties#getReplanInterval()} if the read model or the meals changed or it is
+ * older than {@link KitchenProperties#getPlanTtl()}, so an estimate never waits for a plan. The
+ * order's status is read from the read model and is current at once; an order too new to be in the
+ * plan is estimated behind every planned one. The plan's minutes are stretched by the
+ * {@link CookingPace}, which moves as orders get ready.
+ */
+@Service
+public class KitchenServiceImpl implements KitchenService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ActiveOrderProjection activeOrders;
+    private final OrderService orderService;
+    private final MealMenuCache mealMenuCache;
+    private final CookingPace cookingPace;
+    private final KitchenProperties properties;
+    private final Clock clock;
+
+    private volatile Estimates estimates = new Estimates(-1, -1, Instant.EPOCH, 0, Map.of());
+
+    @Autowired
+    public KitchenServiceImpl(
+            ActiveOrderProjection activeOrders,
+            OrderService orderService,
+            MealMenuCache mealMenuCache,
+            CookingPace cookingPace,
+            KitchenProperties properties) {
+        this(activeOrders, orderService, mealMenuCache, cookingPace, properties, Clock.systemUTC());
+    }
+
+    KitchenServiceImpl(
+            ActiveOrderProjection activeOrders,
+            OrderService orderService,
+            MealMenuCache mealMenuCache,
+            CookingPace cookingPace,
+            KitchenProperties properties,
+            Clock clock) {
+        this.activeOrders = activeOrders;
+        this.orderService = orderService;
+        this.mealMenuCache = mealMenuCache;
+        this.cookingPace = cookingPace;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    public KitchenPlan getPlan() {
+        return plan(mealMenuCache.get().meals());
+    }
+
+    private KitchenPlan plan(Map<Integer, Meal> meals) {
+        Instant now = clock.instant();
+        List<ActiveOrder> orders = new ArrayList<>(activeOrders.getAll(OrderStatus.COOKING));
+        orders.addAll(activeOrders.getAll(OrderStatus.ACCEPTED));
+
+        PriorityQueue<Job> queue = new PriorityQueue<>();
+        for (ActiveOrder order : orders) {
+            queue.add(job(order, meals, now));
+        }
+
+        Kitchen kitchen = new Kitchen(Math.max(1, properties.getStations()),
+                Math.max(1, properties.getMaxBatchPortions()));
+        List<KitchenPlan.ScheduledOrder> scheduled = new ArrayList<>(orders.size());
+        long readySum = 0;
+        while (!queue.isEmpty()) {
+            KitchenPlan.ScheduledOrder order = kitchen.schedule(queue.poll());
+            scheduled.add(order);
+            readySum += order.readyMinute();
+        }
+        double averageReady = scheduled.isEmpty() ? 0 : (double) readySum / scheduled.size();
+        return new KitchenPlan(now, kitchen.stations(), scheduled, averageReady, kitchen.makespan());
+    }
+
+    @Override
+    public List<Integer> startDueOrders() {
+        List<Integer> started = new ArrayList<>();
+        for (KitchenPlan.ScheduledOrder order : getPlan().orders()) {
+            if (order.status() == OrderStatus.ACCEPTED && order.startMinute() == 0 && order.readyMinute() > 0) {
+                try {
+                    orderService.updateOrderStatus(order.orderId(), OrderStatus.COOKING);
+                    started.add(order.orderId());
+                } catch (EntityNotFoundException e) {
+                    // deleted since the plan was made
+                }
+            }
+        }
+        return started;
+    }
+
+    @Override
+    public Optional<OrderEta> getOrderEta(int orderId) {
+        double pace = cookingPace.factor();
+        Optional<ActiveOrder> active = activeOrders.get(orderId);
+        if (active.isEmpty()) {
+            return orderService.getOrderById(orderId)
+                    .map(order -> new OrderEta(orderId, order.getStatus(), 0, null, 0, pace));
+        }
+
+        Instant now = clock.instant();
+        Estimates current = estimates;
+        Slot slot = current.slots().get(orderId);
+        int position;
+        Instant readyAt;
+        if (slot != null) {
+            position = slot.position();
+            readyAt = current.createdAt().plus(minutes(slot.readyMinute(), pace));
+        } else {
+            position = current.slots().size() + 1;
+            Instant queueEnd = current.createdAt().plus(minutes(current.makespan(), pace));
+            readyAt = (queueEnd.isAfter(now) ? queueEnd : now)
+                    .plus(minutes(longestCookingTime(active.get(), mealMenuCache.get().meals()), pace));
+        }
+        long remainingSeconds = Math.max(0, Duration.between(now, readyAt).toSeconds());
+        return Optional.of(new OrderEta(orderId, active.get().status(), position, readyAt,
+                (remainingSeconds + 59) / 60, pace));
+    }
+
+    /**
+     * Plans again for the estimates if the read model or the meals changed since the last plan, or it
+     * is older than the plan TTL.
+     */
+    @Scheduled(fixedDelayString = "${ordertracker.kitchen.replan-interval:1s}")
+    public void replanIfStale() {
+        Estimates current = estimates;
+        long version = activeOrders.version();
+        MealMenu menu;
+        try {
+            menu = mealMenuCache.get();
+        } catch (DataAccessException e) {
+            logger.warn("Kitchen plan not refreshed, the meals could not be loaded: {}", e.getMessage());
+            return;
+        }
+        if (current.version() == version && current.mealGeneration() == menu.generation()
+                && current.createdAt().plus(properties.getPlanTtl()).isAfter(clock.instant())) {
+            return;
+        }
+        KitchenPlan plan = plan(menu.meals());
+        Map<Integer, Slot> slots = new HashMap<>();
+        for (int i = 0; i < plan.orders().size(); i++) {
+            KitchenPlan.ScheduledOrder order = plan.orders().get(i);
+            slots.put(order.orderId(), new Slot(i + 1, order.readyMinute()));
+        }
+        estimates = new Estimates(version, menu.generation(), plan.createdAt(), plan.makespanMinutes(), slots);
+    }
+
+    private static Duration minutes(long minutes, double pace) {
+        return Duration.ofSeconds(Math.round(minutes * pace * 60));
+    }
+
+    private static int longestCookingTime(ActiveOrder order, Map<Integer, Meal> meals) {
+        int longest = 0;
+        for (int mealId : order.mealIds()) {
+            Meal meal = meals.get(mealId);
+            if (meal != null) {
+                longest = Math.max(longest, meal.getCookingTime());
+            }
+        }
+        return longest;
+    }
+
+    private Job job(ActiveOrder order, Map<Integer, Meal> meals, Instant now) {
+        long waited = Math.max(0, Duration.between(order.statusSince(), now).toMinutes());
+        boolean cooking = order.status() == OrderStatus.COOKING;
+        List<Portion> portions = new ArrayList<>(order.mealIds().length);
+        int total = 0;
+        for (int mealId : order.mealIds()) {
+            Meal meal = meals.get(mealId);
+            if (meal == null) {
+                continue;
+            }
+            int minutes = cooking ? (int) Math.max(0, meal.getCookingTime() - waited) : meal.getCookingTime();
+            if (minutes > 0) {
+                portions.add(new Portion(mealId, meal.getName(), minutes));
+                total += minutes;
+            }
+        }
+        portions.sort(Comparator.comparingInt(Portion::minutes).reversed());
+        double priority = cooking ? 0 : total - properties.getAgingFactor() * waited;
+        return new Job(order, portions, cooking, priority, waited);
+    }
+
+    private record Estimates(long version, long mealGeneration, Instant createdAt, int makespan,
+                             Map<Integer, Slot> slots) {
+    }
+
+    private record Slot(int position, int readyMinute) {
+    }
+
+    private record Portion(int mealId, String mealName, int minutes) {
+    }
+
+    private record Job(ActiveOrder order, List<Portion> portions, boolean cooking, double priority, long waited)
+            implements Comparable<Job> {
+
+        @Override
+        public int compareTo(Job other) {
+            if (cooking != other.cooking) {
+                return cooking ? -1 : 1;
+            }
+            int byPriority = Double.compare(priority, other.priority);
+            return byPriority != 0 ? byPriority : Integer.compare(order.id(), other.order.id());
+        }
+    }
+
+    private static final class Batch {
+        private final int mealId;
+        private final String mealName;
+        private final int startMinute;
+        private final int endMinute;
+        private final Set<Integer> orderIds = new LinkedHashSet<>();
+        private int portions;
+
+        Batch(Portion portion, int startMinute) {
+            this.mealId = portion.mealId();
+            this.mealName = portion.mealName();
+            this.startMinute = startMinute;
+            this.endMinute = startMinute + portion.minutes();
+        }
+
+        KitchenPlan.Batch toPlan() {
+            return new KitchenPlan.Batch(mealId, mealName, portions, List.copyOf(orderIds), startMinute, endMinute);
+        }
+    }
+
+    private static final class Station {
+        private final int number;
+        private final List<Batch> batches = new ArrayList<>();
+        private int freeAt;
+
+        Station(int number) {
+            this.number = number;
+        }
+    }
+
+    private static final class Kitchen {
+        private final int maxPortions;
+        private final Station[] stations;
+        private final PriorityQueue<Station> byFreeAt = new PriorityQueue<>(
+                Comparator.comparingInt((Station station) -> station.freeAt).thenComparingInt(station -> station.number));
+        private final Map<Integer, List<Batch>> openBatches = new HashMap<>();
+
+        Kitchen(int stations, int maxPortions) {
+            this.maxPortions = maxPortions;
+            this.stations = new Station[stations];
+            for (int i = 0; i < stations; i++) {
+                this.stations[i] = new Station(i + 1);
+                byFreeAt.add(this.stations[i]);
+            }
+        }
+
+        KitchenPlan.ScheduledOrder schedule(Job job) {
+            int start = Integer.MAX_VALUE;
+            int ready = 0;
+            for (Portion portion : job.portions()) {
+                Batch batch = place(portion, !job.cooking());
+                batch.portions++;
+                batch.orderIds.add(job.order().id());
+                start = Math.min(start, batch.startMinute);
+                ready = Math.max(ready, batch.endMinute);
+            }
+            return new KitchenPlan.ScheduledOrder(job.order().id(), job.order().status(), job.waited(),
+                    start == Integer.MAX_VALUE ? 0 : start, ready);
+        }
+
+        private Batch place(Portion portion, boolean open) {
+            int newEnd = byFreeAt.element().freeAt + portion.minutes();
+            if (open) {
+                Batch shared = null;
+                for (Batch batch : openBatches.getOrDefault(portion.mealId(), List.of())) {
+                    if (batch.portions < maxPortions && batch.endMinute <= newEnd
+                            && (shared == null || batch.endMinute < shared.endMinute)) {
+                        shared = batch;
+                    }
+                }
+                if (shared != null) {
+                    return shared;
+                }
+            }
+
+            Station station = byFreeAt.remove();
+            Batch batch = new Batch(portion, station.freeAt);
+            station.batches.add(batch);
+            station.freeAt = batch.endMinute;
+            byFreeAt.add(station);
+            if (open) {
+                openBatches.computeIfAbsent(portion.mealId(), mealId -> new ArrayList<>()).add(batch);
+            }
+            return batch;
+        }
+
+        List<KitchenPlan.Station> stations() {
+            return Arrays.stream(stations)
+                    .map(station -> new KitchenPlan.Station(station.number,
+                            station.batches.stream().map(Batch::toPlan).toList()))
+                    .toList();
+        }
+
+        int makespan() {
+            return Arrays.stream(stations).mapToInt(station -> station.freeAt).max().orElse(0);
+        }
+    }
+}
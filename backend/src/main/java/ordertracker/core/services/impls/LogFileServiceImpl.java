@@ -0,0 +1,308 @@
+package ordertracker.core.services.impls;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+import java.util.regex.Pattern;
+import ordertracker.apllication.logging.CompositeLogSlice;
+import ordertracker.apllication.logging.FileLogSlice;
+import ordertracker.apllication.logging.GzipLogSlice;
+import ordertracker.apllication.logging.LogFileIndex;
+import ordertracker.apllication.logging.LogSegment;
+import ordertracker.apllication.logging.LogSegmentManifest;
+import ordertracker.apllication.logging.ParsedLogSegment;
+import ordertracker.apllication.logging.ParsedSegmentCache;
+import ordertracker.core.models.LogEntry;
+import ordertracker.core.models.LogQuery;
+import ordertracker.core.models.LogQueryResult;
+import ordertracker.core.models.LogSlice;
+import ordertracker.core.services.LogFileService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Reads the application log across the compressed segments it was rolled into and the live file.
+ * Both are addressed by hour: {@link LogSegmentManifest} for the segments, {@link LogFileIndex} for
+ * the live file, so only the files overlapping the requested time range are opened.
+ */
+@Service
+public class LogFileServiceImpl implements LogFileService {
+
+    private final Path logFile;
+    private final String logFileName;
+    private final LogFileIndex index;
+    private final LogSegmentManifest manifest;
+    private final ParsedSegmentCache segmentCache;
+
+    public LogFileServiceImpl(@Value("${logging.file.name:OrderTracker.log}") String logFileName,
+                              @Value("${ordertracker.logging.query.cache-size:64MB}") DataSize cacheSize) {
+        this.logFile = Paths.get(logFileName);
+        this.logFileName = logFile.getFileName().toString();
+        this.index = new LogFileIndex(logFile);
+        this.manifest = new LogSegmentManifest(logFile);
+        this.segmentCache = new ParsedSegmentCache(cacheSize.toBytes());
+    }
+
+    @Override
+    public Optional<String> getLogsByDate(LocalDate date) {
+        return getLogSliceByDate(date).map(slice -> {
+            var out = new ByteArrayOutputStream((int) slice.length());
+            try {
+                slice.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read log file " + logFile, e);
+            }
+            String logs = out.toString(StandardCharsets.UTF_8);
+            return logs.endsWith("\n") ? logs.substring(0, logs.length() - 1) : logs;
+        });
+    }
+
+    @Override
+    public Optional<LogSlice> getLogSliceByDate(LocalDate date) {
+        List<LogSegment> segments = segments(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        List<LogSlice> parts = new ArrayList<>();
+        int first = 0;
+        for (int i = 1; i <= segments.size(); i++) {
+            if (i == segments.size() || !segments.get(i).source().equals(segments.get(first).source())) {
+                parts.add(slice(segments.get(first), segments.get(i - 1).end()));
+                first = i;
+            }
+        }
+        if (parts.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(parts.size() == 1 ? parts.get(0) : new CompositeLogSlice(parts));
+    }
+
+    /**
+     * Walks the hours overlapping the time range in the order they were written. Each hour is
+     * parsed once into columns and kept in {@link ParsedSegmentCache}, so repeated queries over the
+     * same day only compare numbers and decode the messages that reach the regex or the response.
+     *
+     * <p>Cursors are {@code <file>:<offset>}. A cursor whose file was deleted by the rolling policy
+     * restarts at the oldest remaining entry of the range.
+     */
+    @Override
+    public LogQueryResult query(LogQuery query) {
+        EntryFilter filter = new EntryFilter(query);
+        List<LogSegment> segments = segments(query.from(), query.to());
+
+        String cursorSource = null;
+        long cursorOffset = 0;
+        if (query.cursor() != null) {
+            int separator = query.cursor().lastIndexOf(':');
+            String source = query.cursor().substring(0, separator);
+            if (segments.stream().anyMatch(segment -> segment.source().equals(source))) {
+                cursorSource = source;
+                cursorOffset = Long.parseLong(query.cursor().substring(separator + 1));
+            }
+        }
+
+        List<LogEntry> entries = new ArrayList<>();
+        ArrayDeque<EntryRef> pending = new ArrayDeque<>();
+        int matches = 0;
+        int afterRemaining = 0;
+        for (LogSegment segment : segments) {
+            long start = 0;
+            if (cursorSource != null) {
+                if (!segment.source().equals(cursorSource)) {
+                    continue;
+                }
+                if (segment.end() <= cursorOffset) {
+                    continue;
+                }
+                start = cursorOffset;
+                cursorSource = null;
+            }
+            ParsedLogSegment parsed = parse(segment);
+            boolean[] loggers = matchLoggers(parsed, query.logger());
+            for (int i = parsed.firstEntryAtOrAfter(start); i < parsed.size(); i++) {
+                if (filter.matches(parsed, i, loggers)) {
+                    if (matches == query.limit()) {
+                        return new LogQueryResult(entries, matches, cursor(segment, parsed, i));
+                    }
+                    for (EntryRef ref : pending) {
+                        entries.add(toEntry(ref.source(), ref.segment(), ref.entry(), false));
+                    }
+                    pending.clear();
+                    entries.add(toEntry(segment.source(), parsed, i, true));
+                    matches++;
+                    afterRemaining = query.after();
+                } else if (afterRemaining > 0) {
+                    entries.add(toEntry(segment.source(), parsed, i, false));
+                    afterRemaining--;
+                } else if (matches == query.limit()) {
+                    return new LogQueryResult(entries, matches, cursor(segment, parsed, i));
+                } else if (query.before() > 0) {
+                    if (pending.size() == query.before()) {
+                        pending.removeFirst();
+                    }
+                    pending.addLast(new EntryRef(segment.source(), parsed, i));
+                }
+            }
+        }
+        return new LogQueryResult(entries, matches, null);
+    }
+
+    /**
+     * Parses each hour without going through {@link ParsedSegmentCache}: an export reads every hour
+     * once and would otherwise evict the hours recent queries are working on.
+     */
+    @Override
+    public long export(LogQuery query, OutputStream out, IntConsumer progress) throws IOException {
+        EntryFilter filter = new EntryFilter(query);
+        List<LogSegment> segments = segments(query.from(), query.to());
+        long total = segments.stream().mapToLong(LogSegment::length).sum();
+        long scanned = 0;
+        long written = 0;
+        for (LogSegment segment : segments) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Log export interrupted");
+            }
+            ParsedLogSegment parsed = ParsedLogSegment.parse(segment.start(), read(segment));
+            boolean[] loggers = matchLoggers(parsed, query.logger());
+            for (int i = 0; i < parsed.size(); i++) {
+                if (filter.matches(parsed, i, loggers)) {
+                    parsed.writeEntry(i, out);
+                    written++;
+                }
+            }
+            scanned += segment.length();
+            progress.accept((int) (scanned * 100 / Math.max(total, 1)));
+        }
+        progress.accept(100);
+        return written;
+    }
+
+    /**
+     * Returns the hours of the compressed segments and the live file overlapping {@code [from, to)},
+     * in the order they were written.
+     */
+    private List<LogSegment> segments(LocalDateTime from, LocalDateTime to) {
+        List<LogSegment> segments = new ArrayList<>();
+        try {
+            manifest.refresh();
+            segments.addAll(manifest.segments(from, to));
+            if (Files.exists(logFile)) {
+                index.refresh();
+                segments.addAll(index.segments(from, to));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index log file " + logFile, e);
+        }
+        return segments;
+    }
+
+    private LogSlice slice(LogSegment first, long end) {
+        return first.compressed()
+                ? new GzipLogSlice(manifest, first.source(), first.start(), end)
+                : new FileLogSlice(logFile, first.start(), end);
+    }
+
+    private ParsedLogSegment parse(LogSegment segment) {
+        try {
+            return segmentCache.get(segment, this::read);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read log file " + segment.source(), e);
+        }
+    }
+
+    private byte[] read(LogSegment segment) throws IOException {
+        if (segment.compressed()) {
+            return manifest.read(segment);
+        }
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(segment.length()));
+            while (buffer.hasRemaining()
+                    && channel.read(buffer, segment.start() + buffer.position()) > 0) {
+                // positioned reads do not move the channel, keep reading until the segment is complete
+            }
+            return buffer.position() == buffer.capacity()
+                    ? buffer.array()
+                    : Arrays.copyOf(buffer.array(), buffer.position());
+        }
+    }
+
+    /**
+     * Evaluates the logger filter once per distinct logger of the segment, or returns {@code null}
+     * if there is no filter.
+     */
+    private static boolean[] matchLoggers(ParsedLogSegment segment, String logger) {
+        if (logger == null) {
+            return null;
+        }
+        String[] names = segment.getLoggerNames();
+        boolean[] matches = new boolean[names.length];
+        for (int i = 0; i < names.length; i++) {
+            matches[i] = names[i].contains(logger);
+        }
+        return matches;
+    }
+
+    private static String cursor(LogSegment segment, ParsedLogSegment parsed, int entry) {
+        return segment.source() + ":" + parsed.getOffset(entry);
+    }
+
+    private static LogEntry toEntry(String source, ParsedLogSegment segment, int entry, boolean match) {
+        int level = segment.getLevel(entry);
+        return new LogEntry(
+                source,
+                segment.getOffset(entry),
+                segment.getTimestampText(entry),
+                level < 0 ? null : ParsedLogSegment.LEVELS.get(level),
+                segment.getLogger(entry),
+                segment.getMessage(entry),
+                match);
+    }
+
+    private static long wallClockMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Filters of a query evaluated against the columns of a parsed segment, cheapest first.
+     */
+    private static final class EntryFilter {
+        private final long from;
+        private final long to;
+        private final int minLevel;
+        private final Pattern message;
+
+        private EntryFilter(LogQuery query) {
+            this.from = query.from() == null ? Long.MIN_VALUE : wallClockMillis(query.from());
+            this.to = query.to() == null ? Long.MAX_VALUE : wallClockMillis(query.to());
+            this.minLevel = query.level() == null ? -1 : ParsedLogSegment.LEVELS.indexOf(query.level());
+            this.message = query.message();
+        }
+
+        private boolean matches(ParsedLogSegment segment, int entry, boolean[] loggers) {
+            long timestamp = segment.getTimestamp(entry);
+            return timestamp >= from && timestamp < to
+                    && (minLevel < 0 || segment.getLevel(entry) >= minLevel)
+                    && (loggers == null || (segment.getLoggerId(entry) >= 0 && loggers[segment.getLoggerId(entry)]))
+                    && (message == null || message.matcher(segment.getMessage(entry)).find());
+        }
+    }
+
+    private record EntryRef(String source, ParsedLogSegment segment, int entry) {
+    }
+}
@@ -1,33 +1,215 @@
 package ordertracker.core.services.impls;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import ordertracker.apllication.components.AsyncExecutor;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import ordertracker.apllication.config.LogTaskProperties;
+import ordertracker.core.enums.LogTaskStatus;
+import ordertracker.core.exceptions.TooManyRequestsException;
+import ordertracker.core.models.LogQuery;
 import ordertracker.core.models.LogTask;
+import ordertracker.core.models.LogTaskFile;
+import ordertracker.core.repositories.LogTaskFileRepository;
+import ordertracker.core.repositories.LogTaskRepository;
 import ordertracker.core.services.LogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+/**
+ * Log tasks are queued in the log_tasks table so they survive restarts. Each replica only writes its
+ * own log, so a task is run by the node it was created on; the extracted file is stored in the
+ * database, where any replica can serve and evict it. Workers claim due tasks with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED} and keep a lease on them while they run; a task whose
+ * lease expires is claimed again until it runs out of attempts.
+ */
 @Service
 public class LogServiceImpl implements LogService {
 
-    private final Map<String, LogTask> tasks = new ConcurrentHashMap<>();
+    private static final List<LogTaskStatus> FINISHED =
+            List.of(LogTaskStatus.READY, LogTaskStatus.FAILED, LogTaskStatus.CANCELLED);
 
-    private final AsyncExecutor asyncExecutor;
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    public LogServiceImpl(AsyncExecutor asyncExecutor) {
-        this.asyncExecutor = asyncExecutor;
+    private final LogTaskRepository logTaskRepository;
+    private final LogTaskFileRepository logTaskFileRepository;
+    private final LogTaskProperties properties;
+    private final String nodeId;
+
+    public LogServiceImpl(LogTaskRepository logTaskRepository, LogTaskFileRepository logTaskFileRepository,
+                          LogTaskProperties properties) {
+        this.logTaskRepository = logTaskRepository;
+        this.logTaskFileRepository = logTaskFileRepository;
+        this.properties = properties;
+        this.nodeId = StringUtils.hasText(properties.getNodeId())
+                ? properties.getNodeId()
+                : UUID.randomUUID().toString();
     }
 
     @Override
-    public LogTask createLogTask() {
-        LogTask task = new LogTask();
-        tasks.put(task.getId(), task);
-        asyncExecutor.processTaskAsync(task);
-        return task;
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public LogTask createLogTask(LogQuery query) {
+        if (countQueuedTasks() >= properties.getQueueCapacity()) {
+            throw new TooManyRequestsException("Too many log tasks in progress, try again later");
+        }
+        return logTaskRepository.save(new LogTask(query, nodeId, properties.getMaxAttempts()));
     }
 
     @Override
     public LogTask getTask(String id) {
-        return tasks.get(id);
+        return logTaskRepository.findById(id).orElse(null);
+    }
+
+    @Override
+    public long countQueuedTasks() {
+        return logTaskRepository.countByStatus(LogTaskStatus.CREATED);
+    }
+
+    @Override
+    public LogTaskFile getFile(String id) {
+        return logTaskFileRepository.findById(id).orElse(null);
+    }
+
+    /**
+     * Running tasks stop when their worker next renews the lease and finds the task cancelled.
+     */
+    @Override
+    @Transactional
+    public boolean cancelTask(String id) {
+        LogTask task = logTaskRepository.findById(id).orElse(null);
+        if (task == null) {
+            return false;
+        }
+        if (task.getStatus().isFinished()) {
+            remove(task);
+            return true;
+        }
+        task.setStatus(LogTaskStatus.CANCELLED);
+        task.setFinishedAt(Instant.now());
+        task.setLeaseOwner(null);
+        task.setLeaseExpiresAt(null);
+        return true;
+    }
+
+    /**
+     * Deletes finished tasks and their files once they are older than the configured TTL, and fails
+     * the tasks their node did not run within it, so they do not hold a place in the queue forever.
+     */
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${ordertracker.logs.tasks.eviction-interval:1m}")
+    public void evictExpiredTasks() {
+        Instant now = Instant.now();
+        Instant expiredBefore = now.minus(properties.getTtl());
+        for (LogTask task : logTaskRepository.findFinishedBefore(FINISHED, expiredBefore)) {
+            remove(task);
+        }
+        for (LogTask task : logTaskRepository.findAbandoned(expiredBefore, now)) {
+            logger.warn("Log task {} failed: node {} did not run it within {}", task.getId(), task.getOrigin(),
+                    properties.getTtl());
+            task.setStatus(LogTaskStatus.FAILED);
+            task.setError("Node " + task.getOrigin() + " did not run the task");
+            task.setFinishedAt(now);
+            task.setLeaseOwner(null);
+            task.setLeaseExpiresAt(null);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<LogTask> claimTasks(String owner, int limit) {
+        Instant now = Instant.now();
+        List<LogTask> claimed = new ArrayList<>();
+        for (LogTask task : logTaskRepository.lockClaimable(owner, now, limit)) {
+            if (task.getAttempts() >= task.getMaxAttempts()) {
+                logger.warn("Log task {} failed: lease of {} expired on the last attempt", task.getId(), task.getLeaseOwner());
+                task.setStatus(LogTaskStatus.FAILED);
+                task.setError("Worker stopped responding");
+                task.setFinishedAt(now);
+                task.setLeaseOwner(null);
+                task.setLeaseExpiresAt(null);
+                continue;
+            }
+            task.setStatus(LogTaskStatus.PROCESSING);
+            task.setAttempts(task.getAttempts() + 1);
+            task.setLeaseOwner(owner);
+            task.setLeaseExpiresAt(now.plus(properties.getLeaseDuration()));
+            task.setStartedAt(now);
+            task.setProgress(0);
+            claimed.add(task);
+        }
+        return claimed;
+    }
+
+    @Override
+    public boolean renewLease(String id, String owner, int progress) {
+        return logTaskRepository.renewLease(id, owner, Instant.now().plus(properties.getLeaseDuration()), progress) > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean completeTask(String id, String owner, long entries, byte[] content) {
+        LogTask task = leasedTask(id, owner);
+        if (task == null) {
+            return false;
+        }
+        logTaskFileRepository.save(new LogTaskFile(id, content));
+        task.setStatus(LogTaskStatus.READY);
+        task.setProgress(100);
+        task.setEntries(entries);
+        task.setError(null);
+        task.setFinishedAt(Instant.now());
+        task.setLeaseOwner(null);
+        task.setLeaseExpiresAt(null);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public void failTask(String id, String owner, String error) {
+        LogTask task = leasedTask(id, owner);
+        if (task == null) {
+            return;
+        }
+        task.setError(error == null || error.length() <= LogTask.MAX_ERROR_LENGTH
+                ? error
+                : error.substring(0, LogTask.MAX_ERROR_LENGTH));
+        task.setLeaseOwner(null);
+        task.setLeaseExpiresAt(null);
+        if (task.getAttempts() < task.getMaxAttempts()) {
+            task.setStatus(LogTaskStatus.CREATED);
+            task.setAvailableAt(Instant.now().plus(properties.getRetryBackoff().multipliedBy(task.getAttempts())));
+        } else {
+            task.setStatus(LogTaskStatus.FAILED);
+            task.setFinishedAt(Instant.now());
+        }
+    }
+
+    @Override
+    public void releaseTasks(String owner) {
+        logTaskRepository.releaseLeases(owner);
+    }
+
+    private LogTask leasedTask(String id, String owner) {
+        LogTask task = logTaskRepository.findById(id).orElse(null);
+        if (task == null || task.getStatus() != LogTaskStatus.PROCESSING || !owner.equals(task.getLeaseOwner())) {
+            return null;
+        }
+        return task;
+    }
+
+    private void remove(LogTask task) {
+        if (task.getStatus() == LogTaskStatus.READY) {
+            logTaskFileRepository.deleteByTaskId(task.getId());
+        }
+        logTaskRepository.delete(task);
     }
 }
@@ -0,0 +1,364 @@
+package ordertracker.core.services.impls;
+
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import ordertracker.apllication.config.LogTailProperties;
+import ordertracker.apllication.logging.ParsedLogSegment;
+import ordertracker.core.exceptions.TooManyRequestsException;
+import ordertracker.core.services.LogTailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Follows the log file for Server-Sent Events clients. A single tailer thread reads the appended
+ * bytes with positioned reads, woken by a {@link WatchService} on the log directory, and offers every
+ * complete entry to the bounded queue of each matching subscriber. Subscribers are drained on their
+ * own threads, so a client that reads slowly only fills and overflows its own queue.
+ *
+ * <p>An entry is complete when the next one starts, or when no line was added to it for
+ * {@link LogTailProperties#getEntryTimeout()}, as a stack trace may reach the file in several
+ * writes. Lines that still arrive after that are sent as an entry of their own, with the level of
+ * the entry they belong to.
+ *
+ * <p>The tailer starts with the first subscriber and stops when the last one leaves. A file that
+ * shrinks or is replaced, as on rollover, is followed from its beginning.
+ */
+@Service
+public class LogTailServiceImpl implements LogTailService {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int DRAIN_BATCH_SIZE = 256;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Path logFile;
+    private final LogTailProperties properties;
+    private final Supplier<SseEmitter> emitters;
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService drainExecutor;
+    private final AtomicInteger drainThreads = new AtomicInteger();
+    private Thread tailer;
+
+    @Autowired
+    public LogTailServiceImpl(@Value("${logging.file.name:OrderTracker.log}") String logFileName,
+                              LogTailProperties properties) {
+        this(logFileName, properties, () -> new SseEmitter(properties.getTimeout().toMillis()));
+    }
+
+    LogTailServiceImpl(String logFileName, LogTailProperties properties, Supplier<SseEmitter> emitters) {
+        this.logFile = Paths.get(logFileName).toAbsolutePath();
+        this.properties = properties;
+        this.emitters = emitters;
+        this.drainExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "log-tail-sender-" + drainThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public SseEmitter subscribe(String level, String contains) {
+        int minLevel = level == null ? -1 : ParsedLogSegment.LEVELS.indexOf(level);
+        SseEmitter emitter;
+        Subscriber subscriber;
+        synchronized (this) {
+            if (subscribers.size() >= properties.getMaxSubscribers()) {
+                throw new TooManyRequestsException("Log tail is limited to " + properties.getMaxSubscribers() + " clients");
+            }
+            emitter = emitters.get();
+            subscriber = new Subscriber(emitter, minLevel, contains, properties.getBufferSize());
+            subscribers.add(subscriber);
+            if (tailer == null) {
+                TailState state = new TailState();
+                state.fileKey = fileKey();
+                state.position = size();
+                tailer = new Thread(() -> tail(state), "log-tailer");
+                tailer.setDaemon(true);
+                tailer.start();
+            }
+        }
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread running;
+        synchronized (this) {
+            running = tailer;
+            tailer = null;
+        }
+        if (running != null) {
+            running.interrupt();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        drainExecutor.shutdownNow();
+    }
+
+    private synchronized void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        if (subscribers.isEmpty() && tailer != null) {
+            tailer.interrupt();
+            tailer = null;
+        }
+    }
+
+    private synchronized boolean isCurrentTailer() {
+        return tailer == Thread.currentThread();
+    }
+
+    /**
+     * Follows the file from the position in the given state, which is where it ended when the first
+     * subscriber arrived.
+     */
+    private void tail(TailState state) {
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            logFile.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            long entryTimeout = properties.getEntryTimeout().toNanos();
+            long nextHeartbeat = System.nanoTime() + properties.getHeartbeatInterval().toNanos();
+
+            while (isCurrentTailer()) {
+                read(state);
+                if (state.partialLine.size() == 0 && System.nanoTime() - state.lastLineAt >= entryTimeout) {
+                    publish(state);
+                }
+                if (System.nanoTime() >= nextHeartbeat) {
+                    subscribers.forEach(this::heartbeat);
+                    nextHeartbeat = System.nanoTime() + properties.getHeartbeatInterval().toNanos();
+                }
+                WatchKey key = watcher.poll(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            if (isCurrentTailer()) {
+                logger.warn("Log tail stopped: {}", e.getMessage());
+                subscribers.forEach(subscriber -> subscriber.emitter.completeWithError(e));
+            }
+        } finally {
+            synchronized (this) {
+                if (tailer == Thread.currentThread()) {
+                    tailer = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads what was appended since the last call and publishes the complete entries.
+     */
+    private void read(TailState state) throws IOException {
+        Object currentKey = fileKey();
+        if (currentKey == null) {
+            return;
+        }
+        if (!Objects.equals(currentKey, state.fileKey)) {
+            state.fileKey = currentKey;
+            state.position = 0;
+            state.partialLine.reset();
+        }
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < state.position) {
+                state.position = 0;
+                state.partialLine.reset();
+            }
+            ByteBuffer buffer = state.buffer;
+            while (state.position < size) {
+                buffer.clear();
+                int read = channel.read(buffer, state.position);
+                if (read <= 0) {
+                    break;
+                }
+                state.position += read;
+                accept(state, buffer.array(), read);
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        }
+    }
+
+    private void accept(TailState state, byte[] bytes, int length) {
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == '\n') {
+                state.partialLine.write(bytes, lineStart, i - lineStart);
+                String line = state.partialLine.toString(StandardCharsets.UTF_8);
+                state.partialLine.reset();
+                lineStart = i + 1;
+                if (isEntryStart(line)) {
+                    publish(state);
+                    state.level = parseLevel(line);
+                } else if (!state.entry.isEmpty()) {
+                    state.entry.append('\n');
+                }
+                state.entry.append(line);
+                state.lastLineAt = System.nanoTime();
+            }
+        }
+        state.partialLine.write(bytes, lineStart, length - lineStart);
+    }
+
+    private void publish(TailState state) {
+        if (state.entry.isEmpty()) {
+            return;
+        }
+        String entry = state.entry.toString();
+        state.entry.setLength(0);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(state.level, entry)) {
+                if (!subscriber.queue.offer(entry)) {
+                    subscriber.dropped.incrementAndGet();
+                }
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void heartbeat(Subscriber subscriber) {
+        subscriber.heartbeat = true;
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            drainExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Sends the queued entries of one subscriber, preceded by the number of entries dropped since
+     * the previous send if its queue overflowed.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                long dropped = subscriber.dropped.getAndSet(0);
+                if (dropped > 0) {
+                    subscriber.emitter.send(SseEmitter.event().name("dropped").data(dropped));
+                }
+                int sent = 0;
+                String entry;
+                while (sent < DRAIN_BATCH_SIZE && (entry = subscriber.queue.poll()) != null) {
+                    subscriber.emitter.send(SseEmitter.event().name("log").data(entry));
+                    sent++;
+                }
+                if (subscriber.heartbeat) {
+                    subscriber.heartbeat = false;
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+                subscriber.draining.set(false);
+                if ((subscriber.queue.isEmpty() && subscriber.dropped.get() == 0)
+                        || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Closing log tail client: {}", e.getMessage());
+            subscriber.draining.set(false);
+            unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private long size() {
+        try {
+            return Files.size(logFile);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private Object fileKey() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(logFile, BasicFileAttributes.class);
+            return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean isEntryStart(String line) {
+        return line.length() >= 23 && line.charAt(4) == '-' && line.charAt(7) == '-' && line.charAt(10) == 'T'
+                && Character.isDigit(line.charAt(0)) && Character.isDigit(line.charAt(11));
+    }
+
+    private static int parseLevel(String line) {
+        int start = line.indexOf(' ');
+        while (start >= 0 && start < line.length() && line.charAt(start) == ' ') {
+            start++;
+        }
+        int end = start < 0 ? -1 : line.indexOf(' ', start);
+        return end < 0 ? -1 : ParsedLogSegment.LEVELS.indexOf(line.substring(start, end));
+    }
+
+    private static final class TailState {
+        private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+        private final StringBuilder entry = new StringBuilder();
+        private Object fileKey;
+        private long position;
+        private int level = -1;
+        private long lastLineAt;
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final int minLevel;
+        private final String contains;
+        private final BlockingQueue<String> queue;
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeat;
+
+        private Subscriber(SseEmitter emitter, int minLevel, String contains, int bufferSize) {
+            this.emitter = emitter;
+            this.minLevel = minLevel;
+            this.contains = contains;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private boolean accepts(int level, String entry) {
+            return (minLevel < 0 || level >= minLevel) && (contains == null || entry.contains(contains));
+        }
+    }
+}
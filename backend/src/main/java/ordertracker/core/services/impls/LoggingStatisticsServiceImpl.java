@@ -0,0 +1,46 @@
+package ordertracker.core.services.impls;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import ordertracker.apllication.logging.AsyncRingBufferAppender;
+import ordertracker.core.models.AsyncLogStatistics;
+import ordertracker.core.services.LoggingStatisticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LoggingStatisticsServiceImpl implements LoggingStatisticsService {
+
+    static final String ASYNC_APPENDER_NAME = "ASYNC_FILE";
+
+    private static final Level[] LEVELS = {Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR};
+
+    @Override
+    public Optional<AsyncLogStatistics> getAsyncLogStatistics() {
+        return findAppender().map(appender -> {
+            Map<String, Long> dropped = new LinkedHashMap<>();
+            for (Level level : LEVELS) {
+                dropped.put(level.toString(), appender.getDroppedCount(level));
+            }
+            return new AsyncLogStatistics(
+                    appender.isEnabled(),
+                    appender.getCapacity(),
+                    appender.getQueuedCount(),
+                    appender.getWrittenCount(),
+                    appender.getBlockedCount(),
+                    dropped);
+        });
+    }
+
+    private Optional<AsyncRingBufferAppender> findAppender() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return Optional.empty();
+        }
+        var appender = context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(ASYNC_APPENDER_NAME);
+        return appender instanceof AsyncRingBufferAppender async ? Optional.of(async) : Optional.empty();
+    }
+}
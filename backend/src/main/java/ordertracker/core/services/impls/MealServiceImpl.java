@@ -4,7 +4,10 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Optional;
+import ordertracker.apllication.components.ActiveOrderProjection;
+import ordertracker.apllication.components.MealMenuCache;
 import ordertracker.core.models.Meal;
+import ordertracker.core.models.MealMenu;
 import ordertracker.core.repositories.MealRepository;
 import ordertracker.core.repositories.OrderRepository;
 import ordertracker.core.services.MealService;
@@ -15,13 +18,19 @@ import org.springframework.stereotype.Service;
 public class MealServiceImpl implements MealService {
     private final OrderRepository orderRepository;
     private final MealRepository mealRepository;
+    private final MealMenuCache mealMenuCache;
+    private final ActiveOrderProjection activeOrders;
 
     @Autowired
     public MealServiceImpl(
             OrderRepository orderRepository,
-            MealRepository mealRepository) {
+            MealRepository mealRepository,
+            MealMenuCache mealMenuCache,
+            ActiveOrderProjection activeOrders) {
         this.orderRepository = orderRepository;
         this.mealRepository = mealRepository;
+        this.mealMenuCache = mealMenuCache;
+        this.activeOrders = activeOrders;
     }
 
     @Override
@@ -29,6 +38,11 @@ public class MealServiceImpl implements MealService {
         return mealRepository.findAll();
     }
 
+    @Override
+    public MealMenu getMealMenu() {
+        return mealMenuCache.get();
+    }
+
     @Override
     public Optional<Meal> getMealById(int id) {
         return mealRepository.findById(id);
@@ -41,7 +55,9 @@ public class MealServiceImpl implements MealService {
 
     @Override
     public Meal addMeal(@Valid Meal meal) {
-        return mealRepository.save(meal);
+        Meal savedMeal = mealRepository.save(meal);
+        mealMenuCache.invalidate();
+        return savedMeal;
     }
 
     @Override
@@ -50,7 +66,9 @@ public class MealServiceImpl implements MealService {
             throw new IllegalArgumentException("IDs should not be provided for new meals");
         }
 
-        return mealRepository.saveAll(meals);
+        List<Meal> savedMeals = mealRepository.saveAll(meals);
+        mealMenuCache.invalidate();
+        return savedMeals;
     }
 
     @Override
@@ -62,20 +80,18 @@ public class MealServiceImpl implements MealService {
         meal.setCookingTime(mealDetails.getCookingTime());
         meal.setPrice(mealDetails.getPrice());
 
-        return mealRepository.save(meal);
+        Meal savedMeal = mealRepository.save(meal);
+        mealMenuCache.invalidate();
+        return savedMeal;
     }
 
     @Override
     public void deleteMeal(int id) {
         var meal = mealRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Meal not found with id: " + id));
-        var orders = orderRepository.findOrdersByMealId(id);
-
-        for (var order : orders) {
-            order.getMeals().remove(meal);
-        }
-
-        orderRepository.saveAll(orders);
+        orderRepository.deleteLinesByMealId(id);
         mealRepository.delete(meal);
+        mealMenuCache.invalidate();
+        activeOrders.mealDeleted(id);
     }
 }
\ No newline at end of file
@@ -1,14 +1,18 @@
 package ordertracker.core.services.impls;
 
 import jakarta.persistence.EntityNotFoundException;
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import ordertracker.apllication.components.ActiveOrderProjection;
+import ordertracker.apllication.components.CookingPace;
+import ordertracker.apllication.components.OrderMealWriter;
 import ordertracker.core.enums.OrderStatus;
-import ordertracker.core.models.Meal;
+import ordertracker.core.models.ActiveOrder;
 import ordertracker.core.models.Order;
 import ordertracker.core.repositories.CustomerRepository;
-import ordertracker.core.repositories.MealRepository;
 import ordertracker.core.repositories.OrderRepository;
 import ordertracker.core.services.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,16 +25,34 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
-    private final MealRepository mealRepository;
+    private final ActiveOrderProjection activeOrders;
+    private final OrderMealWriter orderMealWriter;
+    private final CookingPace cookingPace;
+    private final Clock clock;
 
     @Autowired
     public OrderServiceImpl(
             OrderRepository repository,
             CustomerRepository customerRepository,
-            MealRepository mealRepository) {
+            ActiveOrderProjection activeOrders,
+            OrderMealWriter orderMealWriter,
+            CookingPace cookingPace) {
+        this(repository, customerRepository, activeOrders, orderMealWriter, cookingPace, Clock.systemUTC());
+    }
+
+    OrderServiceImpl(
+            OrderRepository repository,
+            CustomerRepository customerRepository,
+            ActiveOrderProjection activeOrders,
+            OrderMealWriter orderMealWriter,
+            CookingPace cookingPace,
+            Clock clock) {
         this.orderRepository = repository;
         this.customerRepository = customerRepository;
-        this.mealRepository = mealRepository;
+        this.activeOrders = activeOrders;
+        this.orderMealWriter = orderMealWriter;
+        this.cookingPace = cookingPace;
+        this.clock = clock;
     }
 
     @Override
@@ -43,47 +65,72 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository.findById(id);
     }
 
+    @Override
+    public List<ActiveOrder> getActiveOrders(OrderStatus status) {
+        return activeOrders.getAll(status);
+    }
+
+    @Override
+    public Map<OrderStatus, Integer> getActiveOrderCounts() {
+        return activeOrders.counts();
+    }
+
     @Override
     public Order addOrder(int customerId) {
-        var customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + customerId));
+        if (!customerRepository.existsById(customerId)) {
+            throw new EntityNotFoundException("Customer not found with id: " + customerId);
+        }
+        var customer = customerRepository.getReferenceById(customerId);
         var order = new Order(null, customer, new ArrayList<>(), OrderStatus.ACCEPTED);
 
-        return orderRepository.save(order);
+        var savedOrder = orderRepository.save(order);
+        activeOrders.added(savedOrder);
+        return savedOrder;
     }
 
     @Override
     public Order updateOrderStatus(int id, OrderStatus status) {
         var order = getOrderById(id)
                 .orElseThrow(() -> new EntityNotFoundException(NOT_FOUND_MESSAGE + id));
-        order.setStatus(status);
-
-        return orderRepository.save(order);
+        OrderStatus previousStatus = order.getStatus();
+        order.changeStatus(status, clock.instant());
+
+        var savedOrder = orderRepository.save(order);
+        if (previousStatus == OrderStatus.COOKING && status == OrderStatus.READY) {
+            activeOrders.get(id).ifPresent(cooking ->
+                    cookingPace.cooked(cooking.statusSince(), savedOrder.getStatusChangedAt(), cooking.mealIds()));
+        }
+        activeOrders.statusChanged(savedOrder);
+        return savedOrder;
     }
 
     @Override
     public Order addMealToOrder(int orderId, int mealId) {
-        var order = getOrderById(orderId)
-                .orElseThrow(() -> new EntityNotFoundException(NOT_FOUND_MESSAGE + orderId));
-        var meal = mealRepository.findById(mealId)
-                .orElseThrow(() -> new EntityNotFoundException("Meal not found with id: " + mealId));
-
-        order.getMeals().add(meal);
-        return orderRepository.save(order);
+        return addMeals(orderId, new int[]{mealId});
     }
 
     @Override
     public Order addMealsToOrder(int orderId, List<Integer> mealIds) {
-        var order = getOrderById(orderId)
-                .orElseThrow(() -> new EntityNotFoundException(NOT_FOUND_MESSAGE + orderId));
+        return addMeals(orderId, mealIds.stream().mapToInt(Integer::intValue).toArray());
+    }
 
-        List<Meal> meals = mealIds.stream()
-                .map(mealId -> mealRepository.findById(mealId)
-                        .orElseThrow(() -> new EntityNotFoundException("Meal not found with id:" + mealId)))
-                .toList();
+    /**
+     * Inserts the meals without loading the order's meal list, so concurrent additions to the same
+     * order cannot overwrite each other, then returns the order as stored.
+     */
+    private Order addMeals(int orderId, int[] mealIds) {
+        orderMealWriter.addMeals(orderId, mealIds);
+        activeOrders.mealsAdded(orderId, mealIds);
+        return getOrderById(orderId)
+                .orElseThrow(() -> new EntityNotFoundException(NOT_FOUND_MESSAGE + orderId));
+    }
 
-        order.getMeals().addAll(meals);
-        return orderRepository.save(order);
+    @Override
+    public Order updateMealQuantity(int orderId, int mealId, int quantity) {
+        orderMealWriter.setQuantity(orderId, mealId, quantity);
+        activeOrders.mealQuantityChanged(orderId, mealId, quantity);
+        return getOrderById(orderId)
+                .orElseThrow(() -> new EntityNotFoundException(NOT_FOUND_MESSAGE + orderId));
     }
 
     @Override
@@ -91,16 +138,12 @@ public class OrderServiceImpl implements OrderService {
         var order = getOrderById(id)
                 .orElseThrow(() -> new EntityNotFoundException(NOT_FOUND_MESSAGE + id));
         orderRepository.delete(order);
+        activeOrders.removed(id);
     }
 
     @Override
     public void deleteMealInOrder(int orderId, int mealId) {
-        var order = getOrderById(orderId)
-                .orElseThrow(() -> new EntityNotFoundException(NOT_FOUND_MESSAGE + orderId));
-        var meal = mealRepository.findById(mealId)
-                .orElseThrow(() -> new EntityNotFoundException("Meal not found with id: " + mealId));
-
-        order.getMeals().remove(meal);
-        orderRepository.save(order);
+        orderMealWriter.removeMeal(orderId, mealId);
+        activeOrders.mealRemoved(orderId, mealId);
     }
 }
\ No newline at end of file
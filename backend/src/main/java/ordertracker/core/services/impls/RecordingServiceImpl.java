@@ -0,0 +1,182 @@
+package ordertracker.core.services.impls;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import ordertracker.apllication.config.JfrProperties;
+import ordertracker.core.exceptions.BadRequestException;
+import ordertracker.core.exceptions.ResourceNotFoundException;
+import ordertracker.core.models.RecordingInfo;
+import ordertracker.core.services.RecordingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs flight recordings with the JDK base configuration overlaid with the bundled OrderTracker
+ * event settings. Recordings are kept on disk within {@code maxAge} and {@code maxSize}, so one
+ * can stay on for the whole life of the application and be dumped when an incident happens.
+ * Only the last {@code maxDumps} dump files are kept in the dump directory.
+ */
+@Service
+public class RecordingServiceImpl implements RecordingService {
+
+    private static final String RECORDING_NAME = "ordertracker";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final String DUMP_GLOB = RECORDING_NAME + "-*.jfr";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final JfrProperties properties;
+    private final Map<String, String> settings;
+    private Recording recording;
+    private long dumps;
+
+    public RecordingServiceImpl(JfrProperties properties) {
+        this.properties = properties;
+        this.settings = loadSettings(properties);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuousRecording() {
+        if (properties.isContinuous()) {
+            startRecording(null);
+            logger.info("Continuous flight recording started, keeping the last {}", properties.getMaxAge());
+        }
+    }
+
+    @Override
+    public synchronized RecordingInfo startRecording(Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new BadRequestException("A recording is already running");
+        }
+        closeRecording();
+        Recording started = new Recording(settings);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(properties.getMaxAge());
+        started.setMaxSize(properties.getMaxSize().toBytes());
+        if (duration != null) {
+            started.setDuration(duration);
+        }
+        started.start();
+        recording = started;
+        return toInfo(started);
+    }
+
+    @Override
+    public synchronized RecordingInfo getRecording() {
+        return recording == null ? null : toInfo(recording);
+    }
+
+    @Override
+    public synchronized Path dumpRecording() throws IOException {
+        if (recording == null) {
+            throw new ResourceNotFoundException("No recording was started");
+        }
+        return dump(recording);
+    }
+
+    @Override
+    public synchronized Path stopRecording() throws IOException {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new ResourceNotFoundException("No recording is running");
+        }
+        recording.stop();
+        return dump(recording);
+    }
+
+    @PreDestroy
+    public synchronized void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * Writes the recording to a new file, named after the time and a per-process counter so two
+     * dumps in the same millisecond do not overwrite each other, then deletes the oldest dumps
+     * beyond {@code maxDumps}.
+     */
+    private Path dump(Recording source) throws IOException {
+        Files.createDirectories(properties.getDirectory());
+        Path file = properties.getDirectory().resolve(
+                RECORDING_NAME + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + "-" + ++dumps + ".jfr");
+        source.dump(file);
+        deleteOldDumps(file);
+        return file;
+    }
+
+    private void deleteOldDumps(Path latest) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(properties.getDirectory(), DUMP_GLOB)) {
+            stream.forEach(files::add);
+        }
+        if (files.size() <= properties.getMaxDumps()) {
+            return;
+        }
+        Map<Path, FileTime> modified = new HashMap<>();
+        for (Path file : files) {
+            modified.put(file, Files.getLastModifiedTime(file));
+        }
+        files.remove(latest);
+        files.sort(Comparator.comparing(modified::get));
+        for (Path file : files.subList(0, files.size() + 1 - Math.max(1, properties.getMaxDumps()))) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete old recording dump {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private static RecordingInfo toInfo(Recording recording) {
+        return new RecordingInfo(
+                recording.getId(),
+                recording.getName(),
+                recording.getState().name(),
+                recording.getStartTime(),
+                recording.getDuration(),
+                recording.getMaxAge(),
+                recording.getMaxSize(),
+                recording.getSize()
+        );
+    }
+
+    private static Map<String, String> loadSettings(JfrProperties properties) {
+        try {
+            Map<String, String> settings =
+                    new HashMap<>(Configuration.getConfiguration(properties.getBaseConfiguration()).getSettings());
+            if (properties.getConfiguration() != null) {
+                try (Reader reader = new InputStreamReader(properties.getConfiguration().getInputStream(),
+                        StandardCharsets.UTF_8)) {
+                    settings.putAll(Configuration.create(reader).getSettings());
+                }
+            }
+            return settings;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not load the flight recorder configuration", e);
+        }
+    }
+}
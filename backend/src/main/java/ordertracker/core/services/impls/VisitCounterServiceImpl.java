@@ -1,20 +1,41 @@
 package ordertracker.core.services.impls;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.LongAdder;
 import ordertracker.core.services.VisitCounterService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class VisitCounterServiceImpl implements VisitCounterService {
+    static final String METER_NAME = "ordertracker.visits";
+    static final int MAX_METERED_URLS = 1000;
+
     private final ConcurrentHashMap<String, LongAdder> urlCounter = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public VisitCounterServiceImpl() {
+        this(null);
+    }
+
+    @Autowired
+    public VisitCounterServiceImpl(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     @Override
     public void incrementCount(String url) {
-        LongAdder adder = urlCounter.computeIfAbsent(url, k -> new LongAdder());
+        LongAdder adder = urlCounter.computeIfAbsent(url, this::newCounter);
         adder.increment();  // Намного быстрее AtomicInteger при высокой нагрузке
     }
 
+    @Override
+    public void restoreCount(String url, long count) {
+        urlCounter.computeIfAbsent(url, this::newCounter).add(count);
+    }
+
     @Override
     public int getCount(String url) {
         LongAdder adder = urlCounter.get(url);
@@ -27,4 +48,20 @@ public class VisitCounterServiceImpl implements VisitCounterService {
         urlCounter.forEach((url, adder) -> result.put(url, adder.intValue()));
         return result;
     }
+
+    /**
+     * Creates the adder of a new URL and exposes it as a function counter, so the metrics scrape
+     * reads the adder directly and the increment path stays untouched. URLs beyond
+     * {@link #MAX_METERED_URLS} (e.g. paths with ids) are still counted but not exported.
+     */
+    private LongAdder newCounter(String url) {
+        LongAdder adder = new LongAdder();
+        if (meterRegistry != null && urlCounter.size() < MAX_METERED_URLS) {
+            FunctionCounter.builder(METER_NAME, adder, LongAdder::sum)
+                    .description("Requests per URL counted by the visit counter filter")
+                    .tag("url", url)
+                    .register(meterRegistry);
+        }
+        return adder;
+    }
 }
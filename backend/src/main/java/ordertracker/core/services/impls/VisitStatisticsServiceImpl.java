@@ -0,0 +1,139 @@
+package ordertracker.core.services.impls;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import ordertracker.apllication.config.VisitCounterClusterProperties;
+import ordertracker.core.models.VisitStatistics;
+import ordertracker.core.repositories.VisitCounterShardRepository;
+import ordertracker.core.services.VisitCounterService;
+import ordertracker.core.services.VisitStatisticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * Serves visit statistics either from the local counters or, in cluster mode, from the merged
+ * grow-only counter stored in the visit_counters table. Every node only ever writes its own entries,
+ * so the totals converge without coordination; reads are served from the last merge result.
+ */
+@Service
+public class VisitStatisticsServiceImpl implements VisitStatisticsService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final VisitCounterService visitCounterService;
+    private final VisitCounterShardRepository shardRepository;
+    private final VisitCounterClusterProperties properties;
+    private final Clock clock;
+    private final String nodeId;
+
+    private final Map<String, Integer> publishedCounts = new HashMap<>();
+    private boolean restored;
+    private volatile MergeResult lastMerge;
+
+    @Autowired
+    public VisitStatisticsServiceImpl(
+            VisitCounterService visitCounterService,
+            VisitCounterShardRepository shardRepository,
+            VisitCounterClusterProperties properties) {
+        this(visitCounterService, shardRepository, properties, Clock.systemUTC());
+    }
+
+    VisitStatisticsServiceImpl(
+            VisitCounterService visitCounterService,
+            VisitCounterShardRepository shardRepository,
+            VisitCounterClusterProperties properties,
+            Clock clock) {
+        this.visitCounterService = visitCounterService;
+        this.shardRepository = shardRepository;
+        this.properties = properties;
+        this.clock = clock;
+        this.nodeId = StringUtils.hasText(properties.getNodeId())
+                ? properties.getNodeId()
+                : UUID.randomUUID().toString();
+    }
+
+    @Override
+    public VisitStatistics getStatistics() {
+        MergeResult merge = lastMerge;
+        if (!properties.isEnabled() || merge == null) {
+            return new VisitStatistics(visitCounterService.getAllCounts(), nodeId, 1, false, null, 0);
+        }
+        return new VisitStatistics(merge.counts(), nodeId, merge.nodes(), true, merge.syncedAt(), staleness(merge));
+    }
+
+    @Override
+    public int getCount(String url) {
+        MergeResult merge = lastMerge;
+        if (!properties.isEnabled() || merge == null) {
+            return visitCounterService.getCount(url);
+        }
+        return merge.counts().getOrDefault(url, 0);
+    }
+
+    @Override
+    public long getStalenessMs() {
+        MergeResult merge = lastMerge;
+        return !properties.isEnabled() || merge == null ? 0 : staleness(merge);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ordertracker.statistics.cluster.sync-interval:5s}")
+    public synchronized void synchronize() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            if (!restored) {
+                restoreLocalCounts();
+            }
+            publishLocalCounts();
+            lastMerge = readMergedCounts();
+        } catch (DataAccessException e) {
+            logger.warn("Visit counter synchronization failed, serving previous totals: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the entries this node persisted before a restart, so its part of the counter keeps growing
+     * instead of starting again from zero.
+     */
+    private void restoreLocalCounts() {
+        shardRepository.findByIdNodeId(nodeId).forEach(shard ->
+                visitCounterService.restoreCount(shard.getId().getUrl(), shard.getCount()));
+        restored = true;
+        logger.info("Visit counters of node {} restored from the shared table", nodeId);
+    }
+
+    private void publishLocalCounts() {
+        visitCounterService.getAllCounts().forEach((url, count) -> {
+            if (!count.equals(publishedCounts.get(url))) {
+                shardRepository.publish(nodeId, url, count);
+                publishedCounts.put(url, count);
+            }
+        });
+    }
+
+    private MergeResult readMergedCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        shardRepository.sumCountsByUrl().forEach(total ->
+                counts.put(total.getUrl(), (int) Math.min(Integer.MAX_VALUE, total.getTotal())));
+        int nodes = (int) shardRepository.countNodes();
+        return new MergeResult(Map.copyOf(counts), nodes, clock.instant());
+    }
+
+    private long staleness(MergeResult merge) {
+        return Duration.between(merge.syncedAt(), clock.instant()).toMillis();
+    }
+
+    private record MergeResult(Map<String, Integer> counts, int nodes, Instant syncedAt) {
+    }
+}
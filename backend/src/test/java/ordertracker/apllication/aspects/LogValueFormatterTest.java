@@ -0,0 +1,157 @@
+package ordertracker.apllication.aspects;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.models.LogEntry;
+import ordertracker.core.models.LogQueryResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogValueFormatterTest {
+
+    private final LogValueFormatter formatter = new LogValueFormatter(5, 2);
+
+    @Test
+    void format_ShouldTruncateLongTextAndEscapeLineBreaks() {
+        // Act
+        String result = formatter.format("ab\ncdefgh");
+
+        // Assert
+        assertEquals("\"ab\\ncd...(+4 chars)\"", result);
+    }
+
+    @Test
+    void format_ShouldTruncateToStringOfOtherObjects() {
+        // Arrange
+        Object value = new Object() {
+            @Override
+            public String toString() {
+                return "Customer[id=1]";
+            }
+        };
+
+        // Act
+        String result = formatter.format(value);
+
+        // Assert
+        assertEquals("Custo...(+9 chars)", result);
+    }
+
+    @Test
+    void format_ShouldRenderOnlyFirstItemsOfCollections() {
+        // Act
+        String cut = formatter.format(List.of(1, 2, 3));
+        String complete = formatter.format(List.of(1, 2));
+        String empty = formatter.format(List.of());
+
+        // Assert
+        assertEquals(cut.substring(0, cut.indexOf('(')) + "(size=3)[1, 2, ...]", cut);
+        assertTrue(complete.endsWith("(size=2)[1, 2]"));
+        assertTrue(empty.endsWith("(size=0)[]"));
+    }
+
+    @Test
+    void format_ShouldNotExpandNestedCollections() {
+        // Arrange
+        Map<String, List<Integer>> map = new LinkedHashMap<>();
+        map.put("a", List.of(1, 2, 3));
+        map.put("b", List.of());
+        map.put("c", List.of(4));
+
+        // Act
+        String result = formatter.format(map);
+
+        // Assert
+        assertTrue(result.startsWith("LinkedHashMap(size=3)[\"a\"="), result);
+        assertFalse(result.contains("1"), result);
+        assertTrue(result.endsWith(", ...]"), result);
+    }
+
+    @Test
+    void format_ShouldUnwrapResponsesAndOptionals() {
+        // Act
+        String response = formatter.format(ResponseEntity.ok(Optional.of(OrderStatus.READY)));
+        String missing = formatter.format(ResponseEntity.notFound().build());
+
+        // Assert
+        assertEquals("HTTP 200 Optional[READY]", response);
+        assertEquals("HTTP 404 null", missing);
+    }
+
+    @Test
+    void format_ShouldReduceArraysToTheirLength() {
+        // Act
+        String result = formatter.format(new int[]{1, 2, 3, 4});
+
+        // Assert
+        assertEquals("int[](length=4)", result);
+    }
+
+    @Test
+    void format_ShouldRenderRecordComponentsWithCollectionRules() {
+        // Arrange
+        List<LogEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.add(new LogEntry("OrderTracker.log", i * 100L, "2024-01-01T10:00:00.000Z", "INFO",
+                    "ordertracker.Sample", "message " + "x".repeat(1000), true));
+        }
+        LogQueryResult result = new LogQueryResult(entries, entries.size(), "OrderTracker.log:100000");
+
+        // Act
+        String formatted = new LogValueFormatter(200, 2).format(result);
+
+        // Assert
+        assertTrue(formatted.startsWith("LogQueryResult[entries=ArrayList(size=1000)[LogEntry[file=\"OrderTracker.log\", "),
+                formatted);
+        assertTrue(formatted.contains("message=\"message xxx"), formatted);
+        assertTrue(formatted.contains("...(+808 chars)\", ...], ...], ...]"), formatted);
+        assertFalse(formatted.contains("offset=200"), formatted);
+        assertTrue(formatted.length() < 1500, "length " + formatted.length());
+    }
+
+    @Test
+    void format_ShouldStopRenderingRecordComponentsAtLengthLimit() {
+        // Arrange
+        Sample sample = new Sample("abcdefgh", List.of(1, 2, 3), new int[]{1});
+
+        // Act
+        String result = formatter.format(sample);
+
+        // Assert
+        assertEquals("Sample[name=\"abcde...(+3 chars)\", ...]", result);
+    }
+
+    @Test
+    void format_WhenToStringFails_ShouldNameTheFailure() {
+        // Act
+        String result = new LogValueFormatter(200, 2).format(new Unprintable());
+
+        // Assert
+        assertEquals("Unprintable<toString failed: IllegalStateException>", result);
+    }
+
+    @Test
+    void formatArgs_ShouldJoinArguments() {
+        // Act
+        String result = formatter.formatArgs(new Object[]{7, null, "abcdef"});
+
+        // Assert
+        assertEquals("[7, null, \"abcde...(+1 chars)\"]", result);
+    }
+
+    private record Sample(String name, List<Integer> values, int[] flags) {
+    }
+
+    private static final class Unprintable {
+        @Override
+        public String toString() {
+            throw new IllegalStateException("lazy");
+        }
+    }
+}
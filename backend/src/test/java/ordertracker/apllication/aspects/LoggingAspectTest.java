@@ -0,0 +1,161 @@
+package ordertracker.apllication.aspects;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import ordertracker.apllication.config.ControllerLoggingProperties;
+import ordertracker.apllication.config.ControllerLoggingProperties.Mode;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoggingAspectTest {
+
+    private static final Duration NEVER_SLOW = Duration.ofHours(1);
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private MethodSignature signature;
+
+    private final Logger aspectLogger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Level previousLevel;
+    private ControllerLoggingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = aspectLogger.getLevel();
+        aspectLogger.setLevel(Level.INFO);
+        appender.start();
+        aspectLogger.addAppender(appender);
+        properties = new ControllerLoggingProperties();
+        properties.setSlowThreshold(NEVER_SLOW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aspectLogger.detachAppender(appender);
+        aspectLogger.setLevel(previousLevel);
+    }
+
+    @Test
+    void logCall_InAllMode_ShouldLogSampledCallAtInfo() throws Throwable {
+        // Arrange
+        givenCall("getOrder", "found");
+
+        // Act
+        Object result = new LoggingAspect(properties).logCall(joinPoint);
+
+        // Assert
+        assertEquals("found", result);
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.INFO, event.getLevel());
+        assertTrue(event.getFormattedMessage().startsWith(
+                "controller_call endpoint=SampleController.getOrder duration_us="), event.getFormattedMessage());
+        assertTrue(event.getFormattedMessage().endsWith("slow=false args=[7] result=\"found\""),
+                event.getFormattedMessage());
+    }
+
+    @Test
+    void logCall_ShouldApplyPerEndpointSampleRates() throws Throwable {
+        // Arrange
+        properties.setSampleRate(0.0);
+        properties.getSampleRates().put("SampleController.getOrder", 1.0);
+        LoggingAspect aspect = new LoggingAspect(properties);
+
+        // Act
+        givenCall("getOrders", List.of());
+        for (int i = 0; i < 20; i++) {
+            aspect.logCall(joinPoint);
+        }
+        givenCall("getOrder", "found");
+        aspect.logCall(joinPoint);
+
+        // Assert
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("endpoint=SampleController.getOrder "));
+    }
+
+    @Test
+    void logCall_WhenSlow_ShouldLogAtWarnEvenIfNotSampled() throws Throwable {
+        // Arrange
+        properties.setSampleRate(0.0);
+        properties.setSlowThreshold(Duration.ZERO);
+        givenCall("getOrder", "found");
+
+        // Act
+        new LoggingAspect(properties).logCall(joinPoint);
+
+        // Assert
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains(" slow=true "));
+    }
+
+    @Test
+    void logCall_InSlowOnlyMode_ShouldLogOnlySlowCalls() throws Throwable {
+        // Arrange
+        properties.setMode(Mode.SLOW_ONLY);
+        givenCall("getOrder", "found");
+        new LoggingAspect(properties).logCall(joinPoint);
+        properties.setSlowThreshold(Duration.ZERO);
+
+        // Act
+        new LoggingAspect(properties).logCall(joinPoint);
+
+        // Assert
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+    }
+
+    @Test
+    void logCall_InOffMode_ShouldOnlyProceed() throws Throwable {
+        // Arrange
+        properties.setMode(Mode.OFF);
+        properties.setSlowThreshold(Duration.ZERO);
+        when(joinPoint.proceed()).thenReturn("found");
+
+        // Act
+        Object result = new LoggingAspect(properties).logCall(joinPoint);
+
+        // Assert
+        assertEquals("found", result);
+        assertTrue(appender.list.isEmpty());
+        verify(joinPoint, never()).getArgs();
+        verify(joinPoint, never()).getSignature();
+    }
+
+    private void givenCall(String methodName, Object result) throws Throwable {
+        Method method = SampleController.class.getDeclaredMethod(methodName, int.class);
+        lenient().when(joinPoint.getSignature()).thenReturn(signature);
+        lenient().when(signature.getMethod()).thenReturn(method);
+        lenient().when(joinPoint.getArgs()).thenReturn(new Object[]{7});
+        when(joinPoint.proceed()).thenReturn(result);
+    }
+
+    @SuppressWarnings("unused")
+    private static final class SampleController {
+        Object getOrder(int id) {
+            return null;
+        }
+
+        Object getOrders(int page) {
+            return null;
+        }
+    }
+}
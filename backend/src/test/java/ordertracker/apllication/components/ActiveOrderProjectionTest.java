@@ -0,0 +1,301 @@
+package ordertracker.apllication.components;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.models.ActiveOrder;
+import ordertracker.core.models.Customer;
+import ordertracker.core.models.Meal;
+import ordertracker.core.models.Order;
+import ordertracker.core.repositories.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveOrderProjectionTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private ActiveOrderProjection activeOrders;
+
+    @BeforeEach
+    void setUp() {
+        activeOrders = new ActiveOrderProjection(orderRepository);
+    }
+
+    @Test
+    void rebuild_ShouldGroupLineRowsByOrder() {
+        // Arrange
+        List<Object[]> rows = List.of(
+                new Object[]{1, 7, OrderStatus.ACCEPTED, 10, 1, null},
+                new Object[]{1, 7, OrderStatus.ACCEPTED, 11, 2, null},
+                new Object[]{2, 8, OrderStatus.COOKING, null, null, null},
+                new Object[]{3, 7, OrderStatus.COOKING, 10, 1, null});
+        when(orderRepository.findOrderMealRowsByStatusNot(OrderStatus.READY)).thenReturn(rows);
+
+        // Act
+        activeOrders.rebuild();
+
+        // Assert
+        assertArrayEquals(new int[]{10, 11, 11}, activeOrders.get(1).orElseThrow().mealIds());
+        assertEquals(0, activeOrders.get(2).orElseThrow().mealIds().length);
+        assertEquals(List.of(2, 3), activeOrders.getAll(OrderStatus.COOKING).stream().map(ActiveOrder::id).toList());
+        assertEquals(Map.of(OrderStatus.ACCEPTED, 1, OrderStatus.COOKING, 2), activeOrders.counts());
+    }
+
+    @Test
+    void rebuild_ShouldKeepStoredStatusTimes() {
+        // Arrange
+        Instant cookingSince = Instant.parse("2025-03-01T12:00:00Z");
+        Instant loadedAt = cookingSince.plusSeconds(3600);
+        activeOrders = new ActiveOrderProjection(orderRepository, Clock.fixed(loadedAt, ZoneOffset.UTC));
+        List<Object[]> rows = List.of(
+                new Object[]{1, 7, OrderStatus.COOKING, 10, 1, cookingSince},
+                new Object[]{2, 7, OrderStatus.ACCEPTED, 10, 1, null});
+        when(orderRepository.findOrderMealRowsByStatusNot(OrderStatus.READY)).thenReturn(rows);
+
+        // Act
+        activeOrders.rebuild();
+
+        // Assert
+        assertEquals(cookingSince, activeOrders.get(1).orElseThrow().statusSince());
+        assertEquals(loadedAt, activeOrders.get(2).orElseThrow().statusSince());
+    }
+
+    @Test
+    void statusChanged_ShouldUseStoredStatusTime() {
+        // Arrange
+        Instant accepted = Instant.parse("2025-03-01T12:00:00Z");
+        Instant cooking = accepted.plusSeconds(600);
+        Order order = order(1, OrderStatus.ACCEPTED, 10);
+        order.setStatusChangedAt(accepted);
+        activeOrders.added(order);
+
+        // Act
+        order.changeStatus(OrderStatus.COOKING, cooking);
+        activeOrders.statusChanged(order);
+
+        // Assert
+        assertEquals(cooking, activeOrders.get(1).orElseThrow().statusSince());
+    }
+
+    @Test
+    void statusChanged_ToReady_ShouldRemoveOrderAndUpdateCounts() {
+        // Arrange
+        Order order = order(1, OrderStatus.ACCEPTED, 10);
+        activeOrders.added(order);
+
+        // Act
+        order.setStatus(OrderStatus.COOKING);
+        activeOrders.statusChanged(order);
+        int cooking = activeOrders.count(OrderStatus.COOKING);
+        order.setStatus(OrderStatus.READY);
+        activeOrders.statusChanged(order);
+
+        // Assert
+        assertEquals(1, cooking);
+        assertTrue(activeOrders.get(1).isEmpty());
+        assertEquals(0, activeOrders.count(OrderStatus.COOKING));
+        assertEquals(0, activeOrders.count(OrderStatus.ACCEPTED));
+    }
+
+    @Test
+    void statusChanged_FromReady_ShouldAddOrderWithItsMeals() {
+        // Arrange
+        Order order = order(1, OrderStatus.COOKING, 10, 11);
+
+        // Act
+        activeOrders.statusChanged(order);
+
+        // Assert
+        assertArrayEquals(new int[]{10, 11}, activeOrders.get(1).orElseThrow().mealIds());
+        assertEquals(1, activeOrders.count(OrderStatus.COOKING));
+    }
+
+    @Test
+    void statusChanged_ShouldRestartStatusClockOnlyOnChange() {
+        // Arrange
+        Instant accepted = Instant.parse("2025-03-01T12:00:00Z");
+        Instant cooking = accepted.plusSeconds(600);
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(accepted, cooking, cooking.plusSeconds(60));
+        activeOrders = new ActiveOrderProjection(orderRepository, clock);
+        Order order = order(1, OrderStatus.ACCEPTED, 10);
+        activeOrders.added(order);
+
+        // Act
+        order.setStatus(OrderStatus.COOKING);
+        activeOrders.statusChanged(order);
+        activeOrders.statusChanged(order);
+
+        // Assert
+        assertEquals(cooking, activeOrders.get(1).orElseThrow().statusSince());
+    }
+
+    @Test
+    void mealChanges_ShouldUpdateMealIds() {
+        // Arrange
+        activeOrders.added(order(1, OrderStatus.ACCEPTED, 10));
+        activeOrders.added(order(2, OrderStatus.ACCEPTED, 10, 10));
+
+        // Act
+        activeOrders.mealsAdded(1, 11, 10);
+        activeOrders.mealRemoved(1, 10);
+        activeOrders.mealQuantityChanged(1, 12, 2);
+        activeOrders.mealDeleted(10);
+
+        // Assert
+        assertArrayEquals(new int[]{11, 12, 12}, activeOrders.get(1).orElseThrow().mealIds());
+        assertEquals(0, activeOrders.get(2).orElseThrow().mealIds().length);
+    }
+
+    @Test
+    void customerDeleted_ShouldRemoveTheirOrders() {
+        // Arrange
+        activeOrders.added(order(1, OrderStatus.ACCEPTED));
+        Order otherCustomerOrder = order(2, OrderStatus.COOKING);
+        otherCustomerOrder.getCustomer().setId(8);
+        activeOrders.added(otherCustomerOrder);
+
+        // Act
+        activeOrders.customerDeleted(7);
+
+        // Assert
+        assertTrue(activeOrders.get(1).isEmpty());
+        assertTrue(activeOrders.get(2).isPresent());
+        assertEquals(0, activeOrders.count(OrderStatus.ACCEPTED));
+    }
+
+    @Test
+    void added_InTransaction_ShouldOnlyApplyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        boolean visibleBeforeCommit;
+        try {
+            // Act
+            activeOrders.added(order(1, OrderStatus.ACCEPTED));
+            activeOrders.added(order(2, OrderStatus.ACCEPTED));
+            visibleBeforeCommit = activeOrders.get(1).isPresent();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.get(0).afterCommit();
+            synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertFalse(visibleBeforeCommit);
+        assertTrue(activeOrders.get(1).isPresent());
+        assertTrue(activeOrders.get(2).isEmpty());
+    }
+
+    @Test
+    void resync_ShouldPickUpChangesMadeElsewhere() {
+        // Arrange
+        List<Object[]> first = List.of(
+                new Object[]{1, 7, OrderStatus.ACCEPTED, 10, 1, null},
+                new Object[]{2, 7, OrderStatus.ACCEPTED, 10, 1, null});
+        List<Object[]> second = List.of(
+                new Object[]{1, 7, OrderStatus.COOKING, 10, 1, null},
+                new Object[]{3, 8, OrderStatus.ACCEPTED, 11, 1, null});
+        when(orderRepository.findOrderMealRowsByStatusNot(OrderStatus.READY)).thenReturn(first, second);
+        activeOrders.rebuild();
+        long version = activeOrders.version();
+
+        // Act
+        activeOrders.resync();
+
+        // Assert
+        assertEquals(List.of(1, 3), activeOrders.getAll(null).stream().map(ActiveOrder::id).toList());
+        assertEquals(OrderStatus.COOKING, activeOrders.get(1).orElseThrow().status());
+        assertEquals(Map.of(OrderStatus.ACCEPTED, 1, OrderStatus.COOKING, 1), activeOrders.counts());
+        assertNotEquals(version, activeOrders.version());
+    }
+
+    @Test
+    void resync_ShouldKeepOrdersChangedWhileLoading() {
+        // Arrange
+        when(orderRepository.findOrderMealRowsByStatusNot(OrderStatus.READY))
+                .thenReturn(List.<Object[]>of(new Object[]{1, 7, OrderStatus.ACCEPTED, 10, 1, null}))
+                .thenAnswer(invocation -> {
+                    activeOrders.mealsAdded(1, 11);
+                    activeOrders.removed(2);
+                    return List.<Object[]>of(
+                            new Object[]{1, 7, OrderStatus.ACCEPTED, 10, 1, null},
+                            new Object[]{2, 7, OrderStatus.ACCEPTED, 10, 1, null},
+                            new Object[]{3, 7, OrderStatus.ACCEPTED, 10, 1, null});
+                });
+        activeOrders.rebuild();
+
+        // Act
+        activeOrders.resync();
+
+        // Assert
+        assertArrayEquals(new int[]{10, 11}, activeOrders.get(1).orElseThrow().mealIds());
+        assertTrue(activeOrders.get(2).isEmpty());
+        assertTrue(activeOrders.get(3).isPresent());
+        assertEquals(2, activeOrders.count(OrderStatus.ACCEPTED));
+    }
+
+    @Test
+    void resync_WhenAllOrdersChangedWhileLoading_ShouldDropTheLoad() {
+        // Arrange
+        when(orderRepository.findOrderMealRowsByStatusNot(OrderStatus.READY))
+                .thenReturn(List.<Object[]>of(new Object[]{1, 7, OrderStatus.ACCEPTED, 10, 1, null}))
+                .thenAnswer(invocation -> {
+                    activeOrders.mealDeleted(10);
+                    return List.<Object[]>of(
+                            new Object[]{1, 7, OrderStatus.ACCEPTED, 10, 1, null},
+                            new Object[]{2, 7, OrderStatus.ACCEPTED, 10, 1, null});
+                });
+        activeOrders.rebuild();
+
+        // Act
+        activeOrders.resync();
+
+        // Assert
+        assertEquals(0, activeOrders.get(1).orElseThrow().mealIds().length);
+        assertTrue(activeOrders.get(2).isEmpty());
+    }
+
+    @Test
+    void resync_WhenDatabaseFails_ShouldKeepContentAndTrackChangesAgain() {
+        // Arrange
+        when(orderRepository.findOrderMealRowsByStatusNot(OrderStatus.READY))
+                .thenReturn(List.<Object[]>of(new Object[]{1, 7, OrderStatus.ACCEPTED, 10, 1, null}))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.<Object[]>of(new Object[]{1, 7, OrderStatus.COOKING, 10, 1, null}));
+        activeOrders.rebuild();
+
+        // Act
+        activeOrders.resync();
+        activeOrders.mealDeleted(10);
+        activeOrders.resync();
+
+        // Assert
+        assertEquals(OrderStatus.COOKING, activeOrders.get(1).orElseThrow().status());
+    }
+
+    private static Order order(int id, OrderStatus status, int... mealIds) {
+        Order order = new Order(id, new Customer(7, "1234567890", "John"), new ArrayList<>(), status);
+        for (int mealId : mealIds) {
+            order.addMeal(new Meal(mealId, "Meal " + mealId, new BigDecimal("9.99"), 10), 1);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,119 @@
+package ordertracker.apllication.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import ordertracker.apllication.config.KitchenProperties;
+import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.models.Meal;
+import ordertracker.core.models.MealMenu;
+import ordertracker.core.repositories.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CookingPaceTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private MealMenuCache mealMenuCache;
+
+    private CookingPace cookingPace;
+
+    @BeforeEach
+    void setUp() {
+        KitchenProperties properties = new KitchenProperties();
+        properties.setPaceSmoothing(0.5);
+        properties.setPaceHistory(3);
+        cookingPace = new CookingPace(orderRepository, mealMenuCache, properties, new SimpleMeterRegistry());
+        lenient().when(mealMenuCache.get()).thenReturn(new MealMenu(0, "W/\"menu\"", new byte[0], null, Map.of(
+                1, meal(1, 10), 2, meal(2, 20))));
+    }
+
+    @Test
+    void cooked_ShouldMoveFactorTowardsObservedOverLongestMeal() {
+        // Act
+        cookingPace.cooked(NOW.minus(Duration.ofMinutes(40)), NOW, new int[]{1, 2});
+
+        // Assert
+        assertEquals(1.5, cookingPace.factor(), 1e-9);
+    }
+
+    @Test
+    void cooked_ShouldClampOutliers() {
+        // Act
+        cookingPace.cooked(NOW.minus(Duration.ofHours(10)), NOW, new int[]{1});
+
+        // Assert
+        assertEquals(1 + 0.5 * (CookingPace.MAX_SAMPLE - 1), cookingPace.factor(), 1e-9);
+    }
+
+    @Test
+    void cooked_InTransaction_ShouldOnlyCountAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        double beforeCommit;
+        try {
+            // Act
+            cookingPace.cooked(NOW.minus(Duration.ofMinutes(5)), NOW, new int[]{1});
+            beforeCommit = cookingPace.factor();
+            TransactionSynchronizationManager.getSynchronizations().get(0).afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(1, beforeCommit, 1e-9);
+        assertEquals(0.75, cookingPace.factor(), 1e-9);
+        verify(mealMenuCache, times(1)).get();
+    }
+
+    @Test
+    void reload_ShouldLearnFromStoredOrdersOldestFirst() {
+        // Arrange
+        cookingPace.cooked(NOW.minus(Duration.ofMinutes(40)), NOW, new int[]{1});
+        when(orderRepository.findCookingTimesByStatus(OrderStatus.READY, PageRequest.of(0, 3))).thenReturn(List.of(
+                new Object[]{NOW.minus(Duration.ofMinutes(10)), NOW, 10},
+                new Object[]{NOW.minus(Duration.ofMinutes(30)), NOW, 10}));
+
+        // Act
+        cookingPace.reload();
+
+        // Assert
+        assertEquals(1.5, cookingPace.factor(), 1e-9);
+    }
+
+    @Test
+    void reload_WhenDatabaseFails_ShouldKeepFactor() {
+        // Arrange
+        cookingPace.cooked(NOW.minus(Duration.ofMinutes(20)), NOW, new int[]{1});
+        when(orderRepository.findCookingTimesByStatus(eq(OrderStatus.READY), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act
+        cookingPace.reload();
+
+        // Assert
+        assertEquals(1.5, cookingPace.factor(), 1e-9);
+    }
+
+    private static Meal meal(int id, int cookingTime) {
+        return new Meal(id, "Meal " + id, new BigDecimal("3.50"), cookingTime);
+    }
+}
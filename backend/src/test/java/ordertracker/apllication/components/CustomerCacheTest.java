@@ -0,0 +1,167 @@
+package ordertracker.apllication.components;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import ordertracker.apllication.config.CustomerCacheProperties;
+import ordertracker.core.models.Customer;
+import ordertracker.core.models.CustomerSnapshot;
+import ordertracker.core.repositories.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerCacheTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private MeterRegistry meterRegistry;
+    private CustomerCache customerCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        customerCache = new CustomerCache(customerRepository, new CustomerCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void getById_ShouldLoadOnceAndReportHits() {
+        // Arrange
+        when(customerRepository.findById(1)).thenReturn(Optional.of(new Customer(1, "1234567890", "John")));
+
+        // Act
+        Optional<CustomerSnapshot> first = customerCache.getById(1);
+        Optional<CustomerSnapshot> second = customerCache.getById(1);
+
+        // Assert
+        assertEquals(Optional.of(new CustomerSnapshot(1, "1234567890", "John")), first);
+        assertEquals(first, second);
+        verify(customerRepository, times(1)).findById(1);
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "customers.by-id").gauge().value());
+    }
+
+    @Test
+    void getById_WhenCustomerNotExists_ShouldNotCacheAbsence() {
+        // Arrange
+        when(customerRepository.findById(2)).thenReturn(Optional.empty());
+
+        // Act
+        customerCache.getById(2);
+        Optional<CustomerSnapshot> result = customerCache.getById(2);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(customerRepository, times(2)).findById(2);
+    }
+
+    @Test
+    void getByPhoneNumber_AfterLookupById_ShouldUseIndex() {
+        // Arrange
+        when(customerRepository.findById(1)).thenReturn(Optional.of(new Customer(1, "1234567890", "John")));
+        customerCache.getById(1);
+
+        // Act
+        Optional<CustomerSnapshot> result = customerCache.getByPhoneNumber("1234567890");
+
+        // Assert
+        assertEquals(1, result.orElseThrow().id());
+        verify(customerRepository, never()).findByPhoneNumber(any());
+    }
+
+    @Test
+    void getByPhoneNumber_AfterPhoneChanged_ShouldNotReturnCustomerByOldPhone() {
+        // Arrange
+        when(customerRepository.findIdByPhoneNumber("1111111111")).thenReturn(Optional.of(1));
+        when(customerRepository.findById(1))
+                .thenReturn(Optional.of(new Customer(1, "1111111111", "John")))
+                .thenReturn(Optional.of(new Customer(1, "2222222222", "John")));
+        customerCache.getByPhoneNumber("1111111111");
+        when(customerRepository.findIdByPhoneNumber("1111111111")).thenReturn(Optional.empty());
+
+        // Act
+        customerCache.invalidate(1);
+        Optional<CustomerSnapshot> byOldPhone = customerCache.getByPhoneNumber("1111111111");
+        Optional<CustomerSnapshot> byId = customerCache.getById(1);
+
+        // Assert
+        assertTrue(byOldPhone.isEmpty());
+        assertEquals("2222222222", byId.orElseThrow().phoneNumber());
+    }
+
+    @Test
+    void getByPhoneNumber_WhenInvalidatedDuringLoad_ShouldNotKeepStaleSnapshot() throws InterruptedException {
+        // Arrange
+        CountDownLatch loading = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            try {
+                loading.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            customerCache.invalidate(1);
+        });
+        when(customerRepository.findIdByPhoneNumber("1234567890")).thenReturn(Optional.of(1));
+        when(customerRepository.findById(1))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    awaitBlocked(writer);
+                    return Optional.of(new Customer(1, "1234567890", "Stale"));
+                })
+                .thenReturn(Optional.of(new Customer(1, "1234567890", "Jack")));
+        writer.start();
+
+        // Act
+        Optional<CustomerSnapshot> during = customerCache.getByPhoneNumber("1234567890");
+        writer.join(5000);
+
+        // Assert
+        assertEquals("Stale", during.orElseThrow().name());
+        assertEquals("Jack", customerCache.getById(1).orElseThrow().name());
+    }
+
+    @Test
+    void invalidate_InTransaction_ShouldEvictAgainAfterCompletion() {
+        // Arrange
+        when(customerRepository.findById(1))
+                .thenReturn(Optional.of(new Customer(1, "1234567890", "John")))
+                .thenReturn(Optional.of(new Customer(1, "1234567890", "Stale")))
+                .thenReturn(Optional.of(new Customer(1, "1234567890", "Jack")));
+        customerCache.getById(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            customerCache.invalidate(1);
+            customerCache.getById(1);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals("Jack", customerCache.getById(1).orElseThrow().name());
+    }
+
+    /**
+     * Waits until the thread is blocked, here on the lock of the entry being loaded.
+     */
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.BLOCKED && thread.getState() != Thread.State.WAITING
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
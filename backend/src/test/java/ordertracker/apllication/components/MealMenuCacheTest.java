@@ -0,0 +1,180 @@
+package ordertracker.apllication.components;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import ordertracker.apllication.config.MealCacheProperties;
+import ordertracker.core.models.Meal;
+import ordertracker.core.models.MealMenu;
+import ordertracker.core.repositories.MealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MealMenuCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+
+    @Mock
+    private MealRepository mealRepository;
+
+    @Mock
+    private Clock clock;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MealMenuCache mealMenuCache;
+
+    @BeforeEach
+    void setUp() {
+        MealCacheProperties properties = new MealCacheProperties();
+        properties.setTtl(Duration.ofSeconds(30));
+        mealMenuCache = new MealMenuCache(mealRepository, objectMapper, properties, clock);
+        lenient().when(clock.instant()).thenReturn(NOW);
+    }
+
+    @Test
+    void get_ShouldEncodeOnceUntilInvalidated() throws IOException {
+        // Arrange
+        when(mealRepository.findAll()).thenReturn(List.of(new Meal(1, "Pizza", new BigDecimal("10.99"), 11)));
+
+        // Act
+        MealMenu first = mealMenuCache.get();
+        MealMenu second = mealMenuCache.get();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("Pizza", objectMapper.readTree(first.identity()).get(0).get("name").asText());
+        assertTrue(first.etag().startsWith("W/\""));
+        verify(mealRepository, times(1)).findAll();
+    }
+
+    @Test
+    void get_AfterInvalidate_ShouldEncodeChangedMenuWithNewEtag() {
+        // Arrange
+        when(mealRepository.findAll())
+                .thenReturn(List.of(new Meal(1, "Pizza", new BigDecimal("10.99"), 11)))
+                .thenReturn(List.of(new Meal(1, "Pizza", new BigDecimal("12.99"), 11)));
+        MealMenu before = mealMenuCache.get();
+
+        // Act
+        mealMenuCache.invalidate();
+        MealMenu after = mealMenuCache.get();
+
+        // Assert
+        assertNotEquals(before.etag(), after.etag());
+        assertTrue(after.generation() > before.generation());
+        verify(mealRepository, times(2)).findAll();
+    }
+
+    @Test
+    void get_WhenMenuUnchanged_ShouldKeepEtagAcrossGenerations() {
+        // Arrange
+        when(mealRepository.findAll()).thenReturn(List.of(new Meal(1, "Pizza", new BigDecimal("10.99"), 11)));
+        MealMenu before = mealMenuCache.get();
+
+        // Act
+        mealMenuCache.invalidate();
+        MealMenu after = mealMenuCache.get();
+
+        // Assert
+        assertEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void get_AfterTtl_ShouldPickUpChangesMadeElsewhere() {
+        // Arrange
+        when(mealRepository.findAll())
+                .thenReturn(List.of(new Meal(1, "Pizza", new BigDecimal("10.99"), 11)))
+                .thenReturn(List.of(new Meal(1, "Pizza", new BigDecimal("12.99"), 11)));
+        MealMenu before = mealMenuCache.get();
+        when(clock.instant()).thenReturn(NOW.plusSeconds(29));
+        MealMenu withinTtl = mealMenuCache.get();
+
+        // Act
+        when(clock.instant()).thenReturn(NOW.plusSeconds(30));
+        MealMenu after = mealMenuCache.get();
+
+        // Assert
+        assertSame(before, withinTtl);
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(after.generation(), mealMenuCache.generation());
+        assertTrue(after.generation() > before.generation());
+        assertSame(after, mealMenuCache.get());
+    }
+
+    @Test
+    void get_AfterTtl_WhenMenuUnchanged_ShouldKeepGeneration() {
+        // Arrange
+        when(mealRepository.findAll()).thenReturn(List.of(new Meal(1, "Pizza", new BigDecimal("10.99"), 11)));
+        MealMenu before = mealMenuCache.get();
+
+        // Act
+        when(clock.instant()).thenReturn(NOW.plusSeconds(30));
+        MealMenu after = mealMenuCache.get();
+
+        // Assert
+        assertEquals(before.generation(), after.generation());
+        verify(mealRepository, times(2)).findAll();
+    }
+
+    @Test
+    void get_ShouldProvideGzipOfSameJson() throws IOException {
+        // Arrange
+        List<Meal> meals = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            meals.add(new Meal(i, "Meal " + i, new BigDecimal("9.99"), 15));
+        }
+        when(mealRepository.findAll()).thenReturn(meals);
+
+        // Act
+        MealMenu menu = mealMenuCache.get();
+
+        // Assert
+        assertNotNull(menu.gzip());
+        assertTrue(menu.gzip().length < menu.identity().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(menu.gzip()))) {
+            assertArrayEquals(menu.identity(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void invalidate_InTransaction_ShouldReencodeAfterCompletion() {
+        // Arrange
+        when(mealRepository.findAll())
+                .thenReturn(List.of(new Meal(1, "Pizza", new BigDecimal("10.99"), 11)))
+                .thenReturn(List.of(new Meal(1, "Pizza", new BigDecimal("10.99"), 11)))
+                .thenReturn(List.of(new Meal(1, "Pizza", new BigDecimal("12.99"), 11)));
+        mealMenuCache.get();
+        TransactionSynchronizationManager.initSynchronization();
+        MealMenu duringTransaction;
+        try {
+            // Act
+            mealMenuCache.invalidate();
+            duringTransaction = mealMenuCache.get();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertNotEquals(duringTransaction.etag(), mealMenuCache.get().etag());
+        verify(mealRepository, times(3)).findAll();
+    }
+}
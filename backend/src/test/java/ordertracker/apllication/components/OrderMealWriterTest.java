@@ -0,0 +1,196 @@
+package ordertracker.apllication.components;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.exceptions.BadRequestException;
+import ordertracker.core.models.Customer;
+import ordertracker.core.models.Meal;
+import ordertracker.core.models.Order;
+import ordertracker.core.repositories.CustomerRepository;
+import ordertracker.core.repositories.MealRepository;
+import ordertracker.core.repositories.OrderRepository;
+import ordertracker.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+class OrderMealWriterTest {
+
+    @Autowired
+    private OrderMealWriter orderMealWriter;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Order order;
+    private List<Meal> meals;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        mealRepository.deleteAll();
+        Customer customer = customerRepository.save(new Customer(null, "+375291112233", "Ivan"));
+        meals = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            meals.add(mealRepository.save(new Meal(null, "Meal " + i, BigDecimal.valueOf(500 + i, 2), 10)));
+        }
+        order = orderRepository.save(new Order(null, customer, new ArrayList<>(), OrderStatus.ACCEPTED));
+    }
+
+    @Test
+    void addMeals_FromConcurrentCallers_ShouldKeepEveryMeal() throws Exception {
+        // Arrange
+        int callers = 8;
+        int mealId = meals.get(0).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    orderMealWriter.addMeals(order.getId(), mealId, mealId);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(2 * callers, portions(mealId));
+    }
+
+    @Test
+    void addMeals_OverLimit_ShouldFailWithoutWriting() {
+        // Arrange
+        int mealId = meals.get(0).getId();
+        int[] almostFull = new int[Order.MAX_MEALS - 1];
+        Arrays.fill(almostFull, mealId);
+        orderMealWriter.addMeals(order.getId(), almostFull);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> orderMealWriter.addMeals(order.getId(), mealId, mealId));
+        orderMealWriter.addMeals(order.getId(), mealId);
+        assertEquals(Order.MAX_MEALS, portions(mealId));
+    }
+
+    @Test
+    void addMeals_WhenMealOrOrderNotExists_ShouldThrowException() {
+        // Arrange
+        int missingMealId = meals.get(2).getId() + 100;
+
+        // Act & Assert
+        EntityNotFoundException mealMissing = assertThrows(EntityNotFoundException.class,
+                () -> orderMealWriter.addMeals(order.getId(), meals.get(0).getId(), missingMealId));
+        EntityNotFoundException orderMissing = assertThrows(EntityNotFoundException.class,
+                () -> orderMealWriter.addMeals(order.getId() + 100, meals.get(0).getId()));
+        assertEquals("Meal not found with id: " + missingMealId, mealMissing.getMessage());
+        assertEquals("Order not found with id: " + (order.getId() + 100), orderMissing.getMessage());
+        assertEquals(0, portions(meals.get(0).getId()));
+    }
+
+    @Test
+    void removeMeal_ShouldRemoveOnePortionAndKeepOtherMeals() {
+        // Arrange
+        int first = meals.get(0).getId();
+        int second = meals.get(1).getId();
+        orderMealWriter.addMeals(order.getId(), first, second, first);
+
+        // Act
+        orderMealWriter.removeMeal(order.getId(), first);
+        orderMealWriter.removeMeal(order.getId(), meals.get(2).getId());
+
+        // Assert
+        assertEquals(1, portions(first));
+        assertEquals(1, portions(second));
+    }
+
+    @Test
+    void setQuantity_ShouldUpdateLineInPlaceAndKeepUnitPrice() {
+        // Arrange
+        Meal meal = meals.get(0);
+        orderMealWriter.addMeals(order.getId(), meal.getId());
+        jdbcTemplate.update("UPDATE meals SET price = 9.99 WHERE id = ?", meal.getId());
+
+        // Act
+        orderMealWriter.setQuantity(order.getId(), meal.getId(), 10);
+        assertThrows(BadRequestException.class,
+                () -> orderMealWriter.setQuantity(order.getId(), meals.get(1).getId(), Order.MAX_MEALS - 9));
+
+        // Assert
+        assertEquals(10, portions(meal.getId()));
+        assertEquals(0, meal.getPrice().compareTo(jdbcTemplate.queryForObject(
+                "SELECT unit_price FROM order_lines WHERE order_id = ? AND meal_id = ?",
+                BigDecimal.class, order.getId(), meal.getId())));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_lines WHERE order_id = ?",
+                Integer.class, order.getId()));
+    }
+
+    @Test
+    void setQuantity_ToZero_ShouldRemoveLine() {
+        // Arrange
+        int mealId = meals.get(0).getId();
+        orderMealWriter.addMeals(order.getId(), mealId, mealId);
+
+        // Act
+        orderMealWriter.setQuantity(order.getId(), mealId, 0);
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_lines WHERE order_id = ?",
+                Integer.class, order.getId()));
+    }
+
+    @Test
+    void addMeals_InCallerTransaction_ShouldRollBackWithIt() {
+        // Arrange
+        int mealId = meals.get(0).getId();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            orderMealWriter.addMeals(order.getId(), mealId);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertEquals(0, portions(mealId));
+    }
+
+    private int portions(int mealId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM order_lines WHERE order_id = ? AND meal_id = ?",
+                Integer.class, order.getId(), mealId);
+    }
+}
@@ -0,0 +1,72 @@
+package ordertracker.apllication.components;
+
+import java.math.BigDecimal;
+import ordertracker.core.models.Customer;
+import ordertracker.core.models.Meal;
+import ordertracker.core.repositories.CustomerRepository;
+import ordertracker.core.repositories.MealRepository;
+import ordertracker.core.repositories.OrderRepository;
+import ordertracker.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc
+class ServerTimingFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        mealRepository.deleteAll();
+        customer = customerRepository.save(new Customer(null, "+375291112233", "Ivan"));
+        mealRepository.save(new Meal(null, "Soup", BigDecimal.valueOf(350, 2), 10));
+    }
+
+    @Test
+    void jsonResponse_ShouldCarryPhaseTimings() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/{id}/orders", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingFilter.HEADER, allOf(
+                        containsString("db;dur="),
+                        containsString("desc=\"2 statements\""),
+                        containsString("desc=\"1 acquired\""),
+                        containsString("handler;dur="),
+                        containsString("ser;dur="),
+                        containsString("aspect;dur="),
+                        matchesPattern(".*total;dur=\\d+\\.\\d{2}$"))));
+    }
+
+    @Test
+    void errorResponse_ShouldCarryPhaseTimings() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/{id}/orders", customer.getId() + 1000))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(ServerTimingFilter.HEADER, containsString("desc=\"1 statements\"")));
+    }
+}
@@ -0,0 +1,107 @@
+package ordertracker.apllication.components;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WarmupFilterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    @Mock
+    private FilterChain chain;
+
+    @InjectMocks
+    private WarmupFilter warmupFilter;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_WarmupWrite_ShouldFlushAndRollBack() throws Exception {
+        // Arrange
+        String token = warmupFilter.open();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/customers");
+        request.addHeader(WarmupFilter.TOKEN_HEADER, token);
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+
+        // Act
+        warmupFilter.doFilter(request, response, chain);
+
+        // Assert
+        verify(chain).doFilter(request, response);
+        verify(transactionStatus).flush();
+        verify(transactionManager).rollback(transactionStatus);
+        verify(transactionManager, never()).commit(any());
+        assertEquals(Boolean.TRUE, request.getAttribute(WarmupFilter.WARMUP_ATTRIBUTE));
+    }
+
+    @Test
+    void doFilter_WarmupRead_ShouldNotOpenTransaction() throws Exception {
+        // Arrange
+        String token = warmupFilter.open();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/meals");
+        request.addHeader(WarmupFilter.TOKEN_HEADER, token);
+
+        // Act
+        warmupFilter.doFilter(request, response, chain);
+
+        // Assert
+        verify(chain).doFilter(request, response);
+        verifyNoInteractions(transactionManager);
+        assertEquals(Boolean.TRUE, request.getAttribute(WarmupFilter.WARMUP_ATTRIBUTE));
+    }
+
+    @Test
+    void doFilter_AfterWarmupClosed_ShouldPassRequestThrough() throws Exception {
+        // Arrange
+        String token = warmupFilter.open();
+        warmupFilter.close();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/customers");
+        request.addHeader(WarmupFilter.TOKEN_HEADER, token);
+
+        // Act
+        warmupFilter.doFilter(request, response, chain);
+
+        // Assert
+        verify(chain).doFilter(request, response);
+        verifyNoInteractions(transactionManager);
+        assertNull(request.getAttribute(WarmupFilter.WARMUP_ATTRIBUTE));
+    }
+
+    @Test
+    void doFilter_WrongToken_ShouldPassRequestThrough() throws Exception {
+        // Arrange
+        warmupFilter.open();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/customers");
+        request.addHeader(WarmupFilter.TOKEN_HEADER, "guess");
+
+        // Act
+        warmupFilter.doFilter(request, response, chain);
+
+        // Assert
+        verifyNoInteractions(transactionManager);
+        assertNull(request.getAttribute(WarmupFilter.WARMUP_ATTRIBUTE));
+    }
+}
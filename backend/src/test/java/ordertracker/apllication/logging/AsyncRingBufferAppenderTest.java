@@ -0,0 +1,195 @@
+package ordertracker.apllication.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AppenderBase;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import ordertracker.core.models.AsyncLogStatistics;
+import ordertracker.core.services.impls.LoggingStatisticsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncRingBufferAppenderTest {
+
+    private static final int CAPACITY = 4;
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("test");
+    private final BlockingAppender target = new BlockingAppender();
+    private AsyncRingBufferAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        target.setContext(context);
+        target.start();
+        appender = new AsyncRingBufferAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC_FILE");
+        appender.setCapacity(CAPACITY);
+        appender.setBatchSize(1);
+        appender.setBlockingLevel("ERROR");
+        appender.addAppender(target);
+        appender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void append_WhenBufferIsFull_ShouldDropAndCountEventsBelowBlockingLevel() throws Exception {
+        // Arrange
+        fillBuffer();
+
+        // Act
+        appender.doAppend(event(Level.INFO, "dropped 1"));
+        appender.doAppend(event(Level.WARN, "dropped 2"));
+        appender.doAppend(event(Level.INFO, "dropped 3"));
+        target.release.countDown();
+
+        // Assert
+        target.await(1 + CAPACITY);
+        assertEquals(2, appender.getDroppedCount(Level.INFO));
+        assertEquals(1, appender.getDroppedCount(Level.WARN));
+        assertEquals(0, appender.getBlockedCount());
+        assertTrue(target.messages().stream().noneMatch(message -> message.startsWith("dropped")));
+    }
+
+    @Test
+    void append_WhenBufferIsFull_ShouldBlockEventsAtBlockingLevelUntilThereIsRoom() throws Exception {
+        // Arrange
+        fillBuffer();
+        Thread caller = new Thread(() -> appender.doAppend(event(Level.ERROR, "kept")));
+
+        // Act
+        caller.start();
+        caller.join(200);
+        boolean waited = caller.isAlive();
+        target.release.countDown();
+        caller.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Assert
+        assertTrue(waited);
+        assertFalse(caller.isAlive());
+        assertEquals(1, appender.getBlockedCount());
+        assertEquals(0, appender.getDroppedCount(Level.ERROR));
+        target.await(2 + CAPACITY);
+        assertEquals("kept", target.messages().get(1 + CAPACITY));
+    }
+
+    @Test
+    void stop_ShouldWriteQueuedEventsFirst() throws Exception {
+        // Arrange
+        fillBuffer();
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            target.release.countDown();
+        });
+
+        // Act
+        releaser.start();
+        appender.stop();
+
+        // Assert
+        assertEquals(List.of("writing", "queued 0", "queued 1", "queued 2", "queued 3"), target.messages());
+        assertEquals(1 + CAPACITY, appender.getWrittenCount());
+        assertEquals(0, appender.getQueuedCount());
+    }
+
+    @Test
+    void getAsyncLogStatistics_ShouldReportDroppedEventsByLevel() throws Exception {
+        // Arrange
+        fillBuffer();
+        appender.doAppend(event(Level.DEBUG, "dropped"));
+        Logger root = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        Appender<ILoggingEvent> configured = root.getAppender("ASYNC_FILE");
+        if (configured != null) {
+            root.detachAppender(configured);
+        }
+        root.addAppender(appender);
+        AsyncLogStatistics statistics;
+        try {
+            // Act
+            statistics = new LoggingStatisticsServiceImpl().getAsyncLogStatistics().orElseThrow();
+        } finally {
+            root.detachAppender(appender);
+            if (configured != null) {
+                root.addAppender(configured);
+            }
+        }
+
+        // Assert
+        assertEquals(1L, statistics.dropped().get("DEBUG"));
+        assertEquals(0L, statistics.dropped().get("INFO"));
+        assertEquals(CAPACITY, statistics.queued());
+        assertEquals(CAPACITY, statistics.capacity());
+    }
+
+    /**
+     * Leaves the writer thread stuck on a first event and the buffer full behind it.
+     */
+    private void fillBuffer() throws InterruptedException {
+        appender.doAppend(event(Level.INFO, "writing"));
+        assertTrue(target.entered.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < CAPACITY; i++) {
+            appender.doAppend(event(Level.INFO, "queued " + i));
+        }
+        assertEquals(CAPACITY, appender.getQueuedCount());
+    }
+
+    private ILoggingEvent event(Level level, String message) {
+        return new LoggingEvent(getClass().getName(), logger, level, message, null, null);
+    }
+
+    /**
+     * Records what it is given, holding the first event until released.
+     */
+    private static final class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event.getFormattedMessage());
+        }
+
+        private List<String> messages() {
+            return events;
+        }
+
+        private void await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, events.size(), "written events " + events);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ordertracker.apllication.logging;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRingBufferTest {
+
+    @Test
+    void offer_WhenFull_ShouldRejectUntilDrained() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        Integer[] batch = new Integer[3];
+        assertEquals(3, buffer.drainTo(batch));
+        assertArrayEquals(new Integer[]{0, 1, 2}, batch);
+        assertTrue(buffer.offer(4));
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    void testConcurrentProducers() throws InterruptedException {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(1024);
+        int threadCount = 8;
+        int offersPerThread = 20000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        for (int t = 0; t < threadCount; t++) {
+            int producer = t;
+            executor.execute(() -> {
+                for (int i = 0; i < offersPerThread; i++) {
+                    int value = producer * offersPerThread + i;
+                    while (!buffer.offer(value)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+
+        boolean[] seen = new boolean[threadCount * offersPerThread];
+        int[] lastPerProducer = new int[threadCount];
+        Arrays.fill(lastPerProducer, -1);
+        Integer[] batch = new Integer[64];
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (received < seen.length && System.nanoTime() < deadline) {
+            int count = buffer.drainTo(batch);
+            for (int i = 0; i < count; i++) {
+                int value = batch[i];
+                assertFalse(seen[value], "duplicate element " + value);
+                seen[value] = true;
+                int producer = value / offersPerThread;
+                assertTrue(value > lastPerProducer[producer], "reordered elements of one producer");
+                lastPerProducer[producer] = value;
+            }
+            received += count;
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        assertEquals(seen.length, received);
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,50 @@
+package ordertracker.core.models;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Set;
+import ordertracker.core.enums.OrderStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void validate_ShouldCountPortionsAgainstMealLimit() {
+        // Arrange
+        Order order = new Order(1, new Customer(7, "1234567890", "John"), new ArrayList<>(), OrderStatus.ACCEPTED);
+        order.addMeal(new Meal(1, "Soup", new BigDecimal("3.50"), 10), Order.MAX_MEALS);
+
+        // Act
+        Set<ConstraintViolation<Order>> atLimit = validator.validate(order);
+        order.addMeal(new Meal(1, "Soup", new BigDecimal("3.50"), 10), 1);
+        Set<ConstraintViolation<Order>> overLimit = validator.validate(order);
+
+        // Assert
+        assertTrue(atLimit.isEmpty());
+        assertEquals(1, order.getLines().size());
+        assertEquals(1, overLimit.size());
+        assertEquals("Maximum 25 meals per order", overLimit.iterator().next().getMessage());
+    }
+}
@@ -0,0 +1,146 @@
+package ordertracker.core.services.impls;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import ordertracker.apllication.components.ActiveOrderProjection;
+import ordertracker.core.models.Customer;
+import ordertracker.core.models.Meal;
+import ordertracker.core.models.Order;
+import ordertracker.core.repositories.CustomerRepository;
+import ordertracker.core.repositories.MealRepository;
+import ordertracker.core.repositories.OrderRepository;
+import ordertracker.core.services.CustomerService;
+import ordertracker.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static ordertracker.support.QueryCountAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc
+class CustomerServiceImplQueryCountTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ActiveOrderProjection activeOrderProjection;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Customer customer;
+    private List<Meal> meals;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        mealRepository.deleteAll();
+        customer = customerRepository.save(new Customer(null, "+375291112233", "Ivan"));
+        meals = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            meals.add(mealRepository.save(new Meal(null, "Meal " + i, BigDecimal.valueOf(500 + i, 2), 10)));
+        }
+        // The orders above were deleted through the repository, which the read model does not see
+        activeOrderProjection.rebuild();
+    }
+
+    @Test
+    void createOrder_ShouldLoadAllMealsInOneQuery() {
+        // Arrange
+        List<Integer> mealIds = meals.stream().map(Meal::getId).toList();
+        resetQueryCount();
+
+        // Act
+        Order order = customerService.createOrder(customer.getId(), mealIds);
+
+        // Assert
+        assertEquals(6, order.mealCount());
+        assertQueryCount(select(2), insert(1 + mealIds.size()));
+    }
+
+    @Test
+    void createOrder_WhenCustomerDeleted_ShouldNotTrustCache() {
+        // Arrange
+        List<Integer> mealIds = List.of(meals.get(0).getId());
+        customerService.getCustomerSnapshot(customer.getId());
+        customerRepository.deleteById(customer.getId());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> customerService.createOrder(customer.getId(), mealIds));
+        assertTrue(customerService.getCustomerSnapshot(customer.getId()).isPresent());
+    }
+
+    @Test
+    void getCustomerOrders_ShouldFetchMealsWithOrders() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            customerService.createOrder(customer.getId(), List.of(meals.get(i).getId(), meals.get(i + 1).getId()));
+        }
+        customerService.getCustomerSnapshot(customer.getId());
+        resetQueryCount();
+
+        // Act
+        List<Order> orders = customerService.getCustomerOrders(customer.getId());
+        int mealCount = orders.stream().mapToInt(Order::mealCount).sum();
+
+        // Assert
+        assertEquals(5, orders.size());
+        assertEquals(10, mealCount);
+        assertQueryCount(select(1));
+    }
+
+    @Test
+    void getCustomerOrdersEndpoint_ShouldNotLoadMealsPerOrder() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            customerService.createOrder(customer.getId(), List.of(meals.get(i).getId()));
+        }
+        customerService.getCustomerSnapshot(customer.getId());
+        resetQueryCount();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/{id}/orders", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5));
+        assertQueryCount(select(1));
+    }
+
+    @Test
+    void activeOrdersEndpoints_ShouldNotQueryDatabase() throws Exception {
+        // Arrange
+        customerService.createOrder(customer.getId(), List.of(meals.get(0).getId(), meals.get(1).getId()));
+        customerService.createOrder(customer.getId(), List.of(meals.get(2).getId()));
+        resetQueryCount();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].mealIds.length()").value(2));
+        mockMvc.perform(get("/api/orders/active/counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ACCEPTED").value(2))
+                .andExpect(jsonPath("$.COOKING").value(0));
+        assertQueryCount();
+    }
+}
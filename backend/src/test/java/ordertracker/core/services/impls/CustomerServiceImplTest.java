@@ -1,7 +1,10 @@
 package ordertracker.core.services.impls;
 
+import ordertracker.apllication.components.ActiveOrderProjection;
+import ordertracker.apllication.components.CustomerCache;
 import ordertracker.core.enums.OrderStatus;
 import ordertracker.core.models.Customer;
+import ordertracker.core.models.CustomerSnapshot;
 import ordertracker.core.repositories.CustomerRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +26,12 @@ class CustomerServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerCache customerCache;
+
+    @Mock
+    private ActiveOrderProjection activeOrders;
+
     @InjectMocks
     private CustomerServiceImpl customerService;
 
@@ -136,6 +145,7 @@ class CustomerServiceImplTest {
         // Assert
         assertEquals(savedCustomer, result);
         verify(customerRepository, times(1)).save(customerToSave);
+        verify(customerCache, times(1)).invalidate(1);
     }
 
     @Test
@@ -155,6 +165,7 @@ class CustomerServiceImplTest {
         assertEquals("2222222222", result.getName());
         verify(customerRepository, times(1)).findById(customerId);
         verify(customerRepository, times(1)).save(existingCustomer);
+        verify(customerCache, times(1)).invalidate(customerId);
     }
 
     @Test
@@ -171,6 +182,7 @@ class CustomerServiceImplTest {
         assertEquals("Customer not found with id: " + customerId, exception.getMessage());
         verify(customerRepository, times(1)).findById(customerId);
         verify(customerRepository, never()).save(any());
+        verifyNoInteractions(customerCache);
     }
 
     @Test
@@ -187,6 +199,8 @@ class CustomerServiceImplTest {
         // Assert
         verify(customerRepository, times(1)).findById(customerId);
         verify(customerRepository, times(1)).delete(customer);
+        verify(customerCache, times(1)).invalidate(customerId);
+        verify(activeOrders, times(1)).customerDeleted(customerId);
     }
 
     @Test
@@ -202,5 +216,33 @@ class CustomerServiceImplTest {
         assertEquals("Customer not found with id: " + customerId, exception.getMessage());
         verify(customerRepository, times(1)).findById(customerId);
         verify(customerRepository, never()).delete(any());
+        verifyNoInteractions(customerCache, activeOrders);
+    }
+
+    @Test
+    void createOrder_WhenCustomerNotExists_ShouldThrowException() {
+        // Arrange
+        int customerId = 999;
+        when(customerRepository.existsById(customerId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> customerService.createOrder(customerId, List.of(1)));
+        verify(customerRepository, never()).getReferenceById(any());
+        verifyNoInteractions(customerCache, activeOrders);
+    }
+
+    @Test
+    void getCustomerSnapshotByPhoneNumber_ShouldUseCache() {
+        // Arrange
+        String phoneNumber = "1234567890";
+        CustomerSnapshot snapshot = new CustomerSnapshot(1, phoneNumber, "John Doe");
+        when(customerCache.getByPhoneNumber(phoneNumber)).thenReturn(Optional.of(snapshot));
+
+        // Act
+        Optional<CustomerSnapshot> result = customerService.getCustomerSnapshotByPhoneNumber(phoneNumber);
+
+        // Assert
+        assertEquals(Optional.of(snapshot), result);
+        verifyNoInteractions(customerRepository);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,258 @@
+package ordertracker.core.services.impls;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import ordertracker.apllication.components.ActiveOrderProjection;
+import ordertracker.apllication.components.CookingPace;
+import ordertracker.apllication.components.MealMenuCache;
+import ordertracker.apllication.config.KitchenProperties;
+import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.models.ActiveOrder;
+import ordertracker.core.models.KitchenPlan;
+import ordertracker.core.models.Meal;
+import ordertracker.core.models.MealMenu;
+import ordertracker.core.models.Order;
+import ordertracker.core.models.OrderEta;
+import ordertracker.core.services.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KitchenServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+
+    @Mock
+    private ActiveOrderProjection activeOrders;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private MealMenuCache mealMenuCache;
+
+    @Mock
+    private CookingPace cookingPace;
+
+    private KitchenProperties properties;
+    private KitchenServiceImpl kitchenService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new KitchenProperties();
+        properties.setStations(1);
+        kitchenService = new KitchenServiceImpl(activeOrders, orderService, mealMenuCache,
+                cookingPace, properties, Clock.fixed(NOW, ZoneOffset.UTC));
+        lenient().when(mealMenuCache.get()).thenReturn(new MealMenu(0, "W/\"menu\"", new byte[0], null, Map.of(
+                1, meal(1, "Soup", 30), 2, meal(2, "Tea", 5), 3, meal(3, "Salad", 10))));
+    }
+
+    @Test
+    void getPlan_ShouldStartShortestOrdersFirst() {
+        // Arrange
+        givenOrders(List.of(), List.of(accepted(1, 0, 1), accepted(2, 0, 2), accepted(3, 0, 3)));
+
+        // Act
+        KitchenPlan plan = kitchenService.getPlan();
+
+        // Assert
+        assertEquals(List.of(2, 3, 1), plan.orders().stream().map(KitchenPlan.ScheduledOrder::orderId).toList());
+        assertEquals(List.of(5, 15, 45), plan.orders().stream().map(KitchenPlan.ScheduledOrder::readyMinute).toList());
+        assertEquals(65 / 3.0, plan.averageReadyMinutes(), 1e-9);
+        assertEquals(45, plan.makespanMinutes());
+    }
+
+    @Test
+    void getPlan_ShouldLetLongWaitingOrdersOvertake() {
+        // Arrange
+        givenOrders(List.of(), List.of(accepted(1, 60, 1), accepted(2, 0, 2)));
+
+        // Act
+        KitchenPlan plan = kitchenService.getPlan();
+
+        // Assert
+        KitchenPlan.ScheduledOrder first = plan.orders().get(0);
+        assertEquals(1, first.orderId());
+        assertEquals(60, first.waitedMinutes());
+        assertEquals(0, first.startMinute());
+    }
+
+    @Test
+    void getPlan_ShouldBatchIdenticalMealsOfAcceptedOrders() {
+        // Arrange
+        properties.setMaxBatchPortions(2);
+        givenOrders(List.of(), List.of(accepted(1, 0, 3, 3), accepted(2, 0, 3)));
+
+        // Act
+        KitchenPlan plan = kitchenService.getPlan();
+
+        // Assert
+        List<KitchenPlan.Batch> batches = plan.stations().get(0).batches();
+        assertEquals(2, batches.size());
+        assertEquals(new KitchenPlan.Batch(3, "Salad", 2, List.of(2, 1), 0, 10), batches.get(0));
+        assertEquals(new KitchenPlan.Batch(3, "Salad", 1, List.of(1), 10, 20), batches.get(1));
+    }
+
+    @Test
+    void getPlan_ShouldKeepCookingOrdersFirstWithTheirRemainingTime() {
+        // Arrange
+        properties.setStations(2);
+        ActiveOrder cooking = new ActiveOrder(1, 7, new int[]{1, 3}, OrderStatus.COOKING, NOW.minus(Duration.ofMinutes(12)));
+        givenOrders(List.of(cooking), List.of(accepted(2, 0, 2), accepted(3, 0, 3)));
+
+        // Act
+        KitchenPlan plan = kitchenService.getPlan();
+
+        // Assert
+        assertEquals(new KitchenPlan.ScheduledOrder(1, OrderStatus.COOKING, 12, 0, 18), plan.orders().get(0));
+        assertEquals(List.of(new KitchenPlan.Batch(1, "Soup", 1, List.of(1), 0, 18)), plan.stations().get(0).batches());
+        assertEquals(List.of(new KitchenPlan.Batch(2, "Tea", 1, List.of(2), 0, 5),
+                        new KitchenPlan.Batch(3, "Salad", 1, List.of(3), 5, 15)),
+                plan.stations().get(1).batches());
+    }
+
+    @Test
+    void startDueOrders_ShouldStartOrdersPlannedAtMinuteZero() {
+        // Arrange
+        properties.setStations(2);
+        givenOrders(List.of(), List.of(accepted(1, 0, 1), accepted(2, 0, 2), accepted(3, 0, 3), accepted(4, 0)));
+        lenient().when(orderService.updateOrderStatus(3, OrderStatus.COOKING)).thenThrow(new EntityNotFoundException("gone"));
+
+        // Act
+        List<Integer> started = kitchenService.startDueOrders();
+
+        // Assert
+        assertEquals(List.of(2), started);
+        verify(orderService).updateOrderStatus(2, OrderStatus.COOKING);
+        verify(orderService, never()).updateOrderStatus(1, OrderStatus.COOKING);
+        verify(orderService, never()).updateOrderStatus(4, OrderStatus.COOKING);
+    }
+
+    @Test
+    void getOrderEta_ShouldScaleReadyMinuteOfLastPlanByPace() {
+        // Arrange
+        givenOrders(List.of(), List.of(accepted(1, 0, 1), accepted(2, 0, 2)));
+        when(cookingPace.factor()).thenReturn(1.5);
+        kitchenService.replanIfStale();
+
+        // Act
+        OrderEta first = kitchenService.getOrderEta(1).orElseThrow();
+        OrderEta second = kitchenService.getOrderEta(2).orElseThrow();
+
+        // Assert
+        assertEquals(new OrderEta(1, OrderStatus.ACCEPTED, 2, NOW.plus(Duration.ofMinutes(52)).plusSeconds(30), 53, 1.5),
+                first);
+        assertEquals(1, second.position());
+        assertEquals(8, second.remainingMinutes());
+        verify(activeOrders, times(1)).getAll(OrderStatus.ACCEPTED);
+    }
+
+    @Test
+    void getOrderEta_ShouldTakeStatusFromReadModel() {
+        // Arrange
+        givenOrders(List.of(), List.of(accepted(1, 0, 1)));
+        when(cookingPace.factor()).thenReturn(1.0);
+        kitchenService.replanIfStale();
+        when(activeOrders.get(1)).thenReturn(Optional.of(
+                new ActiveOrder(1, 7, new int[]{1}, OrderStatus.COOKING, NOW)));
+
+        // Act
+        OrderEta eta = kitchenService.getOrderEta(1).orElseThrow();
+
+        // Assert
+        assertEquals(OrderStatus.COOKING, eta.status());
+        assertEquals(30, eta.remainingMinutes());
+    }
+
+    @Test
+    void getOrderEta_WhenOrderIsNotPlannedYet_ShouldQueueItBehindThePlan() {
+        // Arrange
+        givenOrders(List.of(), List.of(accepted(1, 0, 1)));
+        when(cookingPace.factor()).thenReturn(1.0);
+        kitchenService.replanIfStale();
+        when(activeOrders.get(2)).thenReturn(Optional.of(accepted(2, 0, 2, 3)));
+
+        // Act
+        OrderEta eta = kitchenService.getOrderEta(2).orElseThrow();
+
+        // Assert
+        assertEquals(new OrderEta(2, OrderStatus.ACCEPTED, 2, NOW.plus(Duration.ofMinutes(40)), 40, 1.0), eta);
+        verify(activeOrders, times(1)).getAll(OrderStatus.ACCEPTED);
+    }
+
+    @Test
+    void replanIfStale_WhenNothingChanged_ShouldKeepPlan() {
+        // Arrange
+        givenOrders(List.of(), List.of(accepted(1, 0, 1)));
+        kitchenService.replanIfStale();
+
+        // Act
+        kitchenService.replanIfStale();
+
+        // Assert
+        verify(activeOrders, times(1)).getAll(OrderStatus.ACCEPTED);
+    }
+
+    @Test
+    void replanIfStale_WhenReadModelChanged_ShouldPlanAgain() {
+        // Arrange
+        givenOrders(List.of(), List.of(accepted(1, 0, 1)));
+        when(activeOrders.version()).thenReturn(1L, 2L);
+        kitchenService.replanIfStale();
+
+        // Act
+        kitchenService.replanIfStale();
+
+        // Assert
+        verify(activeOrders, times(2)).getAll(OrderStatus.ACCEPTED);
+    }
+
+    @Test
+    void getOrderEta_WhenOrderIsNotActive_ShouldReportItsStatus() {
+        // Arrange
+        when(cookingPace.factor()).thenReturn(1.0);
+        when(orderService.getOrderById(5))
+                .thenReturn(Optional.of(new Order(5, null, List.of(), OrderStatus.READY)));
+        when(orderService.getOrderById(6)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<OrderEta> ready = kitchenService.getOrderEta(5);
+        Optional<OrderEta> missing = kitchenService.getOrderEta(6);
+
+        // Assert
+        assertEquals(Optional.of(new OrderEta(5, OrderStatus.READY, 0, null, 0, 1.0)), ready);
+        assertTrue(missing.isEmpty());
+    }
+
+    private void givenOrders(List<ActiveOrder> cooking, List<ActiveOrder> accepted) {
+        when(activeOrders.getAll(OrderStatus.COOKING)).thenReturn(cooking);
+        when(activeOrders.getAll(OrderStatus.ACCEPTED)).thenReturn(accepted);
+        for (ActiveOrder order : cooking) {
+            lenient().when(activeOrders.get(order.id())).thenReturn(Optional.of(order));
+        }
+        for (ActiveOrder order : accepted) {
+            lenient().when(activeOrders.get(order.id())).thenReturn(Optional.of(order));
+        }
+    }
+
+    private static ActiveOrder accepted(int id, int waitedMinutes, int... mealIds) {
+        return new ActiveOrder(id, 7, mealIds, OrderStatus.ACCEPTED, NOW.minus(Duration.ofMinutes(waitedMinutes)));
+    }
+
+    private static Meal meal(int id, String name, int cookingTime) {
+        return new Meal(id, name, new BigDecimal("9.99"), cookingTime);
+    }
+}
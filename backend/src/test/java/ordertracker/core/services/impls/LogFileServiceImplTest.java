@@ -0,0 +1,200 @@
+package ordertracker.core.services.impls;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import ordertracker.core.models.LogEntry;
+import ordertracker.core.models.LogQuery;
+import ordertracker.core.models.LogQueryResult;
+import ordertracker.core.models.LogSlice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogFileServiceImplTest {
+
+    private static final String DAY_ONE = """
+            2025-03-01T23:10:00.000+03:00  INFO 1 --- [OrderTracker] [main] o.a.Service : first day
+            2025-03-01T23:59:59.000+03:00 ERROR 1 --- [OrderTracker] [main] o.a.Service : refers to 2025-03-02
+            java.lang.IllegalStateException: boom
+            \tat o.a.Service.run(Service.java:1)
+            """;
+    private static final String DAY_TWO = """
+            2025-03-02T00:00:01.000+03:00  INFO 1 --- [OrderTracker] [main] o.a.Service : second day
+            2025-03-02T09:30:00.000+03:00  WARN 1 --- [OrderTracker] [main] o.a.Service : later that day
+            """;
+
+    private static final DataSize CACHE_SIZE = DataSize.ofMegabytes(1);
+
+    @TempDir
+    private Path directory;
+
+    private Path logFile;
+    private LogFileServiceImpl logFileService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logFile = directory.resolve("OrderTracker.log");
+        Files.writeString(logFile, DAY_ONE + DAY_TWO);
+        logFileService = new LogFileServiceImpl(logFile.toString(), CACHE_SIZE);
+    }
+
+    @Test
+    void getLogsByDate_ShouldReturnOnlyEntriesOfThatDay() {
+        // Act
+        Optional<String> result = logFileService.getLogsByDate(LocalDate.of(2025, 3, 1));
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(DAY_ONE.stripTrailing(), result.get());
+    }
+
+    @Test
+    void getLogsByDate_ShouldNotMatchDatesInsideMessages() {
+        // Act
+        Optional<String> result = logFileService.getLogsByDate(LocalDate.of(2025, 3, 2));
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(DAY_TWO.stripTrailing(), result.get());
+    }
+
+    @Test
+    void getLogsByDate_WhenNoEntries_ShouldReturnEmpty() {
+        // Act
+        Optional<String> result = logFileService.getLogsByDate(LocalDate.of(2025, 2, 28));
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void getLogsByDate_ShouldIndexAppendedEntries() throws IOException {
+        // Arrange
+        logFileService.getLogsByDate(LocalDate.of(2025, 3, 1));
+        String dayThree = "2025-03-03T08:00:00.000+03:00  INFO 1 --- [OrderTracker] [main] o.a.Service : third day\n";
+        Files.writeString(logFile, dayThree, StandardOpenOption.APPEND);
+
+        // Act
+        Optional<String> result = logFileService.getLogsByDate(LocalDate.of(2025, 3, 3));
+
+        // Assert
+        assertEquals(Optional.of(dayThree.stripTrailing()), result);
+        assertEquals(DAY_TWO.stripTrailing(), logFileService.getLogsByDate(LocalDate.of(2025, 3, 2)).orElseThrow());
+    }
+
+    @Test
+    void getLogsByDate_ShouldReuseSavedIndexAndDetectReplacedFile() throws IOException {
+        // Arrange
+        logFileService.getLogsByDate(LocalDate.of(2025, 3, 1));
+        assertTrue(Files.exists(directory.resolve("OrderTracker.log.idx")));
+        Files.writeString(logFile, DAY_TWO, StandardCharsets.UTF_8);
+
+        // Act
+        var restarted = new LogFileServiceImpl(logFile.toString(), CACHE_SIZE);
+
+        // Assert
+        assertTrue(restarted.getLogsByDate(LocalDate.of(2025, 3, 1)).isEmpty());
+        assertEquals(DAY_TWO.stripTrailing(), restarted.getLogsByDate(LocalDate.of(2025, 3, 2)).orElseThrow());
+    }
+
+    @Test
+    void getLogSliceByDate_ShouldWriteRequestedPartOfTheDay() throws IOException {
+        // Arrange
+        LogSlice slice = logFileService.getLogSliceByDate(LocalDate.of(2025, 3, 2)).orElseThrow();
+        var out = new ByteArrayOutputStream();
+
+        // Act
+        slice.writeTo(out, 10, 20);
+
+        // Assert
+        assertEquals(DAY_TWO.getBytes(StandardCharsets.UTF_8).length, slice.length());
+        assertEquals(DAY_TWO.substring(10, 30), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void query_ShouldFilterByTimeLevelLoggerAndMessage() {
+        // Arrange
+        LogQuery query = new LogQuery(LocalDateTime.of(2025, 3, 1, 23, 30), LocalDateTime.of(2025, 3, 2, 12, 0),
+                "WARN", "Service", Pattern.compile("refers|later"), null, 10, 0, 0);
+
+        // Act
+        LogQueryResult result = logFileService.query(query);
+
+        // Assert
+        assertEquals(2, result.matches());
+        assertNull(result.nextCursor());
+        LogEntry error = result.entries().get(0);
+        assertEquals("ERROR", error.level());
+        assertEquals("o.a.Service", error.logger());
+        assertEquals("2025-03-01T23:59:59.000+03:00", error.timestamp());
+        assertTrue(error.message().startsWith("refers to 2025-03-02\njava.lang.IllegalStateException: boom"));
+        assertEquals("later that day", result.entries().get(1).message());
+    }
+
+    @Test
+    void query_ShouldPageWithCursorAndIncludeContext() {
+        // Arrange
+        LogQuery firstPage = new LogQuery(null, null, null, null, Pattern.compile("day"), null, 1, 0, 1);
+
+        // Act
+        LogQueryResult first = logFileService.query(firstPage);
+        LogQueryResult second = logFileService.query(new LogQuery(null, null, null, null, Pattern.compile("day"),
+                first.nextCursor(), 1, 1, 0));
+
+        // Assert
+        assertEquals(List.of(true, false), first.entries().stream().map(LogEntry::match).toList());
+        assertEquals("first day", first.entries().get(0).message());
+        assertEquals(1, second.matches());
+        assertEquals("second day", second.entries().get(0).message());
+        assertNotNull(second.nextCursor());
+    }
+
+    @Test
+    void getLogsByDate_ShouldReadAcrossCompressedSegmentsAndLiveFile() throws IOException {
+        // Arrange
+        String rolled = DAY_ONE + DAY_TWO.lines().findFirst().orElseThrow() + "\n";
+        try (var out = new GZIPOutputStream(Files.newOutputStream(directory.resolve("OrderTracker.log.2025-03-01.0.gz")))) {
+            out.write(rolled.getBytes(StandardCharsets.UTF_8));
+        }
+        String live = DAY_TWO.substring(rolled.length() - DAY_ONE.length());
+        Files.writeString(logFile, live);
+        var rolledService = new LogFileServiceImpl(logFile.toString(), CACHE_SIZE);
+
+        // Act
+        Optional<String> dayOne = rolledService.getLogsByDate(LocalDate.of(2025, 3, 1));
+        LogSlice dayTwo = rolledService.getLogSliceByDate(LocalDate.of(2025, 3, 2)).orElseThrow();
+        var out = new ByteArrayOutputStream();
+        dayTwo.writeTo(out, 20, DAY_TWO.length() - 30);
+        LogQueryResult query = rolledService.query(new LogQuery(null, null, "WARN", null, null, null, 10, 0, 0));
+
+        // Assert
+        assertEquals(Optional.of(DAY_ONE.stripTrailing()), dayOne);
+        assertEquals(DAY_TWO.length(), dayTwo.length());
+        assertEquals(DAY_TWO.substring(20, DAY_TWO.length() - 10), out.toString(StandardCharsets.UTF_8));
+        assertEquals(List.of("OrderTracker.log.2025-03-01.0.gz", "OrderTracker.log"),
+                query.entries().stream().map(LogEntry::file).toList());
+        assertTrue(Files.exists(directory.resolve("OrderTracker.log.segments")));
+    }
+
+    @Test
+    void getLogsByDate_WhenFileMissing_ShouldReturnEmpty() throws IOException {
+        // Arrange
+        Files.delete(logFile);
+
+        // Act & Assert
+        assertTrue(logFileService.getLogsByDate(LocalDate.of(2025, 3, 1)).isEmpty());
+    }
+}
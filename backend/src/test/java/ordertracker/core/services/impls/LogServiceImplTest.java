@@ -1,26 +1,49 @@
 package ordertracker.core.services.impls;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import ordertracker.apllication.components.AsyncExecutor;
+import ordertracker.apllication.config.LogTaskProperties;
+import ordertracker.core.enums.LogTaskStatus;
+import ordertracker.core.exceptions.TooManyRequestsException;
+import ordertracker.core.models.LogQuery;
 import ordertracker.core.models.LogTask;
+import ordertracker.core.models.LogTaskFile;
+import ordertracker.core.repositories.LogTaskFileRepository;
+import ordertracker.core.repositories.LogTaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class LogServiceImplTest {
 
     @Mock
-    private AsyncExecutor asyncExecutor;
+    private LogTaskRepository logTaskRepository;
+
+    @Mock
+    private LogTaskFileRepository logTaskFileRepository;
+
+    private static final LogQuery QUERY = new LogQuery(null, null, null, null, null, null, Integer.MAX_VALUE, 0, 0);
+    private static final String NODE = "node-1";
 
     private LogServiceImpl logService;
 
     @BeforeEach
     void setUp() {
-        logService = new LogServiceImpl(asyncExecutor);
+        LogTaskProperties properties = new LogTaskProperties();
+        properties.setNodeId(NODE);
+        logService = new LogServiceImpl(logTaskRepository, logTaskFileRepository, properties);
     }
 
     @Test
@@ -34,4 +57,162 @@ class LogServiceImplTest {
         // Assert
         assertNull(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void createLogTask_WhenQueueIsFull_ShouldNotSaveTask() {
+        // Arrange
+        when(logTaskRepository.countByStatus(LogTaskStatus.CREATED)).thenReturn(20L);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> logService.createLogTask(QUERY));
+        verify(logTaskRepository, never()).save(any());
+    }
+
+    @Test
+    void createLogTask_ShouldRecordThisNodeAsOrigin() {
+        // Arrange
+        when(logTaskRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        LogTask task = logService.createLogTask(QUERY);
+
+        // Assert
+        assertEquals(NODE, task.getOrigin());
+        assertEquals(LogTaskStatus.CREATED, task.getStatus());
+    }
+
+    @Test
+    void cancelTask_WhenRunning_ShouldMarkTaskCancelled() {
+        // Arrange
+        LogTask task = runningTask(1);
+        when(logTaskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        // Act
+        boolean result = logService.cancelTask(task.getId());
+
+        // Assert
+        assertTrue(result);
+        assertEquals(LogTaskStatus.CANCELLED, task.getStatus());
+        assertNotNull(task.getFinishedAt());
+        assertNull(task.getLeaseOwner());
+        assertFalse(logService.completeTask(task.getId(), NODE, 1, new byte[0]));
+        verify(logTaskFileRepository, never()).save(any());
+    }
+
+    @Test
+    void claimTasks_ShouldLeaseDueTasksAndFailExhaustedOnes() {
+        // Arrange
+        LogTask due = new LogTask(QUERY, NODE, 3);
+        LogTask abandoned = runningTask(3);
+        when(logTaskRepository.lockClaimable(eq(NODE), any(), anyInt())).thenReturn(List.of(due, abandoned));
+
+        // Act
+        List<LogTask> claimed = logService.claimTasks(NODE, 2);
+
+        // Assert
+        assertEquals(List.of(due), claimed);
+        assertEquals(LogTaskStatus.PROCESSING, due.getStatus());
+        assertEquals(1, due.getAttempts());
+        assertEquals(NODE, due.getLeaseOwner());
+        assertTrue(due.getLeaseExpiresAt().isAfter(Instant.now()));
+        assertEquals(LogTaskStatus.FAILED, abandoned.getStatus());
+        assertNotNull(abandoned.getFinishedAt());
+    }
+
+    @Test
+    void completeTask_ShouldStoreFileWithTask() {
+        // Arrange
+        LogTask task = runningTask(1);
+        byte[] content = {1, 2, 3};
+        when(logTaskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        // Act
+        boolean result = logService.completeTask(task.getId(), NODE, 7, content);
+
+        // Assert
+        assertTrue(result);
+        ArgumentCaptor<LogTaskFile> file = ArgumentCaptor.forClass(LogTaskFile.class);
+        verify(logTaskFileRepository).save(file.capture());
+        assertEquals(task.getId(), file.getValue().getTaskId());
+        assertArrayEquals(content, file.getValue().getContent());
+        assertEquals(LogTaskStatus.READY, task.getStatus());
+        assertEquals(7, task.getEntries());
+        assertNull(task.getLeaseOwner());
+    }
+
+    @Test
+    void failTask_ShouldRetryWithBackoffUntilLastAttempt() {
+        // Arrange
+        LogTask retried = runningTask(1);
+        LogTask exhausted = runningTask(3);
+        when(logTaskRepository.findById(retried.getId())).thenReturn(Optional.of(retried));
+        when(logTaskRepository.findById(exhausted.getId())).thenReturn(Optional.of(exhausted));
+
+        // Act
+        logService.failTask(retried.getId(), NODE, "disk full");
+        logService.failTask(exhausted.getId(), NODE, "disk full");
+
+        // Assert
+        assertEquals(LogTaskStatus.CREATED, retried.getStatus());
+        assertTrue(retried.getAvailableAt().isAfter(Instant.now()));
+        assertNull(retried.getLeaseOwner());
+        assertEquals(LogTaskStatus.FAILED, exhausted.getStatus());
+        assertEquals("disk full", exhausted.getError());
+    }
+
+    @Test
+    void failTask_ShouldTruncateErrorToColumnSize() {
+        // Arrange
+        LogTask task = runningTask(1);
+        when(logTaskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        // Act
+        logService.failTask(task.getId(), NODE, "e".repeat(LogTask.MAX_ERROR_LENGTH + 1));
+
+        // Assert
+        assertEquals(LogTask.MAX_ERROR_LENGTH, task.getError().length());
+        assertEquals(LogTaskStatus.CREATED, task.getStatus());
+    }
+
+    @Test
+    void evictExpiredTasks_ShouldDeleteExpiredTasksAndFiles() {
+        // Arrange
+        LogTask expired = new LogTask(QUERY, NODE, 3);
+        expired.setStatus(LogTaskStatus.READY);
+        expired.setFinishedAt(Instant.now().minus(Duration.ofHours(2)));
+        when(logTaskRepository.findFinishedBefore(any(), any())).thenReturn(List.of(expired));
+
+        // Act
+        logService.evictExpiredTasks();
+
+        // Assert
+        verify(logTaskFileRepository).deleteByTaskId(expired.getId());
+        verify(logTaskRepository).delete(expired);
+    }
+
+    @Test
+    void evictExpiredTasks_ShouldFailTasksTheirNodeNeverRan() {
+        // Arrange
+        LogTask abandoned = new LogTask(QUERY, "stopped-node", 3);
+        when(logTaskRepository.findAbandoned(any(), any())).thenReturn(List.of(abandoned));
+
+        // Act
+        logService.evictExpiredTasks();
+
+        // Assert
+        assertEquals(LogTaskStatus.FAILED, abandoned.getStatus());
+        assertNotNull(abandoned.getFinishedAt());
+        assertTrue(abandoned.getError().contains("stopped-node"));
+        verify(logTaskRepository, never()).delete(any());
+    }
+
+    private static LogTask runningTask(int attempts) {
+        LogTask task = new LogTask(QUERY, NODE, 3);
+        task.setStatus(LogTaskStatus.PROCESSING);
+        task.setAttempts(attempts);
+        task.setLeaseOwner(NODE);
+        task.setStartedAt(Instant.now());
+        task.setLeaseExpiresAt(Instant.now().minusSeconds(1));
+        return task;
+    }
+}
@@ -0,0 +1,244 @@
+package ordertracker.core.services.impls;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import ordertracker.api.handlers.GlobalExceptionHandler;
+import ordertracker.apllication.config.LogTailProperties;
+import ordertracker.core.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogTailServiceImplTest {
+
+    private static final String INFO = "2025-03-01T12:00:00.000+03:00  INFO 1 --- [OrderTracker] [main] o.a.Service : ";
+    private static final String WARN = "2025-03-01T12:00:01.000+03:00  WARN 1 --- [OrderTracker] [main] o.a.Service : ";
+    private static final String ERROR = "2025-03-01T12:00:02.000+03:00 ERROR 1 --- [OrderTracker] [main] o.a.Service : ";
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    @TempDir
+    private Path directory;
+
+    private Path logFile;
+    private LogTailProperties properties;
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private LogTailServiceImpl logTailService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logFile = directory.resolve("OrderTracker.log");
+        Files.writeString(logFile, INFO + "before the client\n");
+        properties = new LogTailProperties();
+        properties.setPollInterval(Duration.ofMillis(20));
+        properties.setEntryTimeout(Duration.ofMillis(500));
+        properties.setHeartbeatInterval(Duration.ofMinutes(1));
+        logTailService = new LogTailServiceImpl(logFile.toString(), properties, () -> {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        logTailService.shutdown();
+    }
+
+    @Test
+    void subscribe_ShouldKeepStackTraceWrittenInPartsInOneEntry() throws Exception {
+        // Arrange
+        logTailService.subscribe(null, null);
+        RecordingEmitter emitter = emitters.get(0);
+
+        // Act
+        append(ERROR + "failed\n");
+        Thread.sleep(150);
+        append("java.lang.IllegalStateException: boom\n\tat o.a.Service.run(Service.java:1)\n");
+        append(INFO + "next\n");
+
+        // Assert
+        emitter.await(events -> events.size() >= 2);
+        assertEquals(List.of(
+                "log:" + ERROR + "failed\njava.lang.IllegalStateException: boom\n\tat o.a.Service.run(Service.java:1)",
+                "log:" + INFO + "next"), emitter.events);
+    }
+
+    @Test
+    void subscribe_ShouldSendLastEntryOnceIdle() throws Exception {
+        // Arrange
+        logTailService.subscribe(null, null);
+        RecordingEmitter emitter = emitters.get(0);
+
+        // Act
+        append(WARN + "last one\n");
+        Thread.sleep(200);
+        boolean sentEarly = !emitter.events.isEmpty();
+
+        // Assert
+        emitter.await(events -> events.size() >= 1);
+        assertFalse(sentEarly);
+        assertEquals(List.of("log:" + WARN + "last one"), emitter.events);
+    }
+
+    @Test
+    void subscribe_ShouldSendLinesAfterTimeoutWithLevelOfTheirEntry() throws Exception {
+        // Arrange
+        logTailService.subscribe("ERROR", null);
+        RecordingEmitter emitter = emitters.get(0);
+        append(ERROR + "failed\n");
+        emitter.await(events -> events.size() >= 1);
+
+        // Act
+        append("\tat o.a.Service.run(Service.java:1)\n");
+
+        // Assert
+        emitter.await(events -> events.size() >= 2);
+        assertEquals("log:\tat o.a.Service.run(Service.java:1)", emitter.events.get(1));
+    }
+
+    @Test
+    void subscribe_ShouldFilterByLevelAndText() throws Exception {
+        // Arrange
+        logTailService.subscribe("WARN", null);
+        logTailService.subscribe(null, "boom");
+        RecordingEmitter warnings = emitters.get(0);
+        RecordingEmitter booms = emitters.get(1);
+
+        // Act
+        append(INFO + "boom but only info\n" + WARN + "careful\n" + ERROR + "failed\njava.lang.Exception: boom\n");
+
+        // Assert
+        warnings.await(events -> events.size() >= 2);
+        booms.await(events -> events.size() >= 2);
+        assertEquals(List.of("log:" + WARN + "careful", "log:" + ERROR + "failed\njava.lang.Exception: boom"),
+                warnings.events);
+        assertEquals(List.of("log:" + INFO + "boom but only info", "log:" + ERROR + "failed\njava.lang.Exception: boom"),
+                booms.events);
+    }
+
+    @Test
+    void subscribe_WhenClientIsSlow_ShouldCountDroppedEntries() throws Exception {
+        // Arrange
+        properties.setBufferSize(2);
+        logTailService.subscribe(null, null);
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.blocked = new CountDownLatch(1);
+        StringBuilder entries = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            entries.append(INFO).append("entry ").append(i).append('\n');
+        }
+        entries.append(WARN).append("end\n");
+
+        // Act
+        append(entries.toString());
+        Thread.sleep(200);
+        emitter.blocked.countDown();
+
+        // Assert
+        emitter.await(events -> events.contains("log:" + WARN + "end"));
+        long sent = emitter.events.stream().filter(event -> event.startsWith("log:")).count();
+        long dropped = emitter.events.stream().filter(event -> event.startsWith("dropped:"))
+                .mapToLong(event -> Long.parseLong(event.substring("dropped:".length()))).sum();
+        assertTrue(dropped > 0);
+        assertEquals(11, sent + dropped);
+    }
+
+    @Test
+    void subscribe_WhenTooManyClients_ShouldBeRejectedWith429() {
+        // Arrange
+        properties.setMaxSubscribers(2);
+        logTailService.subscribe(null, null);
+        logTailService.subscribe("ERROR", null);
+
+        // Act
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> logTailService.subscribe(null, null));
+        ResponseEntity<?> response = new GlobalExceptionHandler().handleTooManyRequests(exception);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals(2, emitters.size());
+    }
+
+    @Test
+    void subscribe_AfterClientLeft_ShouldAcceptAnother() {
+        // Arrange
+        properties.setMaxSubscribers(1);
+        logTailService.subscribe(null, null);
+        RecordingEmitter first = emitters.get(0);
+
+        // Act
+        first.completionCallback.run();
+
+        // Assert
+        assertDoesNotThrow(() -> logTailService.subscribe(null, null));
+    }
+
+    private void append(String text) throws IOException {
+        Files.writeString(logFile, text, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Keeps the events as "name:data" instead of writing them to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch blocked;
+        private Runnable completionCallback;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            CountDownLatch latch = blocked;
+            if (latch != null) {
+                try {
+                    latch.await(WAIT.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String text = builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining());
+            if (text.startsWith(":")) {
+                return;
+            }
+            String name = text.substring("event:".length(), text.indexOf('\n'));
+            String data = text.substring(text.indexOf("data:") + "data:".length(), text.length() - 2)
+                    .replace("\ndata:", "\n");
+            events.add(name + ":" + data);
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            this.completionCallback = callback;
+        }
+
+        private void await(Predicate<List<String>> condition) throws InterruptedException {
+            long deadline = System.nanoTime() + WAIT.toNanos();
+            while (!condition.test(events)) {
+                if (System.nanoTime() > deadline) {
+                    fail("Timed out, got " + events);
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package ordertracker.core.services.impls;
 
 import jakarta.persistence.EntityNotFoundException;
+import ordertracker.apllication.components.ActiveOrderProjection;
+import ordertracker.apllication.components.MealMenuCache;
 import ordertracker.core.models.Meal;
+import ordertracker.core.models.MealMenu;
 import ordertracker.core.repositories.MealRepository;
 import ordertracker.core.repositories.OrderRepository;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +31,12 @@ class MealServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private MealMenuCache mealMenuCache;
+
+    @Mock
+    private ActiveOrderProjection activeOrders;
+
     @InjectMocks
     private MealServiceImpl mealService;
 
@@ -45,6 +55,20 @@ class MealServiceImplTest {
         verify(mealRepository, times(1)).findAll();
     }
 
+    @Test
+    void getMealMenu_ShouldReturnCachedMenu() {
+        // Arrange
+        MealMenu menu = new MealMenu(0, "W/\"menu\"", "[]".getBytes(), null, Map.of());
+        when(mealMenuCache.get()).thenReturn(menu);
+
+        // Act
+        MealMenu result = mealService.getMealMenu();
+
+        // Assert
+        assertSame(menu, result);
+        verifyNoInteractions(mealRepository);
+    }
+
     @Test
     void getMealById_WhenMealExists_ShouldReturnMeal() {
         // Arrange
@@ -101,6 +125,7 @@ class MealServiceImplTest {
         // Assert
         assertEquals(1, result.getId());
         verify(mealRepository, times(1)).save(newMeal);
+        verify(mealMenuCache, times(1)).invalidate();
     }
 
     @Test
@@ -112,6 +137,7 @@ class MealServiceImplTest {
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> mealService.addMeals(meals));
         verify(mealRepository, never()).saveAll(any());
+        verifyNoInteractions(mealMenuCache);
     }
 
     @Test
@@ -132,6 +158,7 @@ class MealServiceImplTest {
         assertEquals(new BigDecimal("12.99"), result.getPrice());
         verify(mealRepository, times(1)).findById(1);
         verify(mealRepository, times(1)).save(existingMeal);
+        verify(mealMenuCache, times(1)).invalidate();
     }
 
     @Test
@@ -144,6 +171,7 @@ class MealServiceImplTest {
         assertThrows(EntityNotFoundException.class,
                 () -> mealService.updateMeal(1, updatedDetails));
         verify(mealRepository, never()).save(any());
+        verifyNoInteractions(mealMenuCache);
     }
 
     @Test
@@ -156,8 +184,11 @@ class MealServiceImplTest {
         mealService.deleteMeal(1);
 
         // Assert
-        verify(orderRepository, times(1)).findOrdersByMealId(1);
+        verify(orderRepository, times(1)).deleteLinesByMealId(1);
+        verify(orderRepository, never()).saveAll(any());
         verify(mealRepository, times(1)).delete(meal);
+        verify(mealMenuCache, times(1)).invalidate();
+        verify(activeOrders, times(1)).mealDeleted(1);
     }
 
     @Test
@@ -169,5 +200,6 @@ class MealServiceImplTest {
         assertThrows(EntityNotFoundException.class,
                 () -> mealService.deleteMeal(1));
         verify(mealRepository, never()).delete(any());
+        verifyNoInteractions(mealMenuCache);
     }
 }
\ No newline at end of file
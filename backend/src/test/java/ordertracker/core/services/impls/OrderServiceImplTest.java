@@ -1,11 +1,14 @@
 package ordertracker.core.services.impls;
 
+import ordertracker.apllication.components.ActiveOrderProjection;
+import ordertracker.apllication.components.CookingPace;
+import ordertracker.apllication.components.OrderMealWriter;
 import ordertracker.core.enums.OrderStatus;
+import ordertracker.core.models.ActiveOrder;
 import ordertracker.core.models.Customer;
 import ordertracker.core.models.Meal;
 import ordertracker.core.models.Order;
 import ordertracker.core.repositories.CustomerRepository;
-import ordertracker.core.repositories.MealRepository;
 import ordertracker.core.repositories.OrderRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,11 +19,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import jakarta.persistence.EntityNotFoundException;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +40,16 @@ class OrderServiceImplTest {
     private CustomerRepository customerRepository;
 
     @Mock
-    private MealRepository mealRepository;
+    private ActiveOrderProjection activeOrders;
+
+    @Mock
+    private OrderMealWriter orderMealWriter;
+
+    @Mock
+    private CookingPace cookingPace;
+
+    @Mock
+    private Clock clock;
 
     @InjectMocks
     private OrderServiceImpl orderService;
@@ -92,7 +108,8 @@ class OrderServiceImplTest {
         Order expectedOrder = new Order(null, customer, new ArrayList<>(), OrderStatus.ACCEPTED);
         Order savedOrder = new Order(1, customer, new ArrayList<>(), OrderStatus.ACCEPTED);
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(customerRepository.existsById(customerId)).thenReturn(true);
+        when(customerRepository.getReferenceById(customerId)).thenReturn(customer);
         when(orderRepository.save(expectedOrder)).thenReturn(savedOrder);
 
         // Act
@@ -102,23 +119,26 @@ class OrderServiceImplTest {
         assertNotNull(result);
         assertEquals(OrderStatus.ACCEPTED, result.getStatus());
         assertEquals(customer, result.getCustomer());
-        assertTrue(result.getMeals().isEmpty());
-        verify(customerRepository, times(1)).findById(customerId);
+        assertTrue(result.getLines().isEmpty());
+        verify(customerRepository, times(1)).existsById(customerId);
+        verify(customerRepository, never()).findById(any());
         verify(orderRepository, times(1)).save(expectedOrder);
+        verify(activeOrders, times(1)).added(savedOrder);
     }
 
     @Test
     void addOrder_WhenCustomerNotExists_ShouldThrowException() {
         // Arrange
         int customerId = 999;
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.existsById(customerId)).thenReturn(false);
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> orderService.addOrder(customerId));
 
         assertEquals("Customer not found with id: " + customerId, exception.getMessage());
-        verify(customerRepository, times(1)).findById(customerId);
+        verify(customerRepository, times(1)).existsById(customerId);
+        verify(customerRepository, never()).getReferenceById(any());
         verify(orderRepository, never()).save(any());
     }
 
@@ -139,6 +159,49 @@ class OrderServiceImplTest {
         assertEquals(newStatus, result.getStatus());
         verify(orderRepository, times(1)).findById(orderId);
         verify(orderRepository, times(1)).save(existingOrder);
+        verify(activeOrders, times(1)).statusChanged(existingOrder);
+    }
+
+    @Test
+    void updateOrderStatus_ShouldRecordWhenStatusChanged() {
+        // Arrange
+        int orderId = 1;
+        Instant created = Instant.parse("2025-03-01T12:00:00Z");
+        Instant started = created.plusSeconds(300);
+        Order existingOrder = new Order(orderId, new Customer(), new ArrayList<>(), OrderStatus.ACCEPTED, created, null);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.save(existingOrder)).thenReturn(existingOrder);
+        when(clock.instant()).thenReturn(started, started.plusSeconds(60));
+
+        // Act
+        orderService.updateOrderStatus(orderId, OrderStatus.COOKING);
+        orderService.updateOrderStatus(orderId, OrderStatus.COOKING);
+
+        // Assert
+        assertEquals(started, existingOrder.getStatusChangedAt());
+        assertEquals(started, existingOrder.getCookingStartedAt());
+    }
+
+    @Test
+    void updateOrderStatus_FromCookingToReady_ShouldRecordCookingTime() {
+        // Arrange
+        int orderId = 1;
+        Order existingOrder = new Order(orderId, new Customer(), new ArrayList<>(), OrderStatus.COOKING);
+        existingOrder.addMeal(new Meal(1, "Soup", new BigDecimal("3.50"), 10), 1);
+        Instant cookingSince = Instant.parse("2025-03-01T12:00:00Z");
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.save(existingOrder)).thenReturn(existingOrder);
+        Instant readyAt = cookingSince.plus(Duration.ofMinutes(12));
+        when(clock.instant()).thenReturn(readyAt);
+        when(activeOrders.get(orderId)).thenReturn(
+                Optional.of(new ActiveOrder(orderId, 7, new int[]{1}, OrderStatus.COOKING, cookingSince)));
+
+        // Act
+        orderService.updateOrderStatus(orderId, OrderStatus.READY);
+
+        // Assert
+        verify(cookingPace).cooked(eq(cookingSince), eq(readyAt), aryEq(new int[]{1}));
+        verify(activeOrders).statusChanged(existingOrder);
     }
 
     @Test
@@ -155,6 +218,7 @@ class OrderServiceImplTest {
         assertEquals("Order not found with id: " + orderId, exception.getMessage());
         verify(orderRepository, times(1)).findById(orderId);
         verify(orderRepository, never()).save(any());
+        verifyNoInteractions(activeOrders);
     }
 
     @Test
@@ -162,21 +226,21 @@ class OrderServiceImplTest {
         // Arrange
         int orderId = 1;
         int mealId = 10;
-        Order order = new Order(orderId, new Customer(), new ArrayList<>(), OrderStatus.ACCEPTED);
         Meal meal = new Meal(mealId, "Pizza", new BigDecimal("10.99"), 11);
+        Order order = new Order(orderId, new Customer(), new ArrayList<>(), OrderStatus.ACCEPTED);
+        order.addMeal(meal, 1);
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(mealRepository.findById(mealId)).thenReturn(Optional.of(meal));
-        when(orderRepository.save(order)).thenReturn(order);
 
         // Act
         Order result = orderService.addMealToOrder(orderId, mealId);
 
         // Assert
-        assertTrue(result.getMeals().contains(meal));
+        assertEquals(meal, result.getLines().get(0).getMeal());
+        verify(orderMealWriter, times(1)).addMeals(orderId, mealId);
+        verify(activeOrders, times(1)).mealsAdded(orderId, mealId);
         verify(orderRepository, times(1)).findById(orderId);
-        verify(mealRepository, times(1)).findById(mealId);
-        verify(orderRepository, times(1)).save(order);
+        verify(orderRepository, never()).save(any());
     }
 
     @Test
@@ -184,16 +248,16 @@ class OrderServiceImplTest {
         // Arrange
         int orderId = 999;
         int mealId = 10;
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        doThrow(new EntityNotFoundException("Order not found with id: " + orderId))
+                .when(orderMealWriter).addMeals(orderId, mealId);
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> orderService.addMealToOrder(orderId, mealId));
 
         assertEquals("Order not found with id: " + orderId, exception.getMessage());
-        verify(orderRepository, times(1)).findById(orderId);
-        verify(mealRepository, never()).findById(any());
-        verify(orderRepository, never()).save(any());
+        verify(orderRepository, never()).findById(any());
+        verifyNoInteractions(activeOrders);
     }
 
     @Test
@@ -201,19 +265,60 @@ class OrderServiceImplTest {
         // Arrange
         int orderId = 1;
         int mealId = 999;
-        Order order = new Order(orderId, new Customer(), new ArrayList<>(), OrderStatus.ACCEPTED);
-
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(mealRepository.findById(mealId)).thenReturn(Optional.empty());
+        doThrow(new EntityNotFoundException("Meal not found with id: " + mealId))
+                .when(orderMealWriter).addMeals(orderId, mealId);
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> orderService.addMealToOrder(orderId, mealId));
 
         assertEquals("Meal not found with id: " + mealId, exception.getMessage());
-        verify(orderRepository, times(1)).findById(orderId);
-        verify(mealRepository, times(1)).findById(mealId);
         verify(orderRepository, never()).save(any());
+        verifyNoInteractions(activeOrders);
+    }
+
+    @Test
+    void addMealsToOrder_ShouldWriteAllMealsAtOnce() {
+        // Arrange
+        int orderId = 1;
+        Order order = new Order(orderId, new Customer(), new ArrayList<>(), OrderStatus.ACCEPTED);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        // Act
+        orderService.addMealsToOrder(orderId, List.of(10, 11, 10));
+
+        // Assert
+        verify(orderMealWriter, times(1)).addMeals(orderId, 10, 11, 10);
+        verify(activeOrders, times(1)).mealsAdded(orderId, 10, 11, 10);
+    }
+
+    @Test
+    void updateMealQuantity_ShouldWriteQuantityAndReturnOrder() {
+        // Arrange
+        int orderId = 1;
+        Order order = new Order(orderId, new Customer(), new ArrayList<>(), OrderStatus.ACCEPTED);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        // Act
+        Order result = orderService.updateMealQuantity(orderId, 10, 3);
+
+        // Assert
+        assertEquals(order, result);
+        verify(orderMealWriter, times(1)).setQuantity(orderId, 10, 3);
+        verify(activeOrders, times(1)).mealQuantityChanged(orderId, 10, 3);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void updateMealQuantity_WhenMealNotExists_ShouldThrowException() {
+        // Arrange
+        int orderId = 1;
+        doThrow(new EntityNotFoundException("Meal not found with id: 99"))
+                .when(orderMealWriter).setQuantity(orderId, 99, 2);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> orderService.updateMealQuantity(orderId, 99, 2));
+        verifyNoInteractions(activeOrders);
     }
 
     @Test
@@ -230,6 +335,7 @@ class OrderServiceImplTest {
         // Assert
         verify(orderRepository, times(1)).findById(orderId);
         verify(orderRepository, times(1)).delete(order);
+        verify(activeOrders, times(1)).removed(orderId);
     }
 
     @Test
@@ -248,26 +354,18 @@ class OrderServiceImplTest {
     }
 
     @Test
-    void deleteMealInOrder_WhenOrderAndMealExist_ShouldRemoveMealAndSaveOrder() {
+    void deleteMealInOrder_WhenOrderAndMealExist_ShouldRemoveMeal() {
         // Arrange
         int orderId = 1;
         int mealId = 10;
-        Meal meal = new Meal(mealId, "Pizza", new BigDecimal("10.99"), 11);
-        List<Meal> meals = new ArrayList<>(List.of(meal));
-        Order order = new Order(orderId, new Customer(), meals, OrderStatus.ACCEPTED);
-
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(mealRepository.findById(mealId)).thenReturn(Optional.of(meal));
-        when(orderRepository.save(order)).thenReturn(order);
 
         // Act
         orderService.deleteMealInOrder(orderId, mealId);
 
         // Assert
-        assertFalse(order.getMeals().contains(meal));
-        verify(orderRepository, times(1)).findById(orderId);
-        verify(mealRepository, times(1)).findById(mealId);
-        verify(orderRepository, times(1)).save(order);
+        verify(orderMealWriter, times(1)).removeMeal(orderId, mealId);
+        verify(activeOrders, times(1)).mealRemoved(orderId, mealId);
+        verify(orderRepository, never()).save(any());
     }
 
     @Test
@@ -275,16 +373,15 @@ class OrderServiceImplTest {
         // Arrange
         int orderId = 999;
         int mealId = 10;
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        doThrow(new EntityNotFoundException("Order not found with id: " + orderId))
+                .when(orderMealWriter).removeMeal(orderId, mealId);
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> orderService.deleteMealInOrder(orderId, mealId));
 
         assertEquals("Order not found with id: " + orderId, exception.getMessage());
-        verify(orderRepository, times(1)).findById(orderId);
-        verify(mealRepository, never()).findById(any());
-        verify(orderRepository, never()).save(any());
+        verifyNoInteractions(activeOrders);
     }
 
     @Test
@@ -292,18 +389,14 @@ class OrderServiceImplTest {
         // Arrange
         int orderId = 1;
         int mealId = 999;
-        Order order = new Order(orderId, new Customer(), new ArrayList<>(), OrderStatus.ACCEPTED);
-
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(mealRepository.findById(mealId)).thenReturn(Optional.empty());
+        doThrow(new EntityNotFoundException("Meal not found with id: " + mealId))
+                .when(orderMealWriter).removeMeal(orderId, mealId);
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> orderService.deleteMealInOrder(orderId, mealId));
 
         assertEquals("Meal not found with id: " + mealId, exception.getMessage());
-        verify(orderRepository, times(1)).findById(orderId);
-        verify(mealRepository, times(1)).findById(mealId);
-        verify(orderRepository, never()).save(any());
+        verifyNoInteractions(activeOrders);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,142 @@
+package ordertracker.core.services.impls;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import ordertracker.apllication.config.JfrProperties;
+import ordertracker.apllication.jfr.LogTaskEvent;
+import ordertracker.core.exceptions.BadRequestException;
+import ordertracker.core.exceptions.ResourceNotFoundException;
+import ordertracker.core.models.RecordingInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    private JfrProperties properties;
+    private RecordingServiceImpl recordingService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JfrProperties();
+        properties.setConfiguration(new ClassPathResource("jfr/ordertracker.jfc"));
+        properties.setDirectory(directory);
+        recordingService = new RecordingServiceImpl(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recordingService.closeRecording();
+    }
+
+    @Test
+    void startRecording_ShouldRunRecording() {
+        // Act
+        RecordingInfo recording = recordingService.startRecording(null);
+
+        // Assert
+        assertEquals("RUNNING", recording.state());
+        assertEquals("RUNNING", recordingService.getRecording().state());
+    }
+
+    @Test
+    void startRecording_WhenAlreadyRunning_ShouldThrowBadRequest() {
+        // Arrange
+        recordingService.startRecording(null);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> recordingService.startRecording(null));
+    }
+
+    @Test
+    void stopRecording_ShouldWriteBundledEvents() throws Exception {
+        // Arrange
+        recordingService.startRecording(null);
+        LogTaskEvent event = new LogTaskEvent();
+        event.taskId = "task-1";
+        event.attempt = 2;
+        event.outcome = "OK";
+        event.commit();
+
+        // Act
+        Path file = recordingService.stopRecording();
+
+        // Assert
+        assertTrue(Files.size(file) > 0);
+        assertEquals(directory, file.getParent());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("ordertracker.LogTask"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("task-1", events.get(0).getString("taskId"));
+        assertEquals(2, events.get(0).getInt("attempt"));
+        assertEquals("STOPPED", recordingService.getRecording().state());
+    }
+
+    @Test
+    void dumpRecording_ShouldWriteNewFileEveryTime() throws Exception {
+        // Arrange
+        recordingService.startRecording(null);
+
+        // Act
+        Path first = recordingService.dumpRecording();
+        Path second = recordingService.dumpRecording();
+
+        // Assert
+        assertNotEquals(first, second);
+        assertTrue(Files.exists(first));
+        assertTrue(Files.exists(second));
+    }
+
+    @Test
+    void dumpRecording_ShouldDeleteOldestDumpsBeyondMaxDumps() throws Exception {
+        // Arrange
+        properties.setMaxDumps(2);
+        Instant now = Instant.now();
+        Path oldest = oldDump("ordertracker-20250301-120000-000-1.jfr", now.minus(Duration.ofHours(2)));
+        Path older = oldDump("ordertracker-20250301-130000-000-1.jfr", now.minus(Duration.ofHours(1)));
+        Path unrelated = Files.writeString(directory.resolve("notes.txt"), "keep");
+        recordingService.startRecording(null);
+
+        // Act
+        Path dumped = recordingService.dumpRecording();
+
+        // Assert
+        assertFalse(Files.exists(oldest));
+        assertTrue(Files.exists(older));
+        assertTrue(Files.exists(dumped));
+        assertTrue(Files.exists(unrelated));
+    }
+
+    @Test
+    void stopRecording_WhenNotRunning_ShouldThrowNotFound() {
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> recordingService.stopRecording());
+    }
+
+    @Test
+    void dumpRecording_WhenNoneStarted_ShouldThrowNotFound() {
+        // Act & Assert
+        assertNull(recordingService.getRecording());
+        assertThrows(ResourceNotFoundException.class, () -> recordingService.dumpRecording());
+    }
+
+    private Path oldDump(String name, Instant modified) throws Exception {
+        Path file = Files.writeString(directory.resolve(name), "old");
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        return file;
+    }
+}
@@ -0,0 +1,159 @@
+package ordertracker.core.services.impls;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import ordertracker.apllication.config.VisitCounterClusterProperties;
+import ordertracker.core.models.VisitCounterShard;
+import ordertracker.core.models.VisitCounterShardId;
+import ordertracker.core.models.VisitStatistics;
+import ordertracker.core.repositories.VisitCounterShardRepository;
+import ordertracker.core.services.VisitCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VisitStatisticsServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+
+    @Mock
+    private VisitCounterShardRepository shardRepository;
+
+    private VisitCounterService visitCounterService;
+    private VisitCounterClusterProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        visitCounterService = new VisitCounterServiceImpl();
+        properties = new VisitCounterClusterProperties();
+        properties.setNodeId("node-a");
+    }
+
+    @Test
+    void getStatistics_WhenClusterDisabled_ShouldReturnLocalCounts() {
+        // Arrange
+        visitCounterService.incrementCount("/api/meals");
+        var service = new VisitStatisticsServiceImpl(visitCounterService, shardRepository, properties);
+
+        // Act
+        service.synchronize();
+        VisitStatistics result = service.getStatistics();
+
+        // Assert
+        assertFalse(result.merged());
+        assertEquals(1, result.counts().get("/api/meals"));
+        verifyNoInteractions(shardRepository);
+    }
+
+    @Test
+    void getCount_ShouldReadLocalCounterOrLastMerge() {
+        // Arrange
+        visitCounterService.incrementCount("/api/meals");
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        var service = new VisitStatisticsServiceImpl(visitCounterService, shardRepository, properties, clock);
+        int local = service.getCount("/api/meals");
+        properties.setEnabled(true);
+        when(shardRepository.findByIdNodeId("node-a")).thenReturn(List.of());
+        when(shardRepository.sumCountsByUrl()).thenReturn(List.of(total("/api/meals", 7)));
+
+        // Act
+        service.synchronize();
+        visitCounterService.incrementCount("/api/meals");
+        int merged = service.getCount("/api/meals");
+        int missing = service.getCount("/api/orders");
+
+        // Assert
+        assertEquals(1, local);
+        assertEquals(7, merged);
+        assertEquals(0, missing);
+        assertEquals(0, service.getStalenessMs());
+    }
+
+    @Test
+    void synchronize_ShouldRestorePublishAndMergeCounts() {
+        // Arrange
+        properties.setEnabled(true);
+        visitCounterService.incrementCount("/api/meals");
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        var service = new VisitStatisticsServiceImpl(visitCounterService, shardRepository, properties, clock);
+
+        var persisted = new VisitCounterShard(new VisitCounterShardId("node-a", "/api/meals"), 4, NOW);
+        when(shardRepository.findByIdNodeId("node-a")).thenReturn(List.of(persisted));
+        when(shardRepository.sumCountsByUrl()).thenReturn(List.of(total("/api/meals", 12)));
+        when(shardRepository.countNodes()).thenReturn(2L);
+
+        // Act
+        service.synchronize();
+        VisitStatistics result = service.getStatistics();
+
+        // Assert
+        assertEquals(5, visitCounterService.getCount("/api/meals"));
+        verify(shardRepository, times(1)).publish("node-a", "/api/meals", 5);
+        assertTrue(result.merged());
+        assertEquals(12, result.counts().get("/api/meals"));
+        assertEquals(2, result.nodes());
+        assertEquals(NOW, result.syncedAt());
+    }
+
+    @Test
+    void synchronize_ShouldPublishOnlyChangedCounters() {
+        // Arrange
+        properties.setEnabled(true);
+        visitCounterService.incrementCount("/api/meals");
+        visitCounterService.incrementCount("/api/orders");
+        var service = new VisitStatisticsServiceImpl(visitCounterService, shardRepository, properties);
+        when(shardRepository.findByIdNodeId("node-a")).thenReturn(List.of());
+
+        // Act
+        service.synchronize();
+        visitCounterService.incrementCount("/api/orders");
+        service.synchronize();
+
+        // Assert
+        verify(shardRepository, times(1)).publish("node-a", "/api/meals", 1);
+        verify(shardRepository, times(1)).publish("node-a", "/api/orders", 1);
+        verify(shardRepository, times(1)).publish("node-a", "/api/orders", 2);
+    }
+
+    @Test
+    void synchronize_WhenDatabaseFails_ShouldKeepServingLocalCounts() {
+        // Arrange
+        properties.setEnabled(true);
+        visitCounterService.incrementCount("/api/meals");
+        var service = new VisitStatisticsServiceImpl(visitCounterService, shardRepository, properties);
+        when(shardRepository.findByIdNodeId("node-a"))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        // Act
+        service.synchronize();
+        VisitStatistics result = service.getStatistics();
+
+        // Assert
+        assertFalse(result.merged());
+        assertEquals(1, result.counts().get("/api/meals"));
+        verify(shardRepository, never()).publish(any(), any(), anyLong());
+    }
+
+    private static VisitCounterShardRepository.UrlTotal total(String url, long total) {
+        return new VisitCounterShardRepository.UrlTotal() {
+            @Override
+            public String getUrl() {
+                return url;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
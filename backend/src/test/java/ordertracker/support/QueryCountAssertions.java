@@ -0,0 +1,73 @@
+package ordertracker.support;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assertions on the statements the current thread executed since the last
+ * {@link #resetQueryCount()}, counted by the datasource proxy of the "test" profile:
+ *
+ * <pre>{@code
+ * resetQueryCount();
+ * customerService.createOrder(customerId, mealIds);
+ * assertQueryCount(select(2), insert(4));
+ * }</pre>
+ *
+ * Statement types that are not listed are expected not to have run at all.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static void resetQueryCount() {
+        QueryCountHolder.clear();
+    }
+
+    public static void assertQueryCount(Expected... expected) {
+        int select = 0;
+        int insert = 0;
+        int update = 0;
+        int delete = 0;
+        for (Expected count : expected) {
+            switch (count.type()) {
+                case SELECT -> select = count.count();
+                case INSERT -> insert = count.count();
+                case UPDATE -> update = count.count();
+                case DELETE -> delete = count.count();
+            }
+        }
+        QueryCount actual = QueryCountHolder.getGrandTotal();
+        String message = "Executed select=" + actual.getSelect() + ", insert=" + actual.getInsert()
+                + ", update=" + actual.getUpdate() + ", delete=" + actual.getDelete() + ", other=" + actual.getOther();
+        assertEquals(select, actual.getSelect(), message);
+        assertEquals(insert, actual.getInsert(), message);
+        assertEquals(update, actual.getUpdate(), message);
+        assertEquals(delete, actual.getDelete(), message);
+    }
+
+    public static Expected select(int count) {
+        return new Expected(Type.SELECT, count);
+    }
+
+    public static Expected insert(int count) {
+        return new Expected(Type.INSERT, count);
+    }
+
+    public static Expected update(int count) {
+        return new Expected(Type.UPDATE, count);
+    }
+
+    public static Expected delete(int count) {
+        return new Expected(Type.DELETE, count);
+    }
+
+    public enum Type {
+        SELECT, INSERT, UPDATE, DELETE
+    }
+
+    public record Expected(Type type, int count) {
+    }
+}
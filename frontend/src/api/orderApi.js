@@ -35,6 +35,13 @@ export const removeMealFromOrder = async (orderId, mealId) => {
   await apiClient.delete(`/orders/${orderId}/meals?mealId=${mealId}`);
 };
 
+export const setMealQuantity = async (orderId, mealId, quantity) => {
+  const response = await apiClient.put(
+    `/orders/${orderId}/meals/${mealId}/quantity?quantity=${quantity}`
+  );
+  return response.data;
+};
+
 export const addMultipleMealsToOrder = async (orderId, mealIds) => {
   const response = await apiClient.put(
     `/orders/${orderId}/meals/bulk`,
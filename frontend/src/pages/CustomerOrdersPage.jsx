@@ -61,12 +61,12 @@ const CustomersOrdersPage = () => {
     },
     {
       title: 'Meals',
-      dataIndex: 'meals',
+      dataIndex: 'lines',
       key: 'meals',
-      render: (meals) => (
+      render: (lines) => (
         <div>
-          {meals?.map(meal => (
-            <Tag key={meal.id}>{meal.name} (${meal.price})</Tag>
+          {lines?.map(line => (
+            <Tag key={line.meal.id}>{line.meal.name} x{line.quantity} (${line.unitPrice})</Tag>
           ))}
         </div>
       ),
@@ -76,7 +76,7 @@ const CustomersOrdersPage = () => {
       key: 'total',
       render: (_, record) => (
         <span>
-          ${record.meals?.reduce((sum, meal) => sum + meal.price, 0).toFixed(2)}
+          ${record.lines?.reduce((sum, line) => sum + line.unitPrice * line.quantity, 0).toFixed(2)}
         </span>
       ),
     },
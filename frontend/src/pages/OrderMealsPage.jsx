@@ -6,6 +6,7 @@ import {
   fetchOrders, 
   addMealToOrder, 
   removeMealFromOrder,
+  setMealQuantity,
   addMultipleMealsToOrder,
   updateOrderStatus,
   deleteOrder
@@ -27,15 +28,11 @@ const OrdersMealsPage = () => {
     select: data => data.map(order => ({
       ...order,
       key: order.id,
-      meals: order.meals?.reduce((acc, meal) => {
-        const existingMeal = acc.find(m => m.id === meal.id);
-        if (existingMeal) {
-          existingMeal.quantity = (existingMeal.quantity || 1) + 1;
-        } else {
-          acc.push({ ...meal, quantity: 1 });
-        }
-        return acc;
-      }, []) || []
+      meals: order.lines?.map(line => ({
+        ...line.meal,
+        quantity: line.quantity,
+        price: line.unitPrice
+      })) || []
     }))
   });
 
@@ -99,28 +96,13 @@ const OrdersMealsPage = () => {
     { value: 'ACCEPTED', label: 'Accepted' }
   ];
 
-  const handleRemoveMeal = async (orderId, mealId, currentQuantity) => {
+  const handleRemoveMeal = async (orderId, mealId) => {
     const key = `${orderId}-${mealId}`;
     setDeletingMeals(prev => ({ ...prev, [key]: true }));
     
     try {
-      // Постепенно уменьшаем количество до 1
-      while (currentQuantity > 1) {
-        await removeMealMutation.mutateAsync({ 
-          orderId, 
-          mealId, 
-          quantity: 1 
-        });
-        currentQuantity--;
-      }
-      
-      // Затем удаляем последний экземпляр
-      await removeMealMutation.mutateAsync({ 
-        orderId, 
-        mealId, 
-        quantity: 1 
-      });
-      
+      await setMealQuantity(orderId, mealId, 0);
+      queryClient.invalidateQueries(['orders-with-meals']);
       message.success('Meal removed completely!');
     } catch (error) {
       message.error('Failed to remove meal');
@@ -298,7 +280,7 @@ const OrdersMealsPage = () => {
                           </div>
                           <Popconfirm
                             title="Remove this meal completely?"
-                            onConfirm={() => handleRemoveMeal(order.id, meal.id, meal.quantity)}
+                            onConfirm={() => handleRemoveMeal(order.id, meal.id)}
                             okButtonProps={{ loading: isDeleting }}
                           >
                             <Button 